@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,6 +31,9 @@ public class AuthenticationController {
 
     private final String USER_EXISTS_ERROR = "User already exists.";
     private final String INCORRECT_CREDENTIALS_ERROR = "Provided credentials are incorrect.";
+    private final String INVALID_REFRESH_TOKEN_ERROR = "Provided refresh token is invalid or expired.";
+    private final String MISSING_TOKEN_ERROR = "Bearer token has not been provided.";
+    private final String BEARER_PREFIX = "Bearer ";
 
     /**
      * Registration endpoint. Creates new user based on login and password credentials and returns generated JWT token
@@ -59,4 +63,38 @@ public class AuthenticationController {
         AuthenticationResponse response = authenticationService.login(request).orElseThrow(() -> new BadCredentialsException(INCORRECT_CREDENTIALS_ERROR));
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    /**
+     * Refresh endpoint. Exchanges refresh token for new access token without verifying password again
+     * Refresh token is rotated - new one is returned and provided one becomes invalid
+     *
+     * @param request request object containing refresh token
+     * @return new access token and new refresh token
+     */
+    @PostMapping(value = "/refresh")
+    @Operation(summary = "Allows user to renew access token")
+    public ResponseEntity<AuthenticationResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+
+        AuthenticationResponse response = authenticationService.refresh(request).orElseThrow(() -> new BadCredentialsException(INVALID_REFRESH_TOKEN_ERROR));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Logout endpoint. Revokes provided access token and invalidates refresh tokens of user
+     *
+     * @param authHeader Authorization header containing access token
+     * @return empty response
+     */
+    @PostMapping(value = "/logout")
+    @Operation(summary = "Allows user to logout", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authHeader) {
+
+        if (!authHeader.startsWith(BEARER_PREFIX)) {
+
+            throw new BadCredentialsException(MISSING_TOKEN_ERROR);
+        }
+
+        authenticationService.logout(authHeader.substring(BEARER_PREFIX.length()));
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
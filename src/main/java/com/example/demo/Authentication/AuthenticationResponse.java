@@ -4,7 +4,8 @@ import lombok.Builder;
 import lombok.Data;
 
 /**
- * Class representing authentication response. It returns token required for authentication attempts
+ * Class representing authentication response. It returns short-lived access token required for authentication attempts
+ * and refresh token that allows renewal of access token
  *
  * @author Thorvas
  */
@@ -13,4 +14,6 @@ import lombok.Data;
 public class AuthenticationResponse {
 
     private String token;
+
+    private String refreshToken;
 }
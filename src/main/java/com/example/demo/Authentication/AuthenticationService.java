@@ -1,22 +1,22 @@
 package com.example.demo.Authentication;
 
 
+import com.example.demo.Jwt.RefreshTokenService;
+import com.example.demo.Jwt.TokenRevocationService;
+import com.example.demo.User.CustomUserDetails;
 import com.example.demo.User.UserDataRepository;
-import com.example.demo.User.UserData;
 import com.example.demo.User.UserRole;
-import com.example.demo.Volunteer.VolunteerRepository;
 import com.example.demo.Jwt.JwtService;
 import com.example.demo.Volunteer.Volunteer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -34,61 +34,36 @@ public class AuthenticationService {
     private JwtService jwtService;
 
     @Autowired
-    UserDataRepository userRepository;
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RegistrationService registrationService;
 
     @Autowired
-    UserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
 
     @Autowired
-    VolunteerRepository volunteerRepository;
+    UserDataRepository userRepository;
 
     @Autowired
     AuthenticationManager authManager;
 
     /**
-     * Performs user registration
+     * Performs user registration. Password is hashed before any database work starts,
+     * account itself is created in single transaction guarded by unique username constraint
      *
      * @param request incoming request
      * @return JWT token
      */
     public Optional<AuthenticationResponse> register(AuthenticationRequest request) {
 
-        Volunteer newVolunteer = new Volunteer();
-        newVolunteer.setName("Blank");
-        newVolunteer.setSurname("Blank");
-        newVolunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
-        newVolunteer.setContact("Blank");
-        newVolunteer.setReputation(0);
-        newVolunteer.setInterests(List.of("Blank"));
-
-        volunteerRepository.save(newVolunteer);
-
-        UserData userData = UserData.builder()
-                .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .role(UserRole.ROLE_VOLUNTEER)
-                .isEnabled(true)
-                .isAccountNonExpired(true)
-                .isCredentialsNonExpired(true)
-                .isActive(true)
-                .referencedVolunteer(newVolunteer)
-                .isAccountNonLocked(true)
-                .build();
-
-        if (userRepository.findByUsername(request.getUsername()).isPresent()) {
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
 
+        try {
+            return Optional.of(registrationService.registerUser(request.getUsername(), encodedPassword));
+        } catch (DataIntegrityViolationException e) {
             return Optional.empty();
         }
-
-        userRepository.save(userData);
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userData.getUsername());
-
-        String jwtToken = jwtService.generateToken(userDetails);
-
-        return Optional.of(AuthenticationResponse.builder()
-                .token(jwtToken)
-                .build());
     }
 
     /**
@@ -99,8 +74,10 @@ public class AuthenticationService {
      */
     public Optional<AuthenticationResponse> login(AuthenticationRequest request) {
 
+        Authentication authentication;
+
         try {
-            authManager.authenticate(new UsernamePasswordAuthenticationToken(
+            authentication = authManager.authenticate(new UsernamePasswordAuthenticationToken(
                     request.getUsername(),
                     request.getPassword()
             ));
@@ -108,21 +85,60 @@ public class AuthenticationService {
             return Optional.empty();
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(request.getUsername());
+        // Principal is already loaded by authentication provider, so there is no need for second user lookup
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         String jwtToken = jwtService.generateToken(userDetails);
 
         return Optional.of(AuthenticationResponse.builder()
                 .token(jwtToken)
+                .refreshToken(refreshTokenService.createRefreshToken(userDetails.getUserData()))
                 .build());
     }
 
     /**
-     * Checks whether volunteer is an admin
+     * Renews access token using refresh token. Provided refresh token is rotated, so it cannot be used again
      *
-     * @param volunteer Inspected volunteet
+     * @param request incoming request containing refresh token
+     * @return new access token and new refresh token
+     */
+    public Optional<AuthenticationResponse> refresh(RefreshTokenRequest request) {
+
+        return refreshTokenService.rotateRefreshToken(request.getRefreshToken())
+                .map(issuedToken -> AuthenticationResponse.builder()
+                        .token(jwtService.generateToken(issuedToken.username()))
+                        .refreshToken(issuedToken.refreshToken())
+                        .build());
+    }
+
+    /**
+     * Performs user logout. Access token is revoked until its expiration and all refresh tokens of user are invalidated
+     *
+     * @param jwtToken access token of user
+     */
+    public void logout(String jwtToken) {
+
+        tokenRevocationService.revoke(jwtService.extractTokenId(jwtToken), jwtService.extractExpiration(jwtToken).toInstant());
+        refreshTokenService.revokeUserTokens(jwtService.extractUsername(jwtToken));
+    }
+
+    /**
+     * Checks whether volunteer is an admin. Role of logged volunteer is read from authenticated principal,
+     * so the check does not query database. Role of any other volunteer is looked up in users table
+     *
+     * @param volunteer Inspected volunteer
      * @return Boolean value containing result of operation
      */
     public boolean checkIfAdmin(Volunteer volunteer) {
-        return volunteer.getUserData().isAdmin();
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails
+                && userDetails.getUserData().getReferencedVolunteer() != null
+                && userDetails.getUserData().getReferencedVolunteer().getId().equals(volunteer.getId())) {
+
+            return userDetails.getUserData().isAdmin();
+        }
+
+        return userRepository.existsByReferencedVolunteerIdAndRole(volunteer.getId(), UserRole.ROLE_ADMIN);
     }
 }
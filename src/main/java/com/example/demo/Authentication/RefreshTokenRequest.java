@@ -0,0 +1,16 @@
+package com.example.demo.Authentication;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+/**
+ * Class representing request for renewal of access token
+ *
+ * @author Thorvas
+ */
+@Data
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token should not be empty.")
+    private String refreshToken;
+}
@@ -0,0 +1,78 @@
+package com.example.demo.Authentication;
+
+import com.example.demo.Jwt.JwtService;
+import com.example.demo.Jwt.RefreshTokenService;
+import com.example.demo.User.UserData;
+import com.example.demo.User.UserDataRepository;
+import com.example.demo.User.UserRole;
+import com.example.demo.Volunteer.ReputationChangedEvent;
+import com.example.demo.Volunteer.Volunteer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * Service responsible for creating accounts of new users. User and his volunteer profile are created in single transaction
+ *
+ * @author Thorvas
+ */
+@Service
+public class RegistrationService {
+
+    @Autowired
+    private UserDataRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates user together with his volunteer profile. Duplicated usernames are rejected by unique constraint,
+     * which rolls back whole transaction, so no volunteer is left behind
+     *
+     * @param username        Username of new user
+     * @param encodedPassword Password that is already encoded
+     * @return Tokens issued for created user
+     * @throws org.springframework.dao.DataIntegrityViolationException if username is already taken
+     */
+    @Transactional
+    public AuthenticationResponse registerUser(String username, String encodedPassword) {
+
+        Volunteer newVolunteer = new Volunteer();
+        newVolunteer.setName("Blank");
+        newVolunteer.setSurname("Blank");
+        newVolunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        newVolunteer.setContact("Blank");
+        newVolunteer.setReputation(0);
+
+        UserData userData = UserData.builder()
+                .username(username)
+                .password(encodedPassword)
+                .role(UserRole.ROLE_VOLUNTEER)
+                .isEnabled(true)
+                .isAccountNonExpired(true)
+                .isCredentialsNonExpired(true)
+                .isActive(true)
+                .referencedVolunteer(newVolunteer)
+                .isAccountNonLocked(true)
+                .build();
+
+        // Volunteer is persisted through cascade, flush makes unique constraint fail here instead of at commit
+        userRepository.saveAndFlush(userData);
+
+        eventPublisher.publishEvent(new ReputationChangedEvent(newVolunteer.getId(), newVolunteer.getReputation()));
+
+        return AuthenticationResponse.builder()
+                .token(jwtService.generateToken(username))
+                .refreshToken(refreshTokenService.createRefreshToken(userData))
+                .build();
+    }
+}
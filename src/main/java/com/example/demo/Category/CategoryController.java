@@ -1,6 +1,7 @@
 package com.example.demo.Category;
 
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Utility.BatchLookupDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -123,6 +124,26 @@ public class CategoryController {
         return new ResponseEntity<>(categoryDTOs, HttpStatus.OK);
     }
 
+    /**
+     * GET endpoint for categories with given ids. It replaces lookups of single categories by one request
+     *
+     * @param ids List of id values of retrieved categories, at most 100 distinct ones
+     * @return JSON response containing found categories in requested order and ids that were not found
+     */
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves categories with given ids", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BatchLookupDTO<CategoryDTO>> retrieveCategoriesByIds(@RequestParam("ids") List<Long> ids) {
+
+        BatchLookupDTO<CategoryDTO> lookupDTO = categoryService.searchCategories(ids);
+
+        Link selfLink = linkTo(methodOn(CategoryController.class)
+                .retrieveCategoriesByIds(ids)).withRel(RESOURCE_PATH_LINK);
+
+        lookupDTO.add(selfLink, rootLink());
+
+        return new ResponseEntity<>(lookupDTO, HttpStatus.OK);
+    }
+
     /**
      * GET endpoint for single category
      *
@@ -4,8 +4,12 @@ import com.example.demo.Error.CategoryNotFoundException;
 import com.example.demo.Error.CollectionEmptyException;
 import com.example.demo.Error.InsufficientPermissionsException;
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Utility.BatchLookup;
+import com.example.demo.Utility.BatchLookupDTO;
+import com.example.demo.Utility.EntityLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +22,9 @@ import java.util.stream.Collectors;
 @Service
 public class CategoryService {
 
+    @Autowired
+    private EntityLoader entityLoader;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
@@ -29,6 +36,7 @@ public class CategoryService {
      *
      * @return List of categories
      */
+    @Transactional(readOnly = true)
     public List<CategoryDTO> searchCategories() {
 
         List<Category> categories = categoryRepository.findAll();
@@ -49,6 +57,7 @@ public class CategoryService {
      * @param categoryId Id value of deleted category
      * @return Deleted category
      */
+    @Transactional
     public CategoryDTO deleteCategory(Long categoryId) {
 
         Category category = this.findCategory(categoryId);
@@ -69,17 +78,32 @@ public class CategoryService {
      * @param id Id value of searched category
      * @return Found category
      */
+    @Transactional(readOnly = true)
     public CategoryDTO searchCategory(Long id) {
 
         return categoryServiceFacade.mapCategoryToDTO(this.findCategory(id));
     }
 
+    /**
+     * Searches for categories with given ids by single query
+     *
+     * @param ids Id values of categories, at most 100 distinct ones
+     * @return Found categories in requested order together with ids that were not found
+     */
+    @Transactional(readOnly = true)
+    public BatchLookupDTO<CategoryDTO> searchCategories(List<Long> ids) {
+
+        return BatchLookup.lookup(ids, foundIds -> List.copyOf(entityLoader.findAll(Category.class, foundIds).values()), Category::getId,
+                categoryServiceFacade::mapCategoryToDTO);
+    }
+
     /**
      * Retrieves projects associated with category
      *
      * @param categoryId Id value of category
      * @return List of projects associated with category
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> retrieveProjectsFromCategory(Long categoryId) {
 
         Category category = this.findCategory(categoryId);
@@ -97,11 +121,8 @@ public class CategoryService {
      */
     public Category findCategory(Long id) {
 
-        if (categoryRepository.findById(id).isPresent()) {
-            return categoryRepository.findById(id).get();
-        }
-
-        throw new CategoryNotFoundException("Requested category could not be found.");
+        return entityLoader.find(Category.class, id)
+                .orElseThrow(() -> new CategoryNotFoundException("Requested category could not be found."));
     }
 
     /**
@@ -111,6 +132,7 @@ public class CategoryService {
      * @param categoryDTO Category containing new values
      * @return Updated category object
      */
+    @Transactional
     public CategoryDTO updateCategory(Long categoryId, CategoryDTO categoryDTO) {
 
         Category sourceCategory = this.findCategory(categoryId);
@@ -133,6 +155,7 @@ public class CategoryService {
      * @param categoryDTO DTO object containing values to create
      * @return Newly created category object
      */
+    @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
 
         if (categoryServiceFacade.checkIfAdmin(categoryServiceFacade.getLoggedVolunteer())) {
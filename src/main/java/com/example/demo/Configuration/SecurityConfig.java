@@ -1,8 +1,11 @@
 package com.example.demo.Configuration;
 
 import com.example.demo.Jwt.JwtFilter;
+import com.example.demo.LoadShedding.ConcurrencyLimitFilter;
+import com.example.demo.RateLimit.RateLimitFilter;
 import com.example.demo.User.UserDetailsCustomImpl;
 import com.example.demo.Utility.DelegatingAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +39,12 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+
     @Bean
     public SecurityFilterChain securityfilterChain(HttpSecurity http) throws Exception {
 
@@ -50,6 +59,8 @@ public class SecurityConfig {
         });
         http
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatch of event streams has no JWT filter pass, request was authorized when it started
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(AntPathRequestMatcher.antMatcher("/h2-console/**"),
                                 AntPathRequestMatcher.antMatcher("/api/v1/auth/**"),
                                 AntPathRequestMatcher.antMatcher("/error"),
@@ -59,7 +70,9 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling(handler -> handler.authenticationEntryPoint(delegatingAuthenticationEntryPoint))
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(concurrencyLimitFilter, JwtFilter.class)
+                .addFilterBefore(rateLimitFilter, ConcurrencyLimitFilter.class);
 
         return http.build();
     }
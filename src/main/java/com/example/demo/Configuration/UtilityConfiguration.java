@@ -1,5 +1,7 @@
 package com.example.demo.Configuration;
 
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerDTO;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -33,6 +35,16 @@ public class UtilityConfiguration {
 
         ModelMapper modelMapper = new ModelMapper();
 
+        // Interests are stored as dictionary entries, they are translated to terms by volunteer mapper and service
+        modelMapper.typeMap(Volunteer.class, VolunteerDTO.class)
+                .addMappings(mapper -> mapper.skip(VolunteerDTO::setInterests));
+        // Reputation is computed from activity of volunteer and cannot be set through DTO
+        modelMapper.typeMap(VolunteerDTO.class, Volunteer.class)
+                .addMappings(mapper -> {
+                    mapper.skip(Volunteer::setInterests);
+                    mapper.skip(Volunteer::setReputation);
+                });
+
         return modelMapper;
     }
 
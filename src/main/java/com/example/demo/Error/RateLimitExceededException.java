@@ -0,0 +1,20 @@
+package com.example.demo.Error;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when client exceeds rate limit of requested route group
+ *
+ * @author Thorvas
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.Error;
+
+/**
+ * Exception thrown when request is shed because its endpoint group reached concurrency limit
+ *
+ * @author Thorvas
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+
+        super(message);
+    }
+}
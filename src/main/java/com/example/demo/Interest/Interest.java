@@ -0,0 +1,54 @@
+package com.example.demo.Interest;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Objects;
+
+/**
+ * Class representing interest. Every term is stored once and volunteers reference it by id,
+ * so join table of volunteers and interests serves as inverted index of interests
+ *
+ * @author Thorvas
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "interest")
+public class Interest {
+
+    public static final int MAX_TERM_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_seq")
+    @SequenceGenerator(name = "interest_seq", sequenceName = "interest_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "term", nullable = false, unique = true, length = MAX_TERM_LENGTH)
+    private String term;
+
+    public Interest(String term) {
+
+        this.term = term;
+    }
+
+    /**
+     * Interests are equal when their terms are equal, because term is unique and never changes
+     */
+    @Override
+    public boolean equals(Object other) {
+
+        if (this == other) {
+            return true;
+        }
+
+        return other instanceof Interest interest && Objects.equals(term, interest.getTerm());
+    }
+
+    @Override
+    public int hashCode() {
+
+        return Objects.hashCode(term);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.Interest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository responsible for connection with interests in database
+ *
+ * @author Thorvas
+ */
+public interface InterestRepository extends JpaRepository<Interest, Long> {
+
+    List<Interest> findByTermIn(Collection<String> terms);
+}
@@ -0,0 +1,134 @@
+package com.example.demo.Interest;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service responsible for dictionary of interests. Terms are normalised before they are looked up,
+ * so the same interest written differently is stored only once
+ *
+ * @author Thorvas
+ */
+@Service
+public class InterestService {
+
+    @Autowired
+    private InterestRepository interestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate creationTransaction;
+
+    @PostConstruct
+    public void init() {
+
+        // New terms are committed on their own, so concurrent creation of the same term can be retried with lookup
+        creationTransaction = new TransactionTemplate(transactionManager);
+        creationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns interests of given terms, adding terms that are not in dictionary yet
+     *
+     * @param terms Terms of interests
+     * @return Interests of distinct normalised terms
+     */
+    public Set<Interest> resolveInterests(Collection<String> terms) {
+
+        Set<String> normalisedTerms = normalise(terms);
+        Set<Interest> interests = new HashSet<>(this.findInterests(normalisedTerms));
+
+        if (interests.size() < normalisedTerms.size()) {
+            Set<String> missingTerms = new LinkedHashSet<>(normalisedTerms);
+            interests.forEach(interest -> missingTerms.remove(interest.getTerm()));
+
+            interests.addAll(this.createInterests(missingTerms));
+        }
+
+        return interests;
+    }
+
+    /**
+     * Returns ids of interests of given terms. Terms that are not in dictionary are skipped
+     *
+     * @param terms Terms of interests
+     * @return Ids of found interests
+     */
+    public List<Long> findInterestIds(Collection<String> terms) {
+
+        return this.findInterests(normalise(terms)).stream()
+                .map(Interest::getId)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Normalises terms by trimming them, collapsing whitespace and converting them to lower case
+     *
+     * @param terms Terms given by user
+     * @return Distinct normalised terms
+     * @throws IllegalArgumentException if term is blank or too long
+     */
+    public static Set<String> normalise(Collection<String> terms) {
+
+        Set<String> normalisedTerms = new LinkedHashSet<>();
+
+        for (String term : terms) {
+            String normalisedTerm = normaliseTerm(term);
+
+            if (normalisedTerm.isEmpty()) {
+                throw new IllegalArgumentException("Interest cannot be blank");
+            }
+            if (normalisedTerm.length() > Interest.MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException("Interest cannot be longer than " + Interest.MAX_TERM_LENGTH + " characters");
+            }
+
+            normalisedTerms.add(normalisedTerm);
+        }
+
+        return normalisedTerms;
+    }
+
+    /**
+     * Normalises single term without validating it
+     *
+     * @param term Term given by user
+     * @return Normalised term, empty when term is null or blank
+     */
+    public static String normaliseTerm(String term) {
+
+        return term == null ? "" : term.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private List<Interest> findInterests(Set<String> normalisedTerms) {
+
+        if (normalisedTerms.isEmpty()) {
+            return List.of();
+        }
+
+        return interestRepository.findByTermIn(normalisedTerms);
+    }
+
+    /**
+     * Adds terms to dictionary. Term added concurrently by another request makes insert fail,
+     * in that case terms are looked up again
+     */
+    private List<Interest> createInterests(Set<String> missingTerms) {
+
+        try {
+            return creationTransaction.execute(status -> interestRepository.saveAllAndFlush(missingTerms.stream()
+                    .map(Interest::new)
+                    .collect(Collectors.toList())));
+        } catch (DataIntegrityViolationException e) {
+            return this.resolveInterests(missingTerms).stream().toList();
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.demo.Jwt;
 
-import jakarta.persistence.EntityNotFoundException;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -36,6 +36,9 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Autowired
     @Qualifier("handlerExceptionResolver")
     private HandlerExceptionResolver handlerExceptionResolver;
@@ -56,8 +59,6 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwtToken;
-        final String userName;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
 
@@ -67,14 +68,17 @@ public class JwtFilter extends OncePerRequestFilter {
 
         try {
 
-            jwtToken = authHeader.substring(7);
-            userName = jwtService.extractUsername(jwtToken);
+            // Token is parsed once per request, claims verified by rate limit filter are reused
+            final Claims claims = jwtService.parseBearerToken(request);
+            final String userName = claims.getSubject();
 
-            if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Revocation is checked before user lookup, so revoked tokens never reach the database for user data
+            if (userName != null && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !tokenRevocationService.isRevoked(claims.getId())) {
 
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(userName);
 
-                if (jwtService.isTokenValid(jwtToken, userDetails)) {
+                if (jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -1,18 +1,23 @@
 package com.example.demo.Jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.UUID;
 
 /**
  * Service responsible for operations related to JWT token
@@ -22,8 +27,21 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class JwtService {
 
+    private static final String CLAIMS_ATTRIBUTE = JwtService.class.getName() + ".claims";
+
     private final String SECRET_KEY = "ijtOwic7j1eGYDZVrt0lP4LrYdSAQ/fkfoxMJxgaOW+cMM+cZKAeLX5enrurl8U9PRRpy1lLwgbLebyXGziVgJcEAkzRn5MaFEyRNdtgulA=";
 
+    /**
+     * Parser is immutable and thread safe, it is built once instead of decoding key and looking up
+     * deserializer again for every parsed token
+     */
+    private final JwtParser jwtParser = Jwts.parserBuilder()
+            .setSigningKey(getSignKey())
+            .build();
+
+    @Value("${jwt.access-token.expiration:15m}")
+    private Duration accessTokenExpiration;
+
     /**
      * Extracts username from claims stored within token
      *
@@ -37,6 +55,17 @@ public class JwtService {
         return allClaims.getSubject();
     }
 
+    /**
+     * Extracts id ("jti" claim) of token that is used for revocation
+     *
+     * @param jwtToken JWT token provided in parameter
+     * @return String containing id of token, null for tokens issued without id
+     */
+    public String extractTokenId(String jwtToken) {
+
+        return this.extractAllClaims(jwtToken).getId();
+    }
+
     /**
      * Generates JWT token
      *
@@ -53,9 +82,10 @@ public class JwtService {
     ) {
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration.toMillis()))
                 .signWith(SignatureAlgorithm.HS256, getSignKey())
                 .compact();
     }
@@ -64,8 +94,10 @@ public class JwtService {
             String username
     ) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(1)))
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpiration.toMillis()))
                 .signWith(SignatureAlgorithm.HS256, getSignKey())
                 .compact();
     }
@@ -84,6 +116,18 @@ public class JwtService {
         return (username.equals(details.getUsername()) && !isTokenExpired(token));
     }
 
+    /**
+     * Checks whether already parsed token is valid
+     *
+     * @param claims  Verified claims of token
+     * @param details userDetails provided in filter
+     * @return Boolean value containing result whether token is valid
+     */
+    public boolean isTokenValid(Claims claims, UserDetails details) {
+
+        return details.getUsername().equals(claims.getSubject()) && !claims.getExpiration().before(new Date());
+    }
+
     /**
      * Checks whether JWT token is expired
      *
@@ -101,12 +145,46 @@ public class JwtService {
      * @param token checked JWT token
      * @return Date value containing expiration date of token
      */
-    private Date extractExpiration(String token) {
+    public Date extractExpiration(String token) {
+
+        return extractAllClaims(token).getExpiration();
+    }
+
+    /**
+     * Parses bearer token of request and verifies its signature. Verified claims, or failure of verification,
+     * are kept as attribute of request, so filters handling the same request parse token only once
+     *
+     * @param request Incoming request
+     * @return Claims of verified token, null if request has no bearer token
+     * @throws JwtException             if token is malformed, expired or its signature does not match
+     * @throws IllegalArgumentException if token is empty
+     */
+    public Claims parseBearerToken(HttpServletRequest request) {
+
+        Object parsedToken = request.getAttribute(CLAIMS_ATTRIBUTE);
+
+        if (parsedToken instanceof Claims claims) {
+            return claims;
+        }
+        if (parsedToken instanceof RuntimeException e) {
+            throw e;
+        }
+
+        String authHeader = request.getHeader("Authorization");
+
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
 
-        Claims allClaims = extractAllClaims(token);
+        try {
+            Claims claims = this.extractAllClaims(authHeader.substring(7));
+            request.setAttribute(CLAIMS_ATTRIBUTE, claims);
 
-        System.out.println(allClaims.getExpiration());
-        return allClaims.getExpiration();
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            request.setAttribute(CLAIMS_ATTRIBUTE, e);
+            throw e;
+        }
     }
 
     /**
@@ -117,8 +195,7 @@ public class JwtService {
      */
     private Claims extractAllClaims(String token) {
 
-        return Jwts.parser()
-                .setSigningKey(getSignKey())
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -0,0 +1,34 @@
+package com.example.demo.Jwt;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository responsible for connection with refresh tokens in database
+ *
+ * @author Thorvas
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.user WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.expiresAt < :now ORDER BY r.id")
+    List<Long> findExpiredIds(Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id = :id")
+    int deleteTokenById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id IN (SELECT u.id FROM UserData u WHERE u.username = :username)")
+    int deleteUserTokens(String username);
+}
@@ -0,0 +1,156 @@
+package com.example.demo.Jwt;
+
+import com.example.demo.User.UserData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service responsible for issuing, rotating and sweeping refresh tokens
+ *
+ * @author Thorvas
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-token.expiration:14d}")
+    private Duration refreshTokenExpiration;
+
+    @Value("${jwt.refresh-token.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Issued refresh token together with username of its owner
+     *
+     * @param username     Username of token owner
+     * @param refreshToken Raw value of refresh token that is returned to client
+     */
+    public record IssuedRefreshToken(String username, String refreshToken) {
+    }
+
+    /**
+     * Creates new refresh token for user. Raw value is returned only once, database keeps its hash
+     *
+     * @param user User that token is issued for
+     * @return Raw value of refresh token
+     */
+    @Transactional
+    public String createRefreshToken(UserData user) {
+
+        byte[] randomBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(randomBytes);
+
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .tokenHash(hashToken(rawToken))
+                .user(user)
+                .expiresAt(Instant.now().plus(refreshTokenExpiration))
+                .build();
+
+        refreshTokenRepository.save(refreshToken);
+
+        return rawToken;
+    }
+
+    /**
+     * Exchanges refresh token for a new one. Used token is deleted, so each token can be used only once
+     *
+     * @param rawToken Raw value of refresh token provided by client
+     * @return Optional containing new refresh token, empty if provided token is unknown, expired or already used
+     */
+    @Transactional
+    public Optional<IssuedRefreshToken> rotateRefreshToken(String rawToken) {
+
+        Optional<RefreshToken> foundToken = refreshTokenRepository.findByTokenHash(hashToken(rawToken));
+
+        if (foundToken.isEmpty()) {
+
+            return Optional.empty();
+        }
+
+        RefreshToken refreshToken = foundToken.get();
+
+        // Conditional delete guarantees that only one of concurrent refresh attempts succeeds
+        if (refreshTokenRepository.deleteTokenById(refreshToken.getId()) == 0) {
+
+            return Optional.empty();
+        }
+
+        UserData user = refreshToken.getUser();
+
+        if (refreshToken.getExpiresAt().isBefore(Instant.now()) || !user.isEnabled() || !user.isAccountNonLocked()) {
+
+            return Optional.empty();
+        }
+
+        return Optional.of(new IssuedRefreshToken(user.getUsername(), this.createRefreshToken(user)));
+    }
+
+    /**
+     * Invalidates all refresh tokens of user
+     *
+     * @param username Username of token owner
+     */
+    @Transactional
+    public void revokeUserTokens(String username) {
+
+        refreshTokenRepository.deleteUserTokens(username);
+    }
+
+    /**
+     * Periodically removes expired refresh tokens in batches, so that single sweep never locks whole table
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.sweep-interval-ms:3600000}")
+    public void sweepExpiredTokens() {
+
+        List<Long> expiredIds;
+
+        do {
+            expiredIds = refreshTokenRepository.findExpiredIds(Instant.now(), PageRequest.of(0, sweepBatchSize));
+
+            if (!expiredIds.isEmpty()) {
+
+                refreshTokenRepository.deleteAllByIdInBatch(expiredIds);
+            }
+        } while (expiredIds.size() == sweepBatchSize);
+    }
+
+    /**
+     * Hashes raw refresh token with SHA-256
+     *
+     * @param rawToken Raw value of refresh token
+     * @return Hex encoded hash of token
+     */
+    private String hashToken(String rawToken) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm is not available", e);
+        }
+    }
+}
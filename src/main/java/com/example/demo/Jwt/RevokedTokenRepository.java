@@ -0,0 +1,36 @@
+package com.example.demo.Jwt;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository responsible for connection with revoked tokens in database
+ *
+ * @author Thorvas
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    long countByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (:jti, :expiresAt, :revokedAt)", nativeQuery = true)
+    int insertRevocation(String jti, Instant expiresAt, Instant revokedAt);
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt > :now AND r.jti > :afterJti ORDER BY r.jti")
+    List<String> findActiveJtis(Instant now, String afterJti, Pageable pageable);
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.revokedAt >= :since")
+    List<String> findJtisRevokedSince(Instant since);
+
+    @Query("SELECT r.jti FROM RevokedToken r WHERE r.expiresAt < :now ORDER BY r.jti")
+    List<String> findExpiredJtis(Instant now, Pageable pageable);
+}
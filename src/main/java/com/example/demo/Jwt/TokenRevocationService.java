@@ -0,0 +1,182 @@
+package com.example.demo.Jwt;
+
+import com.example.demo.Utility.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service responsible for revocation of access tokens. Revoked token ids are stored in database,
+ * while every request is checked against in-memory Bloom filter first. Database is queried only
+ * when filter reports possible match
+ *
+ * @author Thorvas
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final long MIN_FILTER_CAPACITY = 10_000;
+    private static final Duration REBUILD_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${jwt.revocation.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private volatile BloomFilter revokedFilter;
+
+    private Counter filterNegatives;
+    private Counter truePositives;
+    private Counter falsePositives;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void init() {
+
+        filterNegatives = meterRegistry.counter("jwt.revocation.checks", "result", "filter_negative");
+        truePositives = meterRegistry.counter("jwt.revocation.checks", "result", "true_positive");
+        falsePositives = meterRegistry.counter("jwt.revocation.checks", "result", "false_positive");
+        rebuildTimer = meterRegistry.timer("jwt.revocation.filter.rebuild");
+
+        Gauge.builder("jwt.revocation.filter.false_positive_rate", this, TokenRevocationService::observedFalsePositiveRate)
+                .description("Share of non-revoked tokens that required database lookup")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.filter.expected_false_positive_rate", this, service -> service.revokedFilter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("jwt.revocation.filter.entries", this, service -> service.revokedFilter.getInsertions())
+                .register(meterRegistry);
+
+        this.rebuildFilter();
+    }
+
+    /**
+     * Revokes access token until its original expiration date. Revocation is inserted directly and primary key
+     * rejects repeated one, so concurrent logouts with the same token cannot race between check and insert
+     *
+     * @param jti       Id of revoked token
+     * @param expiresAt Expiration date of revoked token
+     */
+    public void revoke(String jti, Instant expiresAt) {
+
+        if (jti == null) {
+
+            throw new IllegalArgumentException("Token does not contain identifier and cannot be revoked.");
+        }
+
+        try {
+            revokedTokenRepository.insertRevocation(jti, expiresAt, Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            // Token has been already revoked
+        }
+
+        revokedFilter.put(jti);
+    }
+
+    /**
+     * Checks whether token has been revoked. Database is consulted only if Bloom filter reports possible match
+     *
+     * @param jti Id of checked token
+     * @return Boolean value containing result of check
+     */
+    public boolean isRevoked(String jti) {
+
+        // Tokens issued before revocation was introduced carry no id and cannot be revoked
+        if (jti == null) {
+
+            return false;
+        }
+
+        if (!revokedFilter.mightContain(jti)) {
+
+            filterNegatives.increment();
+            return false;
+        }
+
+        if (revokedTokenRepository.existsById(jti)) {
+
+            truePositives.increment();
+            return true;
+        }
+
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Rebuilds Bloom filter from database, dropping ids of tokens that have already expired
+     */
+    @Scheduled(initialDelayString = "${jwt.revocation.rebuild-interval-ms:300000}", fixedDelayString = "${jwt.revocation.rebuild-interval-ms:300000}")
+    public void rebuildFilter() {
+
+        rebuildTimer.record(() -> {
+
+            Instant rebuildStart = Instant.now();
+            long activeRevocations = revokedTokenRepository.countByExpiresAtAfter(rebuildStart);
+
+            BloomFilter rebuiltFilter = BloomFilter.create(Math.max(MIN_FILTER_CAPACITY, activeRevocations * 2), falsePositiveRate);
+
+            String lastJti = "";
+            List<String> page;
+
+            do {
+                page = revokedTokenRepository.findActiveJtis(rebuildStart, lastJti, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                page.forEach(rebuiltFilter::put);
+
+                if (!page.isEmpty()) {
+                    lastJti = page.get(page.size() - 1);
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            revokedFilter = rebuiltFilter;
+
+            // Revocations committed while filter was being rebuilt could have been added only to previous filter
+            revokedTokenRepository.findJtisRevokedSince(rebuildStart.minus(REBUILD_OVERLAP)).forEach(rebuiltFilter::put);
+        });
+
+        this.sweepExpiredRevocations();
+    }
+
+    /**
+     * Removes revocations of tokens that have already expired in batches
+     */
+    private void sweepExpiredRevocations() {
+
+        List<String> expiredJtis;
+
+        do {
+            expiredJtis = revokedTokenRepository.findExpiredJtis(Instant.now(), PageRequest.of(0, sweepBatchSize));
+
+            if (!expiredJtis.isEmpty()) {
+
+                revokedTokenRepository.deleteAllByIdInBatch(expiredJtis);
+            }
+        } while (expiredJtis.size() == sweepBatchSize);
+    }
+
+    private double observedFalsePositiveRate() {
+
+        double negatives = filterNegatives.count() + falsePositives.count();
+
+        return negatives == 0 ? 0 : falsePositives.count() / negatives;
+    }
+}
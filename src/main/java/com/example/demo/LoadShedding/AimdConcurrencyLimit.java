@@ -0,0 +1,153 @@
+package com.example.demo.LoadShedding;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive limit of concurrently processed requests using additive increase, multiplicative decrease.
+ * Limit grows by one per limit-sized window of fast requests and is cut when request takes longer than latency threshold.
+ * Limit is cut at most once per window, slow requests that started before last cut only report overload that was already handled
+ *
+ * @author Thorvas
+ */
+public class AimdConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private static final long NO_BACKOFF = Long.MIN_VALUE;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastBackoffNanos = new AtomicLong(NO_BACKOFF);
+
+    /**
+     * Creates new limit
+     *
+     * @param initialLimit          Limit used before any request is measured
+     * @param minLimit              Lowest allowed limit
+     * @param maxLimit              Highest allowed limit
+     * @param backoffRatio          Ratio that limit is multiplied with after slow request
+     * @param latencyThresholdNanos Latency above which request is considered slow
+     */
+    public AimdConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+
+        if (minLimit <= 0 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Limits must be positive and backoff ratio must be between 0 and 1");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(Math.min(maxLimit, Math.max(minLimit, initialLimit))));
+    }
+
+    /**
+     * Tries to reserve slot for request
+     *
+     * @return True if request can be processed, false if it should be rejected
+     */
+    public boolean tryAcquire() {
+
+        while (true) {
+            int current = inFlight.get();
+
+            if (current >= getLimit()) {
+
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases slot of finished request and adjusts limit based on its latency
+     *
+     * @param latencyNanos Time that request took
+     */
+    public void release(long latencyNanos) {
+
+        this.release(latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * Releases slot of request that finished at given time
+     *
+     * @param latencyNanos Time that request took
+     * @param nowNanos     Current time in nanoseconds
+     */
+    void release(long latencyNanos, long nowNanos) {
+
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        if (latencyNanos > latencyThresholdNanos) {
+
+            if (this.claimBackoff(nowNanos - latencyNanos, nowNanos)) {
+                this.updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else {
+
+            // Limit grows only when it is actually used, otherwise idle service would report unbounded capacity
+            this.updateLimit(limit -> inFlightBefore * 2 >= limit ? Math.min(maxLimit, limit + 1 / limit) : limit);
+        }
+    }
+
+    /**
+     * Claims right to cut limit for slow request. Only first slow request that started after previous cut gets it
+     *
+     * @param startedNanos Time when slow request started
+     * @param nowNanos     Current time in nanoseconds
+     * @return True if limit should be cut
+     */
+    private boolean claimBackoff(long startedNanos, long nowNanos) {
+
+        long lastBackoff = lastBackoffNanos.get();
+
+        if (lastBackoff != NO_BACKOFF && startedNanos - lastBackoff < 0) {
+
+            return false;
+        }
+
+        return lastBackoffNanos.compareAndSet(lastBackoff, nowNanos);
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double newLimit = update.applyAsDouble(limit);
+
+            if (newLimit == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(newLimit))) {
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Releases slot of request without measuring it, used for requests whose latency says nothing about load
+     */
+    public void releaseWithoutSample() {
+
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.LoadShedding;
+
+/**
+ * Groups of endpoints that have separate concurrency limits
+ *
+ * @author Thorvas
+ */
+public enum ConcurrencyGroup {
+
+    AUTH,
+    PROJECT_READS,
+    MUTATIONS;
+
+    /**
+     * Resolves group of request
+     *
+     * @param method HTTP method of request
+     * @param path   Path of request
+     * @return Group of request or null if request is not limited
+     */
+    public static ConcurrencyGroup resolve(String method, String path) {
+
+        if (path.startsWith("/api/v1/auth/")) {
+            return AUTH;
+        }
+
+        boolean isRead = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+
+        if (!isRead) {
+            return MUTATIONS;
+        }
+        if (path.startsWith("/api/v1/projects")) {
+            return PROJECT_READS;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.LoadShedding;
+
+import com.example.demo.Error.ServiceOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Filter shedding requests of endpoint group that reached its concurrency limit. Excess requests are rejected
+ * immediately instead of waiting in Tomcat queue until they time out
+ *
+ * @author Thorvas
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @Value("${load-shedding.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Method responsible for filtering request
+     *
+     * @param request     Incoming request
+     * @param response    Expected response
+     * @param filterChain filterChain object representing filters protecting resources
+     * @throws ServletException Possible thrown exception
+     * @throws IOException      Possible thrown exception
+     */
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        ConcurrencyGroup group = enabled ? ConcurrencyGroup.resolve(request.getMethod(), request.getRequestURI()) : null;
+
+        if (group == null) {
+
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire(group)) {
+
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new ServiceOverloadedException("Service is overloaded. Try again later."));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            // Long-lived async responses and failed requests would distort latency, so they only free their slot
+            if (completed && !request.isAsyncStarted()) {
+                concurrencyLimiter.release(group, System.nanoTime() - start);
+            } else {
+                concurrencyLimiter.releaseWithoutSample(group);
+            }
+        }
+    }
+}
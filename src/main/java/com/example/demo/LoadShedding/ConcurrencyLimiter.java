@@ -0,0 +1,118 @@
+package com.example.demo.LoadShedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Service keeping adaptive concurrency limits of endpoint groups and exposing them as metrics
+ *
+ * @author Thorvas
+ */
+@Service
+public class ConcurrencyLimiter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${load-shedding.min-limit:4}")
+    private int minLimit;
+
+    @Value("${load-shedding.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${load-shedding.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${load-shedding.auth.initial-limit:20}")
+    private int authInitialLimit;
+
+    @Value("${load-shedding.auth.latency-threshold:2s}")
+    private Duration authLatencyThreshold;
+
+    @Value("${load-shedding.project-reads.initial-limit:50}")
+    private int projectReadsInitialLimit;
+
+    @Value("${load-shedding.project-reads.latency-threshold:500ms}")
+    private Duration projectReadsLatencyThreshold;
+
+    @Value("${load-shedding.mutations.initial-limit:30}")
+    private int mutationsInitialLimit;
+
+    @Value("${load-shedding.mutations.latency-threshold:1s}")
+    private Duration mutationsLatencyThreshold;
+
+    private final Map<ConcurrencyGroup, AimdConcurrencyLimit> limits = new EnumMap<>(ConcurrencyGroup.class);
+    private final Map<ConcurrencyGroup, Counter> rejectionCounters = new EnumMap<>(ConcurrencyGroup.class);
+
+    @PostConstruct
+    public void init() {
+
+        limits.put(ConcurrencyGroup.AUTH, createLimit(authInitialLimit, authLatencyThreshold));
+        limits.put(ConcurrencyGroup.PROJECT_READS, createLimit(projectReadsInitialLimit, projectReadsLatencyThreshold));
+        limits.put(ConcurrencyGroup.MUTATIONS, createLimit(mutationsInitialLimit, mutationsLatencyThreshold));
+
+        limits.forEach((group, limit) -> {
+            String groupTag = group.name().toLowerCase();
+
+            Gauge.builder("api.concurrency.limit", limit, AimdConcurrencyLimit::getLimit)
+                    .tag("group", groupTag)
+                    .register(meterRegistry);
+            Gauge.builder("api.concurrency.in_flight", limit, AimdConcurrencyLimit::getInFlight)
+                    .tag("group", groupTag)
+                    .register(meterRegistry);
+            rejectionCounters.put(group, meterRegistry.counter("api.concurrency.rejections", "group", groupTag));
+        });
+    }
+
+    /**
+     * Tries to reserve slot for request of given group
+     *
+     * @param group Endpoint group of request
+     * @return True if request can be processed
+     */
+    public boolean tryAcquire(ConcurrencyGroup group) {
+
+        if (limits.get(group).tryAcquire()) {
+
+            return true;
+        }
+
+        rejectionCounters.get(group).increment();
+        return false;
+    }
+
+    /**
+     * Releases slot of finished request and feeds its latency to limit of group
+     *
+     * @param group        Endpoint group of request
+     * @param latencyNanos Time that request took
+     */
+    public void release(ConcurrencyGroup group, long latencyNanos) {
+
+        limits.get(group).release(latencyNanos);
+    }
+
+    /**
+     * Releases slot of request without feeding its latency to limit
+     *
+     * @param group Endpoint group of request
+     */
+    public void releaseWithoutSample(ConcurrencyGroup group) {
+
+        limits.get(group).releaseWithoutSample();
+    }
+
+    private AimdConcurrencyLimit createLimit(int initialLimit, Duration latencyThreshold) {
+
+        return new AimdConcurrencyLimit(initialLimit, minLimit, maxLimit, backoffRatio, latencyThreshold.toNanos());
+    }
+}
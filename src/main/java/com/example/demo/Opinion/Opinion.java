@@ -26,7 +26,8 @@ import lombok.NoArgsConstructor;
 public class Opinion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "opinion_seq")
+    @SequenceGenerator(name = "opinion_seq", sequenceName = "opinion_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "opinion_content")
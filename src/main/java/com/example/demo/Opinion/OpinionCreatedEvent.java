@@ -0,0 +1,13 @@
+package com.example.demo.Opinion;
+
+/**
+ * Event published when opinion was created
+ *
+ * @param opinionId Id value of opinion
+ * @param authorId  Id value of volunteer that wrote opinion
+ */
+public record OpinionCreatedEvent(
+        Long opinionId,
+        Long authorId
+) {
+}
@@ -4,10 +4,13 @@ import com.example.demo.Error.InsufficientPermissionsException;
 import com.example.demo.Error.OpinionNotFoundException;
 import com.example.demo.Project.Project;
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Utility.EntityLoader;
 import com.example.demo.Volunteer.Volunteer;
 import com.example.demo.Volunteer.VolunteerDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,12 +22,18 @@ import java.util.List;
 @Service
 public class OpinionService {
 
+    @Autowired
+    private EntityLoader entityLoader;
+
     @Autowired
     private OpinionServiceFacade opinionServiceFacade;
 
     @Autowired
     OpinionRepository opinionRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Searches for opinion in database
      *
@@ -33,11 +42,8 @@ public class OpinionService {
      */
     public Opinion findOpinion(Long id) {
 
-        if (opinionRepository.findById(id).isPresent()) {
-            return opinionRepository.findById(id).get();
-        }
-
-        throw new OpinionNotFoundException("Requested opinion could not be found");
+        return entityLoader.find(Opinion.class, id)
+                .orElseThrow(() -> new OpinionNotFoundException("Requested opinion could not be found"));
     }
 
     /**
@@ -46,6 +52,7 @@ public class OpinionService {
      * @param id Id value of searched opinion
      * @return Found opinion
      */
+    @Transactional(readOnly = true)
     public OpinionDTO searchOpinion(Long id) {
 
         Opinion opinion = this.findOpinion(id);
@@ -58,6 +65,7 @@ public class OpinionService {
      *
      * @return List of all found opinions
      */
+    @Transactional(readOnly = true)
     public List<OpinionDTO> searchAllOpinions() {
 
         List<Opinion> opinions = opinionRepository.findAll();
@@ -71,6 +79,7 @@ public class OpinionService {
      * @param opinionId Id value of inspected opinion
      * @return Author of opinion
      */
+    @Transactional(readOnly = true)
     public VolunteerDTO getAuthor(Long opinionId) {
 
         Opinion opinion = this.findOpinion(opinionId);
@@ -80,6 +89,7 @@ public class OpinionService {
         return opinionServiceFacade.mapVolunteerToDTO(author);
     }
 
+    @Transactional(readOnly = true)
     public ProjectDTO getDescribedProject(Long opinionId) {
 
         Opinion opinion = this.findOpinion(opinionId);
@@ -95,6 +105,7 @@ public class OpinionService {
      * @param opinionId Id value of deleted opinion
      * @return Deleted opinion
      */
+    @Transactional
     public OpinionDTO deleteOpinion(Long opinionId) {
 
         Opinion opinion = this.findOpinion(opinionId);
@@ -103,6 +114,8 @@ public class OpinionService {
 
             opinionRepository.delete(opinion);
 
+            eventPublisher.publishEvent(new OpinionDeletedEvent(opinion.getId(), opinion.getAuthor().getId()));
+
             return opinionServiceFacade.mapOpinionToDTO(opinion);
         }
 
@@ -130,6 +143,7 @@ public class OpinionService {
      * @param opinionDTO OpinionDTO containing content of opinion
      * @return Created opinion
      */
+    @Transactional
     public OpinionDTO createOpinion(Long projectId, OpinionDTO opinionDTO) {
 
         Project project = opinionServiceFacade.findProject(projectId);
@@ -137,6 +151,8 @@ public class OpinionService {
 
         opinionRepository.save(opinion);
 
+        eventPublisher.publishEvent(new OpinionCreatedEvent(opinion.getId(), opinion.getAuthor().getId()));
+
         return opinionServiceFacade.mapOpinionToDTO(opinion);
     }
 
@@ -147,6 +163,7 @@ public class OpinionService {
      * @param opinionDTO OpinionDTO object containing updated data
      * @return JSON response containing updated DTO object
      */
+    @Transactional
     public OpinionDTO updateOpinion(Long opinionId, OpinionDTO opinionDTO) {
 
         Opinion updatedOpinion = this.findOpinion(opinionId);
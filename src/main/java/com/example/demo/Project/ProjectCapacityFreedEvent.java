@@ -0,0 +1,11 @@
+package com.example.demo.Project;
+
+/**
+ * Event published when place in project may have become free, either because volunteer left it or its capacity was raised
+ *
+ * @param projectId Id value of project
+ */
+public record ProjectCapacityFreedEvent(
+        Long projectId
+) {
+}
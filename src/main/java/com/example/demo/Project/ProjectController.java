@@ -5,6 +5,7 @@ import com.example.demo.Category.CategoryService;
 import com.example.demo.Opinion.OpinionDTO;
 import com.example.demo.Volunteer.VolunteerDTO;
 import com.example.demo.Volunteer.VolunteerService;
+import com.example.demo.Utility.BatchLookupDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -87,6 +88,26 @@ public class ProjectController {
         return new ResponseEntity<>(resource, HttpStatus.OK);
     }
 
+    /**
+     * GET endpoint for projects with given ids. It replaces lookups of single projects by one request
+     *
+     * @param ids List of id values of retrieved projects, at most 100 distinct ones
+     * @return JSON response containing found projects in requested order and ids that were not found
+     */
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves projects with given ids", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BatchLookupDTO<ProjectDTO>> getProjectsByIds(@RequestParam("ids") List<Long> ids) {
+
+        BatchLookupDTO<ProjectDTO> lookupDTO = projectService.searchProjects(ids);
+
+        Link selfLink = linkTo(methodOn(ProjectController.class)
+                .getProjectsByIds(ids)).withRel(RESOURCE_PATH_LINK);
+
+        lookupDTO.add(selfLink, rootLink());
+
+        return new ResponseEntity<>(lookupDTO, HttpStatus.OK);
+    }
+
     /**
      * GET endpoint for projects. Retrieves project based on id parameter
      *
@@ -0,0 +1,11 @@
+package com.example.demo.Project;
+
+/**
+ * Event published when project was finished
+ *
+ * @param projectId Id value of project
+ */
+public record ProjectFinishedEvent(
+        Long projectId
+) {
+}
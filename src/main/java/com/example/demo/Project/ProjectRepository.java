@@ -4,6 +4,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,4 +22,23 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT p FROM Project p WHERE p.projectStatus = :status")
     List<Project> findWithStatus(ProjectStatus status);
+
+    boolean existsByIdAndOwnerVolunteerId(Long id, Long ownerId);
+
+    boolean existsByIdAndProjectVolunteersId(Long id, Long volunteerId);
+
+    @Query(value = "SELECT project_capacity FROM project WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Integer lockProjectCapacity(Long id);
+
+    @Query("SELECT p.projectStatus FROM Project p WHERE p.id = :id")
+    ProjectStatus findStatusById(Long id);
+
+    @Query("SELECT COUNT(v) FROM Project p JOIN p.projectVolunteers v WHERE p.id = :id")
+    long countParticipants(Long id);
+
+    @Query("SELECT v.id FROM Project p JOIN p.projectVolunteers v WHERE p.id = :id AND v.id IN :volunteerIds")
+    List<Long> findParticipantIds(Long id, Collection<Long> volunteerIds);
+
+    @Query("SELECT p FROM Project p LEFT JOIN FETCH p.ownerVolunteer WHERE p.id IN :ids")
+    List<Project> findAllWithOwnerByIdIn(Collection<Long> ids);
 }
@@ -5,13 +5,22 @@ import com.example.demo.Category.CategoryDTO;
 import com.example.demo.Error.*;
 import com.example.demo.Opinion.Opinion;
 import com.example.demo.Opinion.OpinionDTO;
+import com.example.demo.Utility.BatchLookup;
+import com.example.demo.Utility.BatchLookupDTO;
+import com.example.demo.Utility.EntityLoader;
 import com.example.demo.Volunteer.Volunteer;
 import com.example.demo.Volunteer.VolunteerDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,12 +31,21 @@ import java.util.stream.Collectors;
 @Service
 public class ProjectService {
 
+    @Autowired
+    private EntityLoader entityLoader;
+
     @Autowired
     private ProjectServiceFacade projectServiceFacade;
 
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Searches for project based on id parameter
      *
@@ -36,12 +54,8 @@ public class ProjectService {
      */
     public Project findProject(Long id) {
 
-        if (projectRepository.findById(id).isPresent()) {
-
-            return projectRepository.findById(id).get();
-        }
-
-        throw new ProjectNotFoundException("Requested project could not be found.");
+        return entityLoader.find(Project.class, id)
+                .orElseThrow(() -> new ProjectNotFoundException("Requested project could not be found."));
     }
 
     /**
@@ -50,6 +64,7 @@ public class ProjectService {
      * @param id Id value of edited project
      * @return ProjectDTO of edited project
      */
+    @Transactional
     public ProjectDTO finishProject(Long id) {
 
         Project project = findProject(id);
@@ -57,9 +72,12 @@ public class ProjectService {
         if (!this.isProjectFinished(project)) {
             if (this.isVolunteerProjectOwner(projectServiceFacade.getLoggedVolunteer(), project) || projectServiceFacade.checkIfAdmin(projectServiceFacade.getLoggedVolunteer())) {
 
-                project.setProjectStatus(ProjectStatus.STATUS_PROGRESS);
+                project.setProjectStatus(ProjectStatus.STATUS_FINISHED);
                 projectRepository.save(project);
 
+                eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+                eventPublisher.publishEvent(new ProjectFinishedEvent(project.getId()));
+
                 return projectServiceFacade.mapProjectToDTO(project);
             }
             throw new InsufficientPermissionsException("You are not an owner of project and you can't finish it");
@@ -75,6 +93,7 @@ public class ProjectService {
      * @param id Id value of edited project
      * @return ProjectDTO of edited project
      */
+    @Transactional
     public ProjectDTO progressProject(Long id) {
 
         Project project = findProject(id);
@@ -85,6 +104,8 @@ public class ProjectService {
                     project.setProjectStatus(ProjectStatus.STATUS_PROGRESS);
                     projectRepository.save(project);
 
+                    eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
                     return projectServiceFacade.mapProjectToDTO(project);
                 }
                 throw new InsufficientPermissionsException("You are not an owner of project and you can't close it");
@@ -110,6 +131,76 @@ public class ProjectService {
         return participants >= project.getVolunteerCapacity();
     }
 
+    /**
+     * Locks project row until end of current transaction and counts its free places.
+     * Concurrent reservations for the same project wait for each other instead of overbooking it
+     *
+     * @param projectId Id value of project
+     * @return Number of volunteers that can still join project
+     */
+    public int lockFreeCapacity(Long projectId) {
+
+        Integer capacity = projectRepository.lockProjectCapacity(projectId);
+
+        if (capacity == null) {
+
+            throw new ProjectNotFoundException("Project could not be found");
+        }
+
+        return (int) Math.max(0, capacity - projectRepository.countParticipants(projectId));
+    }
+
+    /**
+     * Checks whether volunteer owns project with indexed query, without loading projects of volunteer
+     *
+     * @param projectId   Id value of project
+     * @param volunteerId Id value of volunteer
+     * @return Boolean result of check
+     */
+    public boolean isProjectOwner(Long projectId, Long volunteerId) {
+
+        return projectRepository.existsByIdAndOwnerVolunteerId(projectId, volunteerId);
+    }
+
+    /**
+     * Checks whether volunteer participates in project without loading participant list of project
+     *
+     * @param projectId   Id value of project
+     * @param volunteerId Id value of volunteer
+     * @return Boolean result of check
+     */
+    public boolean isProjectParticipant(Long projectId, Long volunteerId) {
+
+        return projectRepository.existsByIdAndProjectVolunteersId(projectId, volunteerId);
+    }
+
+    /**
+     * Searches which of given volunteers already participate in project
+     *
+     * @param projectId    Id value of project
+     * @param volunteerIds Id values of checked volunteers
+     * @return Id values of volunteers that participate in project
+     */
+    public Set<Long> findParticipantIds(Long projectId, Collection<Long> volunteerIds) {
+
+        return new HashSet<>(projectRepository.findParticipantIds(projectId, volunteerIds));
+    }
+
+    /**
+     * Adds volunteers to project with single batched insert, without loading participant list of project
+     *
+     * @param projectId    Id value of project
+     * @param volunteerIds Id values of added volunteers
+     */
+    public void addParticipants(Long projectId, List<Long> volunteerIds) {
+
+        jdbcTemplate.batchUpdate("INSERT INTO volunteer_project (project_id, volunteer_id) VALUES (?, ?)",
+                volunteerIds, volunteerIds.size(), (statement, volunteerId) -> {
+                    statement.setLong(1, projectId);
+                    statement.setLong(2, volunteerId);
+                });
+    }
+
 
     /**
      * Sets project's status to OPEN
@@ -117,6 +208,7 @@ public class ProjectService {
      * @param id Id value of edited project
      * @return ProjectDTO of edited project
      */
+    @Transactional
     public ProjectDTO openProject(Long id) {
 
         Project project = findProject(id);
@@ -127,6 +219,8 @@ public class ProjectService {
                     project.setProjectStatus(ProjectStatus.STATUS_OPEN);
                     projectRepository.save(project);
 
+                    eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
                     return projectServiceFacade.mapProjectToDTO(project);
                 }
 
@@ -150,6 +244,17 @@ public class ProjectService {
         return project.getProjectStatus().equals(ProjectStatus.STATUS_OPEN);
     }
 
+    /**
+     * Checks whether project has open status without loading project
+     *
+     * @param projectId Id value of inspected project
+     * @return Boolean value containing result of comparison
+     */
+    public boolean isProjectOpen(Long projectId) {
+
+        return projectRepository.findStatusById(projectId) == ProjectStatus.STATUS_OPEN;
+    }
+
     /**
      * Checks whether project has closed status
      *
@@ -179,6 +284,7 @@ public class ProjectService {
      * @param projectId   Id value of project that is modified
      * @return Volunteer that is added to project
      */
+    @Transactional
     public VolunteerDTO addVolunteerToProject(Long volunteerId, Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -189,6 +295,8 @@ public class ProjectService {
             project.addVolunteerToProject(volunteer);
             projectRepository.save(project);
 
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
             return projectServiceFacade.mapVolunteerToDTO(volunteer);
         }
 
@@ -202,6 +310,7 @@ public class ProjectService {
      * @param categoryId Id value of category that is added to project
      * @return Category that is added to project
      */
+    @Transactional
     public CategoryDTO addCategoryToProject(Long projectId, Long categoryId) {
 
         Project project = this.findProject(projectId);
@@ -212,6 +321,8 @@ public class ProjectService {
             project.addCategoryToProject(category);
             projectRepository.save(project);
 
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
             return projectServiceFacade.mapCategoryToDTO(category);
         }
 
@@ -225,6 +336,7 @@ public class ProjectService {
      * @param categoryId Id value of category that is removed
      * @return Category that is removed from project
      */
+    @Transactional
     public CategoryDTO removeCategoryFromProject(Long projectId, Long categoryId) {
 
         Project project = this.findProject(projectId);
@@ -235,6 +347,8 @@ public class ProjectService {
             project.removeCategoryFromProject(category);
             projectRepository.save(project);
 
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
             return projectServiceFacade.mapCategoryToDTO(category);
         }
 
@@ -248,6 +362,7 @@ public class ProjectService {
      * @param projectId   Id value of modified project
      * @return Removed volunteer from project
      */
+    @Transactional
     public VolunteerDTO removeVolunteerFromProject(Long volunteerId, Long projectId) {
 
         Volunteer volunteer = projectServiceFacade.findVolunteer(volunteerId);
@@ -258,6 +373,10 @@ public class ProjectService {
             project.removeVolunteerFromProject(volunteer);
             projectRepository.save(project);
 
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
+            eventPublisher.publishEvent(new ProjectCapacityFreedEvent(projectId));
+
             return projectServiceFacade.mapVolunteerToDTO(volunteer);
         }
 
@@ -271,6 +390,7 @@ public class ProjectService {
      * @param projectId   Id value of project that will be modified
      * @return Modified project object
      */
+    @Transactional
     public ProjectDTO changeOwner(Long volunteerId, Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -294,6 +414,7 @@ public class ProjectService {
      * @param requestProject ProjectDTO that represents data of project
      * @return Created project
      */
+    @Transactional
     public ProjectDTO createProject(ProjectDTO requestProject) {
 
         Project project = new Project();
@@ -306,6 +427,8 @@ public class ProjectService {
 
         projectRepository.save(project);
 
+        eventPublisher.publishEvent(new ProjectUpdatedEvent(project.getId()));
+
         return projectServiceFacade.mapProjectToDTO(project);
     }
 
@@ -315,6 +438,7 @@ public class ProjectService {
      * @param projectId Id value of project that is inspected
      * @return List of opinions associated with project
      */
+    @Transactional(readOnly = true)
     public List<OpinionDTO> getOpinions(Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -337,6 +461,7 @@ public class ProjectService {
      * @param projectId Id value of inspected project
      * @return Volunteer owner of project
      */
+    @Transactional(readOnly = true)
     public VolunteerDTO getOwner(Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -350,6 +475,7 @@ public class ProjectService {
      * @param date Specified date value
      * @return List of projects matching with concrete date
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> searchProjectsWithDate(LocalDate date) {
 
         List<Project> projects = projectRepository.findWithDate(date);
@@ -378,16 +504,27 @@ public class ProjectService {
      * @param projectDTO ProjectDTO object representing new values that will replace old object
      * @return Updated project
      */
+    @Transactional
     public ProjectDTO updateProject(Long projectId, ProjectDTO projectDTO) {
 
         Project sourceProject = this.findProject(projectId);
 
         if (this.isVolunteerProjectOwner(projectServiceFacade.getLoggedVolunteer(), sourceProject) || projectServiceFacade.checkIfAdmin(projectServiceFacade.getLoggedVolunteer())) {
 
+            Integer previousCapacity = sourceProject.getVolunteerCapacity();
+
             projectServiceFacade.mapDTOToProject(projectDTO, sourceProject);
 
             projectRepository.save(sourceProject);
 
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(projectId));
+
+            Integer capacity = sourceProject.getVolunteerCapacity();
+
+            if (capacity != null && (previousCapacity == null || capacity > previousCapacity)) {
+                eventPublisher.publishEvent(new ProjectCapacityFreedEvent(projectId));
+            }
+
             return projectServiceFacade.mapProjectToDTO(sourceProject);
         }
 
@@ -400,6 +537,7 @@ public class ProjectService {
      *
      * @return List of projects that were found
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> searchAllProjects() {
 
         List<Project> projects = projectRepository.findAll();
@@ -419,6 +557,7 @@ public class ProjectService {
      * @param id Id value of searched project
      * @return Found project
      */
+    @Transactional(readOnly = true)
     public ProjectDTO searchProject(Long id) {
 
         Project project = this.findProject(id);
@@ -426,12 +565,26 @@ public class ProjectService {
         return projectServiceFacade.mapProjectToDTO(project);
     }
 
+    /**
+     * Searches for projects with given ids by single query
+     *
+     * @param ids Id values of projects, at most 100 distinct ones
+     * @return Found projects in requested order together with ids that were not found
+     */
+    @Transactional(readOnly = true)
+    public BatchLookupDTO<ProjectDTO> searchProjects(List<Long> ids) {
+
+        return BatchLookup.lookup(ids, projectRepository::findAllWithOwnerByIdIn, Project::getId,
+                projectServiceFacade::mapProjectToDTO);
+    }
+
     /**
      * Retrieves volunteers associated with project
      *
      * @param projectId Id value of inspected project
      * @return List of volunteers associated with project
      */
+    @Transactional(readOnly = true)
     public List<VolunteerDTO> getVolunteers(Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -452,6 +605,7 @@ public class ProjectService {
      * @param location Location of project
      * @return List of projects that match with location
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> searchProjectsWithLocation(String location) {
 
         List<Project> foundProjects = projectRepository.findWithLocation(location);
@@ -472,6 +626,7 @@ public class ProjectService {
      * @param status Status of project representing whether project is active or not
      * @return List of projects that match with status
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> searchProjectsWithStatus(ProjectStatus status) {
 
         List<Project> foundProjects = projectRepository.findWithStatus(status);
@@ -492,6 +647,7 @@ public class ProjectService {
      * @param projectId Id value of inspected project
      * @return List of categories associated with project
      */
+    @Transactional(readOnly = true)
     public List<CategoryDTO> searchCategories(Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -514,6 +670,7 @@ public class ProjectService {
      * @param projectId Id value of project
      * @return Deleted project
      */
+    @Transactional
     public ProjectDTO deleteProject(Long projectId) {
 
         Project project = this.findProject(projectId);
@@ -522,6 +679,8 @@ public class ProjectService {
 
             projectRepository.delete(project);
 
+            eventPublisher.publishEvent(new ProjectUpdatedEvent(projectId));
+
             return projectServiceFacade.mapProjectToDTO(project);
         }
 
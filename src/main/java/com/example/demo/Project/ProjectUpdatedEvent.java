@@ -0,0 +1,11 @@
+package com.example.demo.Project;
+
+/**
+ * Event published when project was created, deleted, or its status, capacity, categories or participants changed
+ *
+ * @param projectId Id value of project
+ */
+public record ProjectUpdatedEvent(
+        Long projectId
+) {
+}
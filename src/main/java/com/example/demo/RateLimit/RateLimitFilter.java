@@ -0,0 +1,101 @@
+package com.example.demo.RateLimit;
+
+import com.example.demo.Error.RateLimitExceededException;
+import com.example.demo.Jwt.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter limiting number of requests of single client. Authenticated clients are identified by subject of their
+ * verified bearer token, anonymous ones and clients with invalid token by IP address. Raw token is never used as key,
+ * otherwise every made up token would get its own fresh bucket
+ *
+ * @author Thorvas
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    @Qualifier("handlerExceptionResolver")
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Method responsible for filtering request
+     *
+     * @param request     Incoming request
+     * @param response    Expected response
+     * @param filterChain filterChain object representing filters protecting resources
+     * @throws ServletException Possible thrown exception
+     * @throws IOException      Possible thrown exception
+     */
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        if (!enabled) {
+
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitGroup group = RateLimitGroup.fromPath(request.getRequestURI());
+        long waitNanos = rateLimiter.tryAcquire(group, resolveClientKey(request));
+
+        if (waitNanos > 0) {
+
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new RateLimitExceededException("Too many requests. Try again in " + retryAfterSeconds + " seconds.", retryAfterSeconds));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Resolves key identifying client of request
+     *
+     * @param request Incoming request
+     * @return Username of verified bearer token or IP address of client if token is missing or invalid
+     */
+    private String resolveClientKey(HttpServletRequest request) {
+
+        try {
+            Claims claims = jwtService.parseBearerToken(request);
+
+            if (claims != null && claims.getSubject() != null) {
+                return "user:" + claims.getSubject();
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid token is limited as anonymous client, JwtFilter reports the error itself
+        }
+
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.RateLimit;
+
+/**
+ * Groups of routes that have separate rate limits
+ *
+ * @author Thorvas
+ */
+public enum RateLimitGroup {
+
+    AUTH("/api/v1/auth/"),
+    PROJECTS("/api/v1/projects"),
+    DEFAULT("/");
+
+    private final String pathPrefix;
+
+    RateLimitGroup(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+    }
+
+    /**
+     * Resolves group of given request path
+     *
+     * @param path Path of incoming request
+     * @return Group that request belongs to
+     */
+    public static RateLimitGroup fromPath(String path) {
+
+        if (path.startsWith(AUTH.pathPrefix)) {
+            return AUTH;
+        }
+        if (path.startsWith(PROJECTS.pathPrefix)) {
+            return PROJECTS;
+        }
+        return DEFAULT;
+    }
+}
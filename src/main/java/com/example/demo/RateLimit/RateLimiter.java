@@ -0,0 +1,123 @@
+package com.example.demo.RateLimit;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service keeping token buckets of clients. Every route group has its own map of buckets,
+ * so limits of one group never consume tokens of another
+ *
+ * @author Thorvas
+ */
+@Service
+public class RateLimiter {
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private long authCapacity;
+
+    @Value("${rate-limit.auth.refill-tokens:10}")
+    private long authRefillTokens;
+
+    @Value("${rate-limit.auth.refill-period:1m}")
+    private Duration authRefillPeriod;
+
+    @Value("${rate-limit.projects.capacity:60}")
+    private long projectsCapacity;
+
+    @Value("${rate-limit.projects.refill-tokens:60}")
+    private long projectsRefillTokens;
+
+    @Value("${rate-limit.projects.refill-period:1m}")
+    private Duration projectsRefillPeriod;
+
+    @Value("${rate-limit.default.capacity:120}")
+    private long defaultCapacity;
+
+    @Value("${rate-limit.default.refill-tokens:120}")
+    private long defaultRefillTokens;
+
+    @Value("${rate-limit.default.refill-period:1m}")
+    private Duration defaultRefillPeriod;
+
+    @Value("${rate-limit.idle-timeout:10m}")
+    private Duration idleTimeout;
+
+    private final Map<RateLimitGroup, BucketSettings> settings = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(RateLimitGroup.class);
+
+    /**
+     * Limits of single route group
+     *
+     * @param capacity          Maximum burst of requests
+     * @param refillTokens      Number of requests allowed during refill period
+     * @param refillPeriodNanos Length of refill period in nanoseconds
+     */
+    private record BucketSettings(long capacity, long refillTokens, long refillPeriodNanos) {
+    }
+
+    @PostConstruct
+    public void init() {
+
+        settings.put(RateLimitGroup.AUTH, new BucketSettings(authCapacity, authRefillTokens, authRefillPeriod.toNanos()));
+        settings.put(RateLimitGroup.PROJECTS, new BucketSettings(projectsCapacity, projectsRefillTokens, projectsRefillPeriod.toNanos()));
+        settings.put(RateLimitGroup.DEFAULT, new BucketSettings(defaultCapacity, defaultRefillTokens, defaultRefillPeriod.toNanos()));
+
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            buckets.put(group, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Tries to take token from bucket of client in given route group
+     *
+     * @param group     Route group of request
+     * @param clientKey Key identifying client
+     * @return 0 if request is allowed, otherwise number of nanoseconds until client can retry
+     */
+    public long tryAcquire(RateLimitGroup group, String clientKey) {
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(group).get(clientKey);
+
+        // Lookup without computeIfAbsent keeps hot path free of bin locking for already known clients
+        if (bucket == null) {
+            BucketSettings groupSettings = settings.get(group);
+
+            bucket = buckets.get(group).computeIfAbsent(clientKey, key -> new TokenBucket(
+                    groupSettings.capacity(), groupSettings.refillTokens(), groupSettings.refillPeriodNanos(), now));
+        }
+
+        return bucket.tryConsume(now);
+    }
+
+    /**
+     * Periodically removes buckets that have been full for longer than idle timeout. Full bucket behaves
+     * exactly like new one, so eviction never grants client more requests than its limit
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+
+        long now = System.nanoTime();
+        long idleNanos = idleTimeout.toNanos();
+
+        buckets.values().forEach(groupBuckets ->
+                groupBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos)));
+    }
+
+    /**
+     * Returns number of buckets currently kept in memory
+     *
+     * @return Number of tracked buckets in all route groups
+     */
+    public long getTrackedBuckets() {
+
+        return buckets.values().stream().mapToLong(Map::size).sum();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.RateLimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as generic cell rate algorithm. Whole state of bucket is single
+ * theoretical arrival time, so taking token is one compare-and-set without any locking
+ *
+ * @author Thorvas
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Creates bucket that is full at given moment
+     *
+     * @param capacity          Maximum number of tokens that can be taken at once
+     * @param refillTokens      Number of tokens added during refill period
+     * @param refillPeriodNanos Length of refill period in nanoseconds
+     * @param nowNanos          Current time in nanoseconds
+     */
+    public TokenBucket(long capacity, long refillTokens, long refillPeriodNanos, long nowNanos) {
+
+        if (capacity <= 0 || refillTokens <= 0 || refillPeriodNanos <= 0) {
+            throw new IllegalArgumentException("Capacity, refill tokens and refill period must be positive");
+        }
+
+        this.emissionIntervalNanos = Math.max(1, refillPeriodNanos / refillTokens);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tries to take single token from bucket
+     *
+     * @param nowNanos Current time in nanoseconds
+     * @return 0 if token has been taken, otherwise number of nanoseconds until next token is available
+     */
+    public long tryConsume(long nowNanos) {
+
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long start = Math.max(tat, nowNanos);
+            long waitNanos = start - nowNanos - burstToleranceNanos;
+
+            if (waitNanos > 0) {
+
+                return waitNanos;
+            }
+
+            if (theoreticalArrivalTime.compareAndSet(tat, start + emissionIntervalNanos)) {
+
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether bucket has been full for at least given time, so removing it does not change behaviour of limiter
+     *
+     * @param nowNanos  Current time in nanoseconds
+     * @param idleNanos Required idle time in nanoseconds
+     * @return True if bucket can be evicted
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+
+        return nowNanos - theoreticalArrivalTime.get() >= idleNanos;
+    }
+}
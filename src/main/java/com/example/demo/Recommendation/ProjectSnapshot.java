@@ -0,0 +1,41 @@
+package com.example.demo.Recommendation;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * State of open project that recommendations are computed from
+ *
+ * @param id             Id value of project
+ * @param name           Name of project
+ * @param location       Location of project
+ * @param date           Date of project
+ * @param capacity       Number of places in project
+ * @param participantIds Id values of volunteers participating in project
+ * @param categoryIds    Id values of categories of project
+ */
+public record ProjectSnapshot(
+        Long id,
+        String name,
+        String location,
+        LocalDate date,
+        int capacity,
+        Set<Long> participantIds,
+        Set<Long> categoryIds
+) {
+
+    public int freePlaces() {
+
+        return Math.max(0, capacity - participantIds.size());
+    }
+
+    /**
+     * Share of places that are still free. Projects that only have few places left are recommended less eagerly
+     *
+     * @return Number from 0 to 1
+     */
+    public double freeRatio() {
+
+        return capacity <= 0 ? 0 : (double) this.freePlaces() / capacity;
+    }
+}
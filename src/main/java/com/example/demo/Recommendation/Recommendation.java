@@ -0,0 +1,13 @@
+package com.example.demo.Recommendation;
+
+/**
+ * Project recommended to volunteer
+ *
+ * @param project Recommended project
+ * @param score   Score of project, higher is better
+ */
+public record Recommendation(
+        ProjectSnapshot project,
+        double score
+) {
+}
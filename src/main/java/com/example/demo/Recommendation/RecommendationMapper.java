@@ -0,0 +1,43 @@
+package com.example.demo.Recommendation;
+
+import com.example.demo.Project.ProjectController;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Mapper for recommendations
+ *
+ * @author Thorvas
+ */
+@Component
+public class RecommendationMapper {
+
+    /**
+     * Method that maps given recommendation into DTO of recommended project with HATEOAS links
+     *
+     * @param recommendation Recommendation that is to be mapped into DTO
+     * @return Mapped recommendedProjectDTO object
+     */
+    public RecommendedProjectDTO mapRecommendationToDTO(Recommendation recommendation) {
+
+        ProjectSnapshot project = recommendation.project();
+        RecommendedProjectDTO newDTO = new RecommendedProjectDTO();
+
+        newDTO.setId(project.id());
+        newDTO.setProjectName(project.name());
+        newDTO.setProjectLocation(project.location());
+        newDTO.setProjectDate(project.date());
+        newDTO.setFreePlaces(project.freePlaces());
+        newDTO.setScore(recommendation.score());
+
+        Link projectLink = linkTo(methodOn(ProjectController.class)
+                .getProject(project.id())).withRel("project");
+
+        newDTO.add(projectLink);
+
+        return newDTO;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.demo.Recommendation;
+
+import java.util.*;
+
+/**
+ * In-memory model of open projects and interested volunteers. Projects are indexed by category and volunteers
+ * by categories matching their interests, so score of volunteer is computed only from projects sharing
+ * at least one category with the volunteer, and change of project only concerns volunteers of its categories.
+ * Class is not thread safe, callers have to synchronize access
+ *
+ * @author Thorvas
+ */
+public class RecommendationModel {
+
+    /**
+     * Order of recommendations, higher score first and lower project id on tie so order is stable
+     */
+    public static final Comparator<Recommendation> RANKING = Comparator.comparingDouble(Recommendation::score).reversed()
+            .thenComparing(recommendation -> recommendation.project().id());
+
+    private final Map<Long, Double> categoryWeights = new HashMap<>();
+    private final Map<Long, ProjectSnapshot> projects = new HashMap<>();
+    private final Map<Long, Set<Long>> volunteers = new HashMap<>();
+    private final Map<Long, Set<Long>> projectsByCategory = new HashMap<>();
+    private final Map<Long, Set<Long>> volunteersByCategory = new HashMap<>();
+
+    /**
+     * Sets weight of category from its popularity. Weight grows logarithmically, so the most popular categories
+     * do not drown out all others
+     *
+     * @param categoryId Id value of category
+     * @param popularity Popularity of category
+     */
+    public void putCategory(Long categoryId, Integer popularity) {
+
+        categoryWeights.put(categoryId, 1 + Math.log1p(popularity == null ? 0 : Math.max(0, popularity)));
+    }
+
+    /**
+     * Adds or replaces project
+     *
+     * @param project State of project
+     * @return Previous state of project, or null when project was not present
+     */
+    public ProjectSnapshot putProject(ProjectSnapshot project) {
+
+        ProjectSnapshot previous = this.removeProject(project.id());
+
+        projects.put(project.id(), project);
+        project.categoryIds().forEach(categoryId -> projectsByCategory.computeIfAbsent(categoryId, key -> new HashSet<>()).add(project.id()));
+
+        return previous;
+    }
+
+    /**
+     * Removes project
+     *
+     * @param projectId Id value of project
+     * @return Removed state of project, or null when project was not present
+     */
+    public ProjectSnapshot removeProject(Long projectId) {
+
+        ProjectSnapshot previous = projects.remove(projectId);
+
+        if (previous != null) {
+            previous.categoryIds().forEach(categoryId -> removeFromIndex(projectsByCategory, categoryId, projectId));
+        }
+
+        return previous;
+    }
+
+    /**
+     * Adds or replaces volunteer
+     *
+     * @param volunteerId Id value of volunteer
+     * @param categoryIds Id values of categories whose names match interests of volunteer
+     */
+    public void putVolunteer(Long volunteerId, Set<Long> categoryIds) {
+
+        this.removeVolunteer(volunteerId);
+
+        volunteers.put(volunteerId, categoryIds);
+        categoryIds.forEach(categoryId -> volunteersByCategory.computeIfAbsent(categoryId, key -> new HashSet<>()).add(volunteerId));
+    }
+
+    /**
+     * Removes volunteer
+     *
+     * @param volunteerId Id value of volunteer
+     */
+    public void removeVolunteer(Long volunteerId) {
+
+        Set<Long> previousCategoryIds = volunteers.remove(volunteerId);
+
+        if (previousCategoryIds != null) {
+            previousCategoryIds.forEach(categoryId -> removeFromIndex(volunteersByCategory, categoryId, volunteerId));
+        }
+    }
+
+    /**
+     * Returns volunteers interested in any of given categories
+     *
+     * @param categoryIds Id values of categories
+     * @return Id values of interested volunteers
+     */
+    public Set<Long> findInterestedVolunteers(Collection<Long> categoryIds) {
+
+        Set<Long> volunteerIds = new HashSet<>();
+
+        categoryIds.forEach(categoryId -> volunteerIds.addAll(volunteersByCategory.getOrDefault(categoryId, Set.of())));
+
+        return volunteerIds;
+    }
+
+    public Set<Long> getVolunteerIds() {
+
+        return volunteers.keySet();
+    }
+
+    /**
+     * Scores project for volunteer. Weights of categories shared by volunteer and project are summed
+     * and scaled by share of free places of project. Full projects and projects of volunteer are not scored
+     *
+     * @param volunteerId Id value of volunteer
+     * @param project     Scored project
+     * @return Score of project, zero when project cannot be recommended to volunteer
+     */
+    public double score(Long volunteerId, ProjectSnapshot project) {
+
+        Set<Long> volunteerCategoryIds = volunteers.get(volunteerId);
+
+        if (volunteerCategoryIds == null || project == null) {
+            return 0;
+        }
+
+        return this.score(volunteerId, volunteerCategoryIds, project);
+    }
+
+    /**
+     * Computes best projects for volunteer. Only projects sharing category with volunteer are visited,
+     * and bounded heap keeps k best of them
+     *
+     * @param volunteerId Id value of volunteer
+     * @param k           Maximum number of recommendations
+     * @return Recommendations ordered from the best one
+     */
+    public List<Recommendation> recommend(Long volunteerId, int k) {
+
+        Set<Long> volunteerCategoryIds = volunteers.get(volunteerId);
+
+        if (volunteerCategoryIds == null || k <= 0) {
+            return List.of();
+        }
+
+        Set<Long> candidateIds = new HashSet<>();
+        volunteerCategoryIds.forEach(categoryId -> candidateIds.addAll(projectsByCategory.getOrDefault(categoryId, Set.of())));
+
+        PriorityQueue<Recommendation> best = new PriorityQueue<>(k + 1, RANKING.reversed());
+
+        for (Long projectId : candidateIds) {
+            ProjectSnapshot project = projects.get(projectId);
+            double score = this.score(volunteerId, volunteerCategoryIds, project);
+
+            if (score > 0) {
+                best.add(new Recommendation(project, score));
+
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        }
+
+        List<Recommendation> recommendations = new ArrayList<>(best);
+        recommendations.sort(RANKING);
+
+        return recommendations;
+    }
+
+    private double score(Long volunteerId, Set<Long> volunteerCategoryIds, ProjectSnapshot project) {
+
+        if (project.freePlaces() == 0 || project.participantIds().contains(volunteerId)) {
+            return 0;
+        }
+
+        double categoryScore = 0;
+
+        for (Long categoryId : project.categoryIds()) {
+            if (volunteerCategoryIds.contains(categoryId)) {
+                categoryScore += categoryWeights.getOrDefault(categoryId, 1.0);
+            }
+        }
+
+        return categoryScore * (0.5 + 0.5 * project.freeRatio());
+    }
+
+    private static void removeFromIndex(Map<Long, Set<Long>> index, Long key, Long value) {
+
+        Set<Long> values = index.get(key);
+
+        if (values != null) {
+            values.remove(value);
+
+            if (values.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
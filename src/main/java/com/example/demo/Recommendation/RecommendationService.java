@@ -0,0 +1,382 @@
+package com.example.demo.Recommendation;
+
+import com.example.demo.Error.VolunteerNotFoundException;
+import com.example.demo.Interest.InterestService;
+import com.example.demo.Project.ProjectUpdatedEvent;
+import com.example.demo.Request.RequestStatus;
+import com.example.demo.Request.RequestStatusEvent;
+import com.example.demo.Volunteer.VolunteerChangedEvent;
+import com.example.demo.Volunteer.VolunteerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Service recommending open projects to volunteers by overlap of their interests with categories of projects.
+ * Best projects of every volunteer are computed in advance, so serving recommendations is a map lookup.
+ * Changes of projects and volunteers are applied incrementally by single updater thread, which recomputes only
+ * volunteers whose recommendations could have changed. Full rebuild runs on startup and periodically,
+ * scoring volunteers in parallel
+ *
+ * @author Thorvas
+ */
+@Service
+public class RecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final String OPEN_PROJECTS = "p.project_status = 'STATUS_OPEN' AND (p.project_date IS NULL OR p.project_date >= CURRENT_DATE)";
+
+    private static final String CATEGORIES_QUERY = "SELECT id, category_name, category_popularity FROM category";
+    private static final String PROJECTS_QUERY =
+            "SELECT p.id, p.project_name, p.project_location, p.project_date, p.project_capacity FROM project p WHERE " + OPEN_PROJECTS;
+    private static final String PARTICIPANTS_QUERY =
+            "SELECT vp.project_id, vp.volunteer_id FROM volunteer_project vp JOIN project p ON p.id = vp.project_id WHERE " + OPEN_PROJECTS;
+    private static final String PROJECT_CATEGORIES_QUERY =
+            "SELECT cp.project_id, cp.category_id FROM category_project cp JOIN project p ON p.id = cp.project_id WHERE " + OPEN_PROJECTS;
+    private static final String VOLUNTEER_TERMS_QUERY =
+            "SELECT vi.volunteer_id, i.term FROM volunteer_interest vi JOIN interest i ON i.id = vi.interest_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private RecommendationMapper recommendationMapper;
+
+    @Value("${recommendation.top-k:10}")
+    private int topK;
+
+    @Value("${recommendation.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Recommendations served to volunteers, replaced as a whole by rebuild
+     */
+    private volatile Map<Long, List<Recommendation>> recommendations = new ConcurrentHashMap<>();
+
+    /**
+     * Model and dictionary of category terms are only accessed from updater thread
+     */
+    private RecommendationModel model = new RecommendationModel();
+    private Map<String, Set<Long>> categoryIdsByTerm = Map.of();
+
+    /**
+     * Projects and volunteers waiting for refresh, so burst of changes of one project is applied once
+     */
+    private final Set<Long> pendingProjects = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingVolunteers = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService updater;
+    private ForkJoinPool scoringPool;
+
+    @PostConstruct
+    public void init() {
+
+        updater = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recommendation-updater");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        updater.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    /**
+     * Returns projects recommended to volunteer
+     *
+     * @param volunteerId Id value of volunteer
+     * @return Recommended projects ordered from the best one
+     */
+    public List<RecommendedProjectDTO> getRecommendedProjects(Long volunteerId) {
+
+        List<Recommendation> volunteerRecommendations = recommendations.get(volunteerId);
+
+        if (volunteerRecommendations == null) {
+            // Volunteers without interests matching any category are not kept in model
+            if (!volunteerRepository.existsById(volunteerId)) {
+
+                throw new VolunteerNotFoundException("Requested volunteer could not be found");
+            }
+
+            return List.of();
+        }
+
+        return volunteerRecommendations.stream()
+                .map(recommendationMapper::mapRecommendationToDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds recommendations on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecommendations() {
+
+        this.requestRebuild();
+    }
+
+    /**
+     * Periodically rebuilds recommendations, so changes of categories and passed project dates are picked up
+     */
+    @Scheduled(initialDelayString = "${recommendation.rebuild-interval-ms:3600000}", fixedDelayString = "${recommendation.rebuild-interval-ms:3600000}")
+    public void rebuildPeriodically() {
+
+        this.requestRebuild();
+    }
+
+    /**
+     * Schedules full rebuild of recommendations after changes that are already waiting
+     *
+     * @return Future completed once rebuild is finished
+     */
+    public Future<?> requestRebuild() {
+
+        return updater.submit(() -> {
+            try {
+                this.rebuild();
+            } catch (RuntimeException | InterruptedException | ExecutionException e) {
+                log.warn("Rebuild of recommendations failed", e);
+            }
+        });
+    }
+
+    /**
+     * Refreshes project once its change is committed
+     *
+     * @param event Published project event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectUpdated(ProjectUpdatedEvent event) {
+
+        this.scheduleRefresh(pendingProjects, event.projectId(), this::refreshProject);
+    }
+
+    /**
+     * Refreshes volunteer once change of interests is committed
+     *
+     * @param event Published volunteer event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVolunteerChanged(VolunteerChangedEvent event) {
+
+        this.scheduleRefresh(pendingVolunteers, event.volunteerId(), this::refreshVolunteer);
+    }
+
+    /**
+     * Refreshes project once accepted request takes its place
+     *
+     * @param event Published request event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestStatusChanged(RequestStatusEvent event) {
+
+        if (event.status() == RequestStatus.ACCEPTED) {
+            this.scheduleRefresh(pendingProjects, event.projectId(), this::refreshProject);
+        }
+    }
+
+    private void scheduleRefresh(Set<Long> pending, Long id, Consumer<Long> refresh) {
+
+        if (!pending.add(id)) {
+            return;
+        }
+
+        try {
+            updater.execute(() -> {
+                pending.remove(id);
+
+                try {
+                    refresh.accept(id);
+                } catch (RuntimeException e) {
+                    log.warn("Refresh of recommendations for {} failed, it is corrected by next rebuild", id, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * Loads categories, open projects and interests of volunteers and computes recommendations of every volunteer
+     */
+    private void rebuild() throws InterruptedException, ExecutionException {
+
+        long start = System.nanoTime();
+        RecommendationModel rebuiltModel = new RecommendationModel();
+        Map<String, Set<Long>> rebuiltCategoryIdsByTerm = new HashMap<>();
+
+        jdbcTemplate.query(CATEGORIES_QUERY, resultSet -> {
+            long categoryId = resultSet.getLong("id");
+            String term = InterestService.normaliseTerm(resultSet.getString("category_name"));
+
+            rebuiltModel.putCategory(categoryId, (Integer) resultSet.getObject("category_popularity"));
+
+            if (!term.isEmpty()) {
+                rebuiltCategoryIdsByTerm.computeIfAbsent(term, key -> new HashSet<>()).add(categoryId);
+            }
+        });
+
+        this.loadProjects(PROJECTS_QUERY, PARTICIPANTS_QUERY, PROJECT_CATEGORIES_QUERY).forEach(rebuiltModel::putProject);
+
+        Map<Long, Set<Long>> volunteerCategoryIds = new HashMap<>();
+
+        jdbcTemplate.query(VOLUNTEER_TERMS_QUERY, resultSet -> {
+            Set<Long> categoryIds = rebuiltCategoryIdsByTerm.get(resultSet.getString("term"));
+
+            if (categoryIds != null) {
+                volunteerCategoryIds.computeIfAbsent(resultSet.getLong("volunteer_id"), key -> new HashSet<>()).addAll(categoryIds);
+            }
+        });
+
+        volunteerCategoryIds.forEach(rebuiltModel::putVolunteer);
+
+        Map<Long, List<Recommendation>> rebuiltRecommendations = scoringPool.submit(() -> rebuiltModel.getVolunteerIds().parallelStream()
+                .collect(Collectors.toConcurrentMap(volunteerId -> volunteerId,
+                        volunteerId -> List.copyOf(rebuiltModel.recommend(volunteerId, topK))))).get();
+
+        model = rebuiltModel;
+        categoryIdsByTerm = rebuiltCategoryIdsByTerm;
+        recommendations = rebuiltRecommendations;
+
+        log.info("Rebuilt recommendations of {} volunteers in {} ms", rebuiltRecommendations.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Reloads project and recomputes volunteers of its old and new categories whose recommendations it enters or leaves
+     *
+     * @param projectId Id value of project
+     */
+    private void refreshProject(Long projectId) {
+
+        List<ProjectSnapshot> loadedProjects = this.loadProjects(
+                PROJECTS_QUERY + " AND p.id = ?", PARTICIPANTS_QUERY + " AND p.id = ?", PROJECT_CATEGORIES_QUERY + " AND p.id = ?", projectId);
+        ProjectSnapshot project = loadedProjects.isEmpty() ? null : loadedProjects.get(0);
+        ProjectSnapshot previous = project == null ? model.removeProject(projectId) : model.putProject(project);
+
+        Set<Long> categoryIds = new HashSet<>();
+
+        if (project != null) {
+            categoryIds.addAll(project.categoryIds());
+        }
+        if (previous != null) {
+            categoryIds.addAll(previous.categoryIds());
+        }
+
+        List<Long> affectedVolunteerIds = model.findInterestedVolunteers(categoryIds).stream()
+                .filter(volunteerId -> this.isAffected(volunteerId, projectId, project))
+                .collect(Collectors.toList());
+
+        this.recompute(affectedVolunteerIds);
+    }
+
+    /**
+     * Reloads interests of volunteer and recomputes volunteer recommendations
+     *
+     * @param volunteerId Id value of volunteer
+     */
+    private void refreshVolunteer(Long volunteerId) {
+
+        Set<Long> categoryIds = new HashSet<>();
+
+        jdbcTemplate.query(VOLUNTEER_TERMS_QUERY + " WHERE vi.volunteer_id = ?",
+                resultSet -> {
+                    categoryIds.addAll(categoryIdsByTerm.getOrDefault(resultSet.getString("term"), Set.of()));
+                }, volunteerId);
+
+        if (categoryIds.isEmpty()) {
+            model.removeVolunteer(volunteerId);
+            recommendations.remove(volunteerId);
+            return;
+        }
+
+        model.putVolunteer(volunteerId, categoryIds);
+        this.recompute(List.of(volunteerId));
+    }
+
+    /**
+     * Checks whether change of project can change recommendations of volunteer. That is when project was recommended
+     * to volunteer, or when its new score beats the worst of recommended projects
+     */
+    private boolean isAffected(Long volunteerId, Long projectId, ProjectSnapshot project) {
+
+        List<Recommendation> current = recommendations.getOrDefault(volunteerId, List.of());
+
+        if (current.stream().anyMatch(recommendation -> recommendation.project().id().equals(projectId))) {
+            return true;
+        }
+
+        double score = model.score(volunteerId, project);
+
+        return score > 0 && (current.size() < topK || score > current.get(current.size() - 1).score());
+    }
+
+    private void recompute(Collection<Long> volunteerIds) {
+
+        if (volunteerIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Recommendation>> current = recommendations;
+
+        scoringPool.submit(() -> volunteerIds.parallelStream()
+                .forEach(volunteerId -> current.put(volunteerId, List.copyOf(model.recommend(volunteerId, topK))))).join();
+    }
+
+    /**
+     * Loads open projects together with their participants and categories
+     */
+    private List<ProjectSnapshot> loadProjects(String projectsQuery, String participantsQuery, String categoriesQuery, Object... arguments) {
+
+        Map<Long, Set<Long>> participantIds = new HashMap<>();
+        Map<Long, Set<Long>> categoryIds = new HashMap<>();
+
+        jdbcTemplate.query(participantsQuery, resultSet -> {
+            participantIds.computeIfAbsent(resultSet.getLong("project_id"), key -> new HashSet<>()).add(resultSet.getLong("volunteer_id"));
+        }, arguments);
+
+        jdbcTemplate.query(categoriesQuery, resultSet -> {
+            categoryIds.computeIfAbsent(resultSet.getLong("project_id"), key -> new HashSet<>()).add(resultSet.getLong("category_id"));
+        }, arguments);
+
+        return jdbcTemplate.query(projectsQuery, (resultSet, rowNumber) -> {
+            long projectId = resultSet.getLong("id");
+            Date date = resultSet.getDate("project_date");
+
+            return new ProjectSnapshot(
+                    projectId,
+                    resultSet.getString("project_name"),
+                    resultSet.getString("project_location"),
+                    date == null ? null : date.toLocalDate(),
+                    resultSet.getInt("project_capacity"),
+                    participantIds.getOrDefault(projectId, Set.of()),
+                    categoryIds.getOrDefault(projectId, Set.of()));
+        }, arguments);
+    }
+}
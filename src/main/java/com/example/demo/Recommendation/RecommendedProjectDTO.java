@@ -0,0 +1,37 @@
+package com.example.demo.Recommendation;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for projects recommended to volunteer
+ *
+ * @author Thorvas
+ */
+@Data
+@Relation(collectionRelation = "recommendedProjects", itemRelation = "recommendedProject")
+public class RecommendedProjectDTO extends RepresentationModel<RecommendedProjectDTO> {
+
+    private Long id;
+
+    @JsonProperty(value = "name")
+    private String projectName;
+
+    @JsonProperty(value = "location")
+    private String projectLocation;
+
+    @JsonProperty(value = "date")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate projectDate;
+
+    @JsonProperty(value = "freePlaces")
+    private Integer freePlaces;
+
+    @JsonProperty(value = "score")
+    private Double score;
+}
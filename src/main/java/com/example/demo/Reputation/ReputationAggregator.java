@@ -0,0 +1,288 @@
+package com.example.demo.Reputation;
+
+import com.example.demo.Opinion.OpinionCreatedEvent;
+import com.example.demo.Opinion.OpinionDeletedEvent;
+import com.example.demo.Project.ProjectFinishedEvent;
+import com.example.demo.Request.RequestStatus;
+import com.example.demo.Request.RequestStatusEvent;
+import com.example.demo.Volunteer.ReputationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Service deriving reputation of volunteers from their activity. Committed domain events only add points to
+ * pending deltas in memory, and deltas are periodically flushed with one UPDATE per volunteer, no matter how many
+ * events the volunteer collected in between. Deltas that were not flushed yet are visible only after next flush
+ *
+ * @author Thorvas
+ */
+@Service
+public class ReputationAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(ReputationAggregator.class);
+
+    static final int PARTICIPATION_POINTS = 10;
+    static final int OWNERSHIP_POINTS = 5;
+    static final int ACCEPTED_REQUEST_POINTS = 2;
+    static final int OPINION_POINTS = 1;
+
+    private static final String PARTICIPANTS_QUERY = "SELECT volunteer_id FROM volunteer_project WHERE project_id = ?";
+    private static final String OWNER_QUERY = "SELECT volunteer_owner FROM project WHERE id = ?";
+    private static final String APPLY_DELTA_UPDATE = "UPDATE volunteer SET reputation = COALESCE(reputation, 0) + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Points collected by volunteers since last flush
+     */
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Flush holds write lock, so while read lock is held every collected point is either stored or pending, never in flight
+     */
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private TransactionTemplate flushTransaction;
+    private Counter collectedEvents;
+    private Counter flushedUpdates;
+
+    @PostConstruct
+    public void init() {
+
+        // Flush can be triggered from inside of another transaction by recompute, but it must commit on its own
+        flushTransaction = new TransactionTemplate(transactionManager);
+        flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        collectedEvents = meterRegistry.counter("reputation.events");
+        flushedUpdates = meterRegistry.counter("reputation.flush.updates");
+    }
+
+    /**
+     * Flushes deltas collected before shutdown
+     */
+    @PreDestroy
+    public void shutdown() {
+
+        this.flush();
+    }
+
+    /**
+     * Rewards sender of request once its acceptance is committed
+     *
+     * @param event Published request event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestStatusChanged(RequestStatusEvent event) {
+
+        if (event.status() == RequestStatus.ACCEPTED && event.previousStatus() != RequestStatus.ACCEPTED) {
+            this.addPoints(event.senderId(), ACCEPTED_REQUEST_POINTS);
+        }
+    }
+
+    /**
+     * Rewards participants and owner of project once it is finished
+     *
+     * @param event Published project event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProjectFinished(ProjectFinishedEvent event) {
+
+        jdbcTemplate.queryForList(PARTICIPANTS_QUERY, Long.class, event.projectId())
+                .forEach(volunteerId -> this.addPoints(volunteerId, PARTICIPATION_POINTS));
+
+        jdbcTemplate.queryForList(OWNER_QUERY, Long.class, event.projectId()).stream()
+                .filter(Objects::nonNull)
+                .forEach(ownerId -> this.addPoints(ownerId, OWNERSHIP_POINTS));
+    }
+
+    /**
+     * Rewards author of created opinion
+     *
+     * @param event Published opinion event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpinionCreated(OpinionCreatedEvent event) {
+
+        this.addPoints(event.authorId(), OPINION_POINTS);
+    }
+
+    /**
+     * Takes back points of author of deleted opinion
+     *
+     * @param event Published opinion event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOpinionDeleted(OpinionDeletedEvent event) {
+
+        this.addPoints(event.authorId(), -OPINION_POINTS);
+    }
+
+    /**
+     * Returns number of volunteers waiting for flush
+     *
+     * @return Number of volunteers with pending delta
+     */
+    public int getPendingCount() {
+
+        return pending.size();
+    }
+
+    /**
+     * Returns copy of points collected by volunteers since last flush
+     *
+     * @return Pending delta of every volunteer that has one
+     */
+    public Map<Long, Integer> getPendingDeltas() {
+
+        return new HashMap<>(pending);
+    }
+
+    /**
+     * Runs action while no flush is running. Many actions can run at once, flush waits until all of them finish
+     *
+     * @param action Action that reads stored reputation together with pending deltas
+     * @param <T>    Type of result of action
+     * @return Result of action
+     */
+    public <T> T withFlushPaused(Supplier<T> action) {
+
+        flushLock.readLock().lock();
+
+        try {
+            return action.get();
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes pending deltas to database in one batch and publishes new reputation of changed volunteers.
+     * Deltas of failed flush are returned to pending ones, so they are retried by next flush
+     *
+     * @return Number of updated volunteers
+     */
+    @Scheduled(initialDelayString = "${reputation.flush-interval-ms:1000}", fixedDelayString = "${reputation.flush-interval-ms:1000}")
+    public synchronized int flush() {
+
+        flushLock.writeLock().lock();
+
+        try {
+            return this.flushPending();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private int flushPending() {
+
+        Map<Long, Integer> deltas = this.drain();
+
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> reputations;
+
+        try {
+            reputations = flushTransaction.execute(status -> {
+                List<Object[]> batch = new ArrayList<>(deltas.size());
+                deltas.forEach((volunteerId, delta) -> batch.add(new Object[]{delta, volunteerId}));
+
+                jdbcTemplate.batchUpdate(APPLY_DELTA_UPDATE, batch);
+
+                return this.findReputations(deltas.keySet());
+            });
+        } catch (RuntimeException e) {
+            deltas.forEach(this::mergeDelta);
+            log.warn("Flush of reputation of {} volunteers failed, it will be retried", deltas.size(), e);
+
+            return 0;
+        }
+
+        flushedUpdates.increment(deltas.size());
+
+        // Volunteers deleted in the meantime are not found and their deltas are dropped
+        reputations.forEach((volunteerId, reputation) ->
+                eventPublisher.publishEvent(new ReputationChangedEvent(volunteerId, reputation)));
+
+        return reputations.size();
+    }
+
+    private void addPoints(Long volunteerId, int points) {
+
+        if (volunteerId == null || points == 0) {
+            return;
+        }
+
+        collectedEvents.increment();
+        this.mergeDelta(volunteerId, points);
+    }
+
+    private void mergeDelta(Long volunteerId, int points) {
+
+        pending.merge(volunteerId, points, (current, added) -> {
+            int sum = current + added;
+            return sum == 0 ? null : sum;
+        });
+    }
+
+    /**
+     * Removes pending deltas one by one, so points added concurrently are either drained or stay for next flush
+     */
+    private Map<Long, Integer> drain() {
+
+        Map<Long, Integer> deltas = new HashMap<>();
+
+        for (Long volunteerId : new ArrayList<>(pending.keySet())) {
+            Integer delta = pending.remove(volunteerId);
+
+            if (delta != null) {
+                deltas.put(volunteerId, delta);
+            }
+        }
+
+        return deltas;
+    }
+
+    private Map<Long, Integer> findReputations(Collection<Long> volunteerIds) {
+
+        Map<Long, Integer> reputations = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(volunteerIds.size(), "?"));
+
+        jdbcTemplate.query("SELECT id, reputation FROM volunteer WHERE id IN (" + placeholders + ")", resultSet -> {
+            reputations.put(resultSet.getLong("id"), resultSet.getInt("reputation"));
+        }, volunteerIds.toArray());
+
+        return reputations;
+    }
+}
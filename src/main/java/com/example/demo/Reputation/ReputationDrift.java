@@ -0,0 +1,22 @@
+package com.example.demo.Reputation;
+
+/**
+ * Result of recompute of reputation
+ *
+ * @param checked            Number of checked volunteers
+ * @param corrected          Number of volunteers whose stored reputation differed from recomputed one
+ * @param totalAbsoluteDrift Sum of absolute differences between stored and recomputed reputation
+ */
+public record ReputationDrift(
+        long checked,
+        long corrected,
+        long totalAbsoluteDrift
+) {
+
+    public static final ReputationDrift NONE = new ReputationDrift(0, 0, 0);
+
+    public ReputationDrift plus(ReputationDrift other) {
+
+        return new ReputationDrift(checked + other.checked, corrected + other.corrected, totalAbsoluteDrift + other.totalAbsoluteDrift);
+    }
+}
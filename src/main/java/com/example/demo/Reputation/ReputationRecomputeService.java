@@ -0,0 +1,244 @@
+package com.example.demo.Reputation;
+
+import com.example.demo.Volunteer.ReputationChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * Service recomputing reputation of every volunteer from scratch. Incrementally aggregated reputation drifts when
+ * data is changed outside of application or event is lost, so recompute compares stored reputation with value
+ * derived from participation, requests and opinions, and corrects the difference. Range of volunteer ids is split
+ * into chunks that are recomputed in parallel, every chunk in its own short transaction. Points that are pending
+ * in aggregator are already part of derived value, so they are subtracted from difference, and correction is written
+ * as delta that applies only when stored value did not change since it was read
+ *
+ * @author Thorvas
+ */
+@Service
+public class ReputationRecomputeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReputationRecomputeService.class);
+
+    private static final String FINISHED = "'STATUS_FINISHED'";
+    private static final String ACCEPTED = "'ACCEPTED'";
+
+    private static final String ID_RANGE_QUERY = "SELECT MIN(id), MAX(id) FROM volunteer";
+    private static final String RECOMPUTE_QUERY =
+            "SELECT v.id, v.reputation, " +
+            ReputationAggregator.PARTICIPATION_POINTS + " * (SELECT COUNT(*) FROM volunteer_project vp JOIN project p ON p.id = vp.project_id " +
+            "WHERE vp.volunteer_id = v.id AND p.project_status = " + FINISHED + ") + " +
+            ReputationAggregator.OWNERSHIP_POINTS + " * (SELECT COUNT(*) FROM project p " +
+            "WHERE p.volunteer_owner = v.id AND p.project_status = " + FINISHED + ") + " +
+            ReputationAggregator.ACCEPTED_REQUEST_POINTS + " * (SELECT COUNT(*) FROM volunteer_requests r " +
+            "WHERE r.sender_volunteer = v.id AND r.request_status = " + ACCEPTED + ") + " +
+            ReputationAggregator.ACCEPTED_REQUEST_POINTS + " * (SELECT COUNT(*) FROM volunteer_requests_archive a " +
+            "WHERE a.sender_volunteer = v.id AND a.request_status = " + ACCEPTED + ") + " +
+            ReputationAggregator.OPINION_POINTS + " * (SELECT COUNT(*) FROM opinion o WHERE o.volunteer_id = v.id) AS expected " +
+            "FROM volunteer v WHERE v.id BETWEEN ? AND ?";
+    private static final String CORRECTION_UPDATE =
+            "UPDATE volunteer SET reputation = COALESCE(reputation, 0) + ? WHERE id = ? AND COALESCE(reputation, 0) = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReputationAggregator reputationAggregator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reputation.recompute-chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${reputation.recompute-parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService workers;
+    private TransactionTemplate chunkTransaction;
+    private Counter correctedVolunteers;
+    private Counter totalDrift;
+    private Timer recomputeDuration;
+
+    @PostConstruct
+    public void init() {
+
+        workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reputation-recompute");
+            thread.setDaemon(true);
+            return thread;
+        });
+        chunkTransaction = new TransactionTemplate(transactionManager);
+
+        correctedVolunteers = meterRegistry.counter("reputation.recompute.corrected");
+        totalDrift = meterRegistry.counter("reputation.recompute.drift");
+        recomputeDuration = meterRegistry.timer("reputation.recompute.duration");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        workers.shutdownNow();
+    }
+
+    /**
+     * Periodically recomputes reputation and reports drift of incremental aggregation
+     */
+    @Scheduled(initialDelayString = "${reputation.recompute-interval-ms:86400000}", fixedDelayString = "${reputation.recompute-interval-ms:86400000}")
+    public void recomputePeriodically() {
+
+        ReputationDrift drift = recomputeDuration.record(this::recompute);
+
+        if (drift.corrected() > 0) {
+            log.warn("Reputation of {} of {} volunteers drifted by {} points in total and was corrected",
+                    drift.corrected(), drift.checked(), drift.totalAbsoluteDrift());
+        }
+    }
+
+    /**
+     * Recomputes reputation of every volunteer and corrects the stored one where it differs
+     *
+     * @return Drift found by recompute
+     */
+    public ReputationDrift recompute() {
+
+        long[] range = jdbcTemplate.queryForObject(ID_RANGE_QUERY, (resultSet, rowNum) ->
+                resultSet.getObject(1) == null ? null : new long[]{resultSet.getLong(1), resultSet.getLong(2)});
+
+        if (range == null) {
+            return ReputationDrift.NONE;
+        }
+
+        long minId = range[0];
+        long maxId = range[1];
+        List<Future<ReputationDrift>> chunks = new ArrayList<>();
+
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(maxId, fromId + chunkSize - 1);
+
+            chunks.add(workers.submit(() -> this.recomputeChunk(chunkFrom, chunkTo)));
+        }
+
+        ReputationDrift drift = ReputationDrift.NONE;
+
+        for (Future<ReputationDrift> chunk : chunks) {
+            drift = drift.plus(this.await(chunk));
+        }
+
+        correctedVolunteers.increment(drift.corrected());
+        totalDrift.increment(drift.totalAbsoluteDrift());
+
+        return drift;
+    }
+
+    /**
+     * Recomputes reputation of volunteers with id in given range. Flush of aggregator is paused meanwhile, so stored
+     * reputation and pending deltas read by chunk are consistent with each other
+     *
+     * @param fromId Lowest id of chunk
+     * @param toId   Highest id of chunk
+     * @return Drift found in chunk
+     */
+    private ReputationDrift recomputeChunk(long fromId, long toId) {
+
+        List<long[]> applied = new ArrayList<>();
+        long[] checked = {0};
+
+        reputationAggregator.withFlushPaused(() -> {
+            Map<Long, Integer> pendingBefore = reputationAggregator.getPendingDeltas();
+            List<long[]> observed = new ArrayList<>();
+
+            chunkTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.query(RECOMPUTE_QUERY, resultSet -> {
+                    long stored = resultSet.getLong("reputation");
+                    boolean missing = resultSet.wasNull();
+
+                    observed.add(new long[]{resultSet.getLong("id"), stored, resultSet.getLong("expected"), missing ? 1 : 0});
+                }, fromId, toId);
+
+                Map<Long, Integer> pendingAfter = reputationAggregator.getPendingDeltas();
+                List<long[]> corrections = new ArrayList<>();
+
+                for (long[] row : observed) {
+                    Integer pendingDelta = pendingAfter.get(row[0]);
+
+                    // Points collected while chunk was read may or may not be part of derived value, volunteer is left for next recompute
+                    if (!Objects.equals(pendingBefore.get(row[0]), pendingDelta)) {
+                        continue;
+                    }
+
+                    long correction = row[2] - row[1] - (pendingDelta == null ? 0 : pendingDelta);
+
+                    if (correction != 0 || row[3] == 1) {
+                        corrections.add(new long[]{row[0], row[1], correction});
+                    }
+                }
+
+                if (corrections.isEmpty()) {
+                    return;
+                }
+
+                int[] updated = jdbcTemplate.batchUpdate(CORRECTION_UPDATE, corrections.stream()
+                        .map(correction -> new Object[]{(int) correction[2], correction[0], (int) correction[1]})
+                        .toList());
+
+                // Volunteer whose reputation was changed after it was read is left for next recompute
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] != 0) {
+                        applied.add(corrections.get(i));
+                    }
+                }
+            });
+
+            checked[0] = observed.size();
+
+            return null;
+        });
+
+        long absoluteDrift = 0;
+
+        for (long[] correction : applied) {
+            absoluteDrift += Math.abs(correction[2]);
+            eventPublisher.publishEvent(new ReputationChangedEvent(correction[0], (int) (correction[1] + correction[2])));
+        }
+
+        return new ReputationDrift(checked[0], applied.size(), absoluteDrift);
+    }
+
+    private ReputationDrift await(Future<ReputationDrift> chunk) {
+
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recompute of reputation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Recompute of reputation failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.Request;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Class representing resolved request that was moved out of volunteer_requests table. It references volunteers
+ * and project only by id, so archived rows do not keep them from being deleted
+ *
+ * @author Thorvas
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "volunteer_requests_archive", indexes = {
+        @Index(name = "idx_archive_receiver_status", columnList = "receiver_volunteer, request_status"),
+        @Index(name = "idx_archive_sender_status", columnList = "sender_volunteer, request_status")
+})
+public class ArchivedRequest {
+
+    @Id
+    private Long id;
+
+    @Column(name = "sender_volunteer")
+    private Long senderId;
+
+    @Column(name = "receiver_volunteer")
+    private Long receiverId;
+
+    @Column(name = "requested_project")
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "request_status")
+    private RequestStatus status;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+}
@@ -0,0 +1,31 @@
+package com.example.demo.Request;
+
+import lombok.Data;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for archived requests
+ *
+ * @author Thorvas
+ */
+@Data
+@Relation(collectionRelation = "archivedRequests", itemRelation = "archivedRequest")
+public class ArchivedRequestDTO extends RepresentationModel<ArchivedRequestDTO> {
+
+    private Long id;
+
+    private RequestStatus status;
+
+    private Long senderId;
+
+    private Long receiverId;
+
+    private Long projectId;
+
+    private Instant createdAt;
+
+    private Instant resolvedAt;
+}
@@ -0,0 +1,35 @@
+package com.example.demo.Request;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Repository responsible for connection with archived requests in database
+ *
+ * @author Thorvas
+ */
+@Repository
+public interface ArchivedRequestRepository extends JpaRepository<ArchivedRequest, Long> {
+
+    Page<ArchivedRequest> findByReceiverId(Long receiverId, Pageable pageable);
+
+    Page<ArchivedRequest> findByReceiverIdAndStatus(Long receiverId, RequestStatus status, Pageable pageable);
+
+    Page<ArchivedRequest> findBySenderId(Long senderId, Pageable pageable);
+
+    Page<ArchivedRequest> findBySenderIdAndStatus(Long senderId, RequestStatus status, Pageable pageable);
+
+    @Modifying
+    @Query(value = "INSERT INTO volunteer_requests_archive " +
+            "(id, sender_volunteer, receiver_volunteer, requested_project, request_status, created_at, resolved_at, archived_at) " +
+            "SELECT id, sender_volunteer, receiver_volunteer, requested_project, request_status, created_at, resolved_at, :archivedAt " +
+            "FROM volunteer_requests WHERE id IN :ids", nativeQuery = true)
+    int copyFromRequests(Collection<Long> ids, Instant archivedAt);
+}
@@ -0,0 +1,21 @@
+package com.example.demo.Request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Body of bulk accept and decline requests
+ *
+ * @author Thorvas
+ */
+@Data
+public class BulkDecisionRequest {
+
+    @NotEmpty(message = "List of request ids cannot be empty.")
+    @Size(max = 200, message = "At most 200 requests can be decided at once.")
+    private List<@NotNull Long> requestIds;
+}
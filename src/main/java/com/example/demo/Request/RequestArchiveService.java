@@ -0,0 +1,256 @@
+package com.example.demo.Request;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping volunteer_requests table small. Pending requests that were not decided for too long expire,
+ * and resolved requests are moved to archive table once they are old enough. Both jobs walk table in order of id
+ * in batches, every batch in its own short transaction, so they never hold locks on large part of table
+ *
+ * @author Thorvas
+ */
+@Service
+public class RequestArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestArchiveService.class);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ArchivedRequestRepository archivedRequestRepository;
+
+    @Autowired
+    private RequestServiceFacade requestServiceFacade;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${request-archive.pending-ttl:30d}")
+    private Duration pendingTtl;
+
+    @Value("${request-archive.resolved-retention:90d}")
+    private Duration resolvedRetention;
+
+    @Value("${request-archive.batch-size:500}")
+    private int batchSize;
+
+    private TransactionTemplate batchTransaction;
+    private Counter expiredRequests;
+    private Counter archivedRequests;
+    private Timer expiryDuration;
+    private Timer archivalDuration;
+
+    @PostConstruct
+    public void init() {
+
+        batchTransaction = new TransactionTemplate(transactionManager);
+
+        expiredRequests = meterRegistry.counter("request.archive.expired");
+        archivedRequests = meterRegistry.counter("request.archive.moved");
+        expiryDuration = meterRegistry.timer("request.archive.duration", "job", "expire");
+        archivalDuration = meterRegistry.timer("request.archive.duration", "job", "archive");
+    }
+
+    /**
+     * Runs expiry of pending requests and archival of resolved requests
+     */
+    @Scheduled(initialDelayString = "${request-archive.initial-delay-ms:60000}", fixedDelayString = "${request-archive.interval-ms:3600000}")
+    public void runArchival() {
+
+        long expired = expiryDuration.record(() -> this.expirePendingRequests(Instant.now().minus(pendingTtl)));
+        long archived = archivalDuration.record(() -> this.archiveResolvedRequests(Instant.now().minus(resolvedRetention)));
+
+        if (expired > 0 || archived > 0) {
+            log.info("Expired {} pending requests and archived {} resolved requests", expired, archived);
+        }
+    }
+
+    /**
+     * Sets expired status to pending requests created before given time. Requests of every batch are locked before
+     * they expire, so request decided since it was read is skipped and no expiry is published for it
+     *
+     * @param createdBefore Requests created before this time expire
+     * @return Number of expired requests
+     */
+    public long expirePendingRequests(Instant createdBefore) {
+
+        long expired = 0;
+        long lastId = 0;
+        Pageable batch = PageRequest.of(0, batchSize);
+
+        while (true) {
+            final long fromId = lastId;
+
+            ExpiryBatch expiryBatch = batchTransaction.execute(status -> {
+                List<VolunteerRequest> requests = requestRepository.findStalePending(createdBefore, fromId, batch);
+
+                if (requests.isEmpty()) {
+                    return new ExpiryBatch(0, fromId, 0);
+                }
+
+                Set<Long> pendingIds = new HashSet<>(requestRepository.lockPendingIds(requests.stream()
+                        .map(VolunteerRequest::getId)
+                        .collect(Collectors.toList())));
+
+                if (!pendingIds.isEmpty()) {
+                    requestRepository.updatePendingStatus(pendingIds, RequestStatus.EXPIRED, Instant.now());
+                }
+
+                requests.stream()
+                        .filter(request -> pendingIds.contains(request.getId()))
+                        .forEach(request -> eventPublisher.publishEvent(new RequestStatusEvent(
+                                request.getId(),
+                                request.getRequestedProject().getId(),
+                                request.getRequestSender().getId(),
+                                request.getRequestReceiver().getId(),
+                                RequestStatus.EXPIRED,
+                                RequestStatus.PENDING,
+                                request.getCreatedAt())));
+
+                return new ExpiryBatch(requests.size(), requests.get(requests.size() - 1).getId(), pendingIds.size());
+            });
+
+            if (expiryBatch == null || expiryBatch.read() == 0) {
+                return expired;
+            }
+
+            expired += expiryBatch.expired();
+            expiredRequests.increment(expiryBatch.expired());
+            lastId = expiryBatch.lastId();
+
+            if (expiryBatch.read() < batchSize) {
+                return expired;
+            }
+        }
+    }
+
+    /**
+     * Result of single batch of expiry
+     *
+     * @param read    Number of stale requests read in batch
+     * @param lastId  Id value of last read request
+     * @param expired Number of requests that expired
+     */
+    private record ExpiryBatch(int read, long lastId, int expired) {
+    }
+
+    /**
+     * Moves requests resolved before given time to archive table. Requests resolved before resolution time was recorded
+     * are archived as well
+     *
+     * @param resolvedBefore Requests resolved before this time are archived
+     * @return Number of archived requests
+     */
+    public long archiveResolvedRequests(Instant resolvedBefore) {
+
+        long archived = 0;
+        long lastId = 0;
+        Pageable batch = PageRequest.of(0, batchSize);
+
+        while (true) {
+            final long fromId = lastId;
+
+            List<Long> archivedIds = batchTransaction.execute(status -> {
+                List<Long> ids = requestRepository.findArchivableIds(resolvedBefore, fromId, batch);
+
+                if (!ids.isEmpty()) {
+                    archivedRequestRepository.copyFromRequests(ids, Instant.now());
+                    requestRepository.deleteByIds(ids);
+                }
+
+                return ids;
+            });
+
+            if (archivedIds == null || archivedIds.isEmpty()) {
+                return archived;
+            }
+
+            archived += archivedIds.size();
+            archivedRequests.increment(archivedIds.size());
+            lastId = archivedIds.get(archivedIds.size() - 1);
+
+            if (archivedIds.size() < batchSize) {
+                return archived;
+            }
+        }
+    }
+
+    /**
+     * Searches for archived requests received by logged volunteer
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return Page of archived received requests, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<ArchivedRequestDTO> searchArchivedInbox(RequestStatus status, int page, int size) {
+
+        Long volunteerId = requestServiceFacade.getLoggedVolunteerId();
+        Pageable pageable = this.createPageable(page, size);
+
+        Page<ArchivedRequest> foundRequests = status == null
+                ? archivedRequestRepository.findByReceiverId(volunteerId, pageable)
+                : archivedRequestRepository.findByReceiverIdAndStatus(volunteerId, status, pageable);
+
+        return foundRequests.map(request -> requestServiceFacade.mapArchivedRequestToDTO(request));
+    }
+
+    /**
+     * Searches for archived requests sent by logged volunteer
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return Page of archived sent requests, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<ArchivedRequestDTO> searchArchivedOutbox(RequestStatus status, int page, int size) {
+
+        Long volunteerId = requestServiceFacade.getLoggedVolunteerId();
+        Pageable pageable = this.createPageable(page, size);
+
+        Page<ArchivedRequest> foundRequests = status == null
+                ? archivedRequestRepository.findBySenderId(volunteerId, pageable)
+                : archivedRequestRepository.findBySenderIdAndStatus(volunteerId, status, pageable);
+
+        return foundRequests.map(request -> requestServiceFacade.mapArchivedRequestToDTO(request));
+    }
+
+    private Pageable createPageable(int page, int size) {
+
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), Sort.by(Sort.Direction.DESC, "id"));
+    }
+}
@@ -20,6 +20,11 @@ public class RequestAuthenticationManager {
         return this.volunteerService.getLoggedVolunteer();
     }
 
+    public Long getLoggedVolunteerId() {
+
+        return this.volunteerService.getLoggedVolunteerId();
+    }
+
     public boolean checkIfAdmin(Volunteer volunteer) {
 
         return this.authenticationService.checkIfAdmin(volunteer);
@@ -6,13 +6,17 @@ import com.example.demo.Volunteer.VolunteerDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -32,6 +36,15 @@ public class RequestController {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private RequestStreamService requestStreamService;
+
+    @Autowired
+    private RequestArchiveService requestArchiveService;
+
+    @Autowired
+    private RequestStatisticsService requestStatisticsService;
+
     private final String RESOURCE_PATH_LINK = "resource-path";
 
     private Link rootLink() {
@@ -82,6 +95,196 @@ public class RequestController {
         return new ResponseEntity<>(resource, HttpStatus.OK);
     }
 
+    /**
+     * GET endpoint streaming events about requests sent or received by logged volunteer as Server-Sent Events
+     *
+     * @return Stream of request events
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Streams events about requests of logged volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter streamRequests() {
+
+        return requestStreamService.subscribe(requestService.getLoggedVolunteerId());
+    }
+
+    /**
+     * GET endpoint for requests received by logged volunteer
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return JSON response containing page of received requests
+     */
+    @GetMapping(value = "/inbox", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves requests received by logged volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<PagedModel<RequestDTO>> getInbox(@RequestParam(value = "status", required = false) RequestStatus status,
+                                                           @RequestParam(value = "page", defaultValue = "0") int page,
+                                                           @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        Page<RequestDTO> requestPage = requestService.searchInbox(status, page, size);
+
+        Link selfLink = linkTo(methodOn(RequestController.class)
+                .getInbox(status, page, size)).withRel(RESOURCE_PATH_LINK);
+
+        PagedModel<RequestDTO> resource = this.toPagedModel(requestPage);
+        resource.add(rootLink(), selfLink);
+
+        if (requestPage.hasNext()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getInbox(status, page + 1, requestPage.getSize())).withRel("next"));
+        }
+        if (requestPage.hasPrevious()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getInbox(status, page - 1, requestPage.getSize())).withRel("prev"));
+        }
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for requests sent by logged volunteer
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return JSON response containing page of sent requests
+     */
+    @GetMapping(value = "/outbox", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves requests sent by logged volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<PagedModel<RequestDTO>> getOutbox(@RequestParam(value = "status", required = false) RequestStatus status,
+                                                            @RequestParam(value = "page", defaultValue = "0") int page,
+                                                            @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        Page<RequestDTO> requestPage = requestService.searchOutbox(status, page, size);
+
+        Link selfLink = linkTo(methodOn(RequestController.class)
+                .getOutbox(status, page, size)).withRel(RESOURCE_PATH_LINK);
+
+        PagedModel<RequestDTO> resource = this.toPagedModel(requestPage);
+        resource.add(rootLink(), selfLink);
+
+        if (requestPage.hasNext()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getOutbox(status, page + 1, requestPage.getSize())).withRel("next"));
+        }
+        if (requestPage.hasPrevious()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getOutbox(status, page - 1, requestPage.getSize())).withRel("prev"));
+        }
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for archived requests received by logged volunteer
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return JSON response containing page of archived received requests
+     */
+    @GetMapping(value = "/archive/inbox", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves archived requests received by logged volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<PagedModel<ArchivedRequestDTO>> getArchivedInbox(@RequestParam(value = "status", required = false) RequestStatus status,
+                                                                           @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                           @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        Page<ArchivedRequestDTO> requestPage = requestArchiveService.searchArchivedInbox(status, page, size);
+
+        Link selfLink = linkTo(methodOn(RequestController.class)
+                .getArchivedInbox(status, page, size)).withRel(RESOURCE_PATH_LINK);
+
+        PagedModel<ArchivedRequestDTO> resource = this.toPagedModel(requestPage);
+        resource.add(rootLink(), selfLink);
+
+        if (requestPage.hasNext()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getArchivedInbox(status, page + 1, requestPage.getSize())).withRel("next"));
+        }
+        if (requestPage.hasPrevious()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getArchivedInbox(status, page - 1, requestPage.getSize())).withRel("prev"));
+        }
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for archived requests sent by logged volunteer
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return JSON response containing page of archived sent requests
+     */
+    @GetMapping(value = "/archive/outbox", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves archived requests sent by logged volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<PagedModel<ArchivedRequestDTO>> getArchivedOutbox(@RequestParam(value = "status", required = false) RequestStatus status,
+                                                                            @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                            @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        Page<ArchivedRequestDTO> requestPage = requestArchiveService.searchArchivedOutbox(status, page, size);
+
+        Link selfLink = linkTo(methodOn(RequestController.class)
+                .getArchivedOutbox(status, page, size)).withRel(RESOURCE_PATH_LINK);
+
+        PagedModel<ArchivedRequestDTO> resource = this.toPagedModel(requestPage);
+        resource.add(rootLink(), selfLink);
+
+        if (requestPage.hasNext()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getArchivedOutbox(status, page + 1, requestPage.getSize())).withRel("next"));
+        }
+        if (requestPage.hasPrevious()) {
+            resource.add(linkTo(methodOn(RequestController.class)
+                    .getArchivedOutbox(status, page - 1, requestPage.getSize())).withRel("prev"));
+        }
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for request statistics. It serves counts of requests and median time to decision for administrators
+     *
+     * @param projectId Optional id value of project whose requests are counted
+     * @param ownerId   Optional id value of owner whose received requests are counted
+     * @return JSON response containing statistics of project, owner or all requests
+     */
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves request statistics", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<RequestStatsDTO> getStatistics(@RequestParam(value = "projectId", required = false) Long projectId,
+                                                         @RequestParam(value = "ownerId", required = false) Long ownerId) {
+
+        RequestStatsDTO statsDTO = requestStatisticsService.getStatistics(projectId, ownerId);
+
+        Link selfLink = linkTo(methodOn(RequestController.class)
+                .getStatistics(projectId, ownerId)).withRel(RESOURCE_PATH_LINK);
+
+        statsDTO.add(rootLink(), selfLink);
+
+        return new ResponseEntity<>(statsDTO, HttpStatus.OK);
+    }
+
+    /**
+     * POST endpoint for reconciliation of request statistics. It recounts all requests and replaces maintained counters
+     *
+     * @return JSON response containing counters that differed from recount
+     */
+    @PostMapping(value = "/stats/reconcile", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Reconciles request statistics with full recount", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<RequestStatsMismatch>> reconcileStatistics() {
+
+        return new ResponseEntity<>(requestStatisticsService.reconcileStatistics(), HttpStatus.OK);
+    }
+
+    private <T> PagedModel<T> toPagedModel(Page<T> requestPage) {
+
+        PagedModel.PageMetadata metadata = new PagedModel.PageMetadata(
+                requestPage.getSize(), requestPage.getNumber(), requestPage.getTotalElements(), requestPage.getTotalPages());
+
+        return PagedModel.of(requestPage.getContent(), metadata);
+    }
+
     /**
      * GET endpoint for requests. It retrieves specific request based on id parameter
      *
@@ -192,6 +395,36 @@ public class RequestController {
         return new ResponseEntity<>(requestDTO, HttpStatus.OK);
     }
 
+    /**
+     * PUT endpoint for accepting many requests at once. Requests are accepted in order of creation until their project is full
+     *
+     * @param decisionRequest Body containing id values of accepted requests
+     * @return JSON response containing result of decision for every request
+     */
+    @PutMapping(value = "/bulk/accept", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Accepts many requests", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<RequestDecisionResult>> acceptRequests(@Valid @RequestBody BulkDecisionRequest decisionRequest) {
+
+        List<RequestDecisionResult> results = requestService.acceptRequests(decisionRequest.getRequestIds());
+
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
+    /**
+     * PUT endpoint for declining many requests at once
+     *
+     * @param decisionRequest Body containing id values of declined requests
+     * @return JSON response containing result of decision for every request
+     */
+    @PutMapping(value = "/bulk/decline", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Declines many requests", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<RequestDecisionResult>> declineRequests(@Valid @RequestBody BulkDecisionRequest decisionRequest) {
+
+        List<RequestDecisionResult> results = requestService.declineRequests(decisionRequest.getRequestIds());
+
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     /**
      * PUT endpoint for declining the request. It is accessible by receiver of request or administrator
      *
@@ -0,0 +1,107 @@
+package com.example.demo.Request;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Counts of requests in every status together with histogram of time between creation and decision of request.
+ * Histogram buckets grow geometrically, so median is found by walking fixed number of buckets and is accurate
+ * to about 12% regardless of number of recorded decisions. Class is not thread safe, callers have to synchronize access
+ *
+ * @author Thorvas
+ */
+public class RequestCounters {
+
+    private static final double BUCKET_GROWTH = 1.25;
+    private static final double LOG_BUCKET_GROWTH = Math.log(BUCKET_GROWTH);
+
+    /**
+     * Buckets cover decisions taken from 1 second up to more than 100 years
+     */
+    private static final int BUCKETS = 120;
+
+    private final long[] statusCounts = new long[RequestStatus.values().length];
+    private final long[] decisionBuckets = new long[BUCKETS];
+    private long decisions;
+
+    /**
+     * Changes count of requests in status
+     *
+     * @param status Status of requests
+     * @param delta  Change of count
+     */
+    public void add(RequestStatus status, long delta) {
+
+        statusCounts[status.ordinal()] += delta;
+    }
+
+    /**
+     * Records time that request waited for decision
+     *
+     * @param decisionTime Time between creation and decision of request
+     */
+    public void recordDecision(Duration decisionTime) {
+
+        decisionBuckets[bucketOf(decisionTime)]++;
+        decisions++;
+    }
+
+    public long getCount(RequestStatus status) {
+
+        return statusCounts[status.ordinal()];
+    }
+
+    public long getDecisions() {
+
+        return decisions;
+    }
+
+    /**
+     * Returns median time to decision
+     *
+     * @return Approximate median, or null when no request was decided yet
+     */
+    public Duration getMedianDecisionTime() {
+
+        if (decisions == 0) {
+            return null;
+        }
+
+        long seen = 0;
+        long middle = (decisions + 1) / 2;
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += decisionBuckets[bucket];
+
+            if (seen >= middle) {
+                return bucketMidpoint(bucket);
+            }
+        }
+
+        return bucketMidpoint(BUCKETS - 1);
+    }
+
+    /**
+     * Checks whether status counts of both counters are equal
+     *
+     * @param other Compared counters
+     * @return Boolean result of check
+     */
+    public boolean hasSameCounts(RequestCounters other) {
+
+        return Arrays.equals(statusCounts, other.statusCounts);
+    }
+
+    private static int bucketOf(Duration decisionTime) {
+
+        long seconds = Math.max(1, decisionTime.getSeconds());
+
+        return (int) Math.min(BUCKETS - 1, Math.floor(Math.log(seconds) / LOG_BUCKET_GROWTH));
+    }
+
+    private static Duration bucketMidpoint(int bucket) {
+
+        // Geometric midpoint of bucket [growth^bucket, growth^(bucket + 1))
+        return Duration.ofSeconds(Math.round(Math.pow(BUCKET_GROWTH, bucket + 0.5)));
+    }
+}
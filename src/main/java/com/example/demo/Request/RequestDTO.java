@@ -1,6 +1,7 @@
 package com.example.demo.Request;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import lombok.Data;
@@ -24,4 +25,8 @@ public class RequestDTO extends RepresentationModel<RequestDTO> {
 
     @JsonProperty(value = "status")
     private RequestStatus status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(value = "waitlistPosition")
+    private Integer waitlistPosition;
 }
@@ -0,0 +1,24 @@
+package com.example.demo.Request;
+
+import java.time.Instant;
+
+/**
+ * Projection of request used when deciding many requests at once. It contains only columns needed to decide,
+ * so no request, project or volunteer entity has to be loaded
+ *
+ * @author Thorvas
+ */
+public interface RequestDecisionCandidate {
+
+    Long getId();
+
+    RequestStatus getStatus();
+
+    Long getProjectId();
+
+    Long getSenderId();
+
+    Instant getWaitlistedAt();
+
+    Instant getCreatedAt();
+}
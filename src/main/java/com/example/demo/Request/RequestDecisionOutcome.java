@@ -0,0 +1,15 @@
+package com.example.demo.Request;
+
+/**
+ * Enum representing result of deciding single request within bulk operation
+ *
+ * @author Thorvas
+ */
+public enum RequestDecisionOutcome {
+    ACCEPTED,
+    DECLINED,
+    NOT_FOUND,
+    NOT_PENDING,
+    WAITLISTED,
+    ALREADY_PARTICIPANT
+}
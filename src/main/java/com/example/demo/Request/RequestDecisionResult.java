@@ -0,0 +1,13 @@
+package com.example.demo.Request;
+
+/**
+ * Record representing result of deciding single request within bulk operation
+ *
+ * @param requestId Id value of decided request
+ * @param outcome   Result of decision
+ */
+public record RequestDecisionResult(
+        Long requestId,
+        RequestDecisionOutcome outcome
+) {
+}
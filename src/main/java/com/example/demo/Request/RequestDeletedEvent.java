@@ -0,0 +1,17 @@
+package com.example.demo.Request;
+
+/**
+ * Event published when request is deleted
+ *
+ * @param requestId  Id value of deleted request
+ * @param projectId  Id value of requested project
+ * @param receiverId Id value of volunteer that received request
+ * @param status     Status of request at time of deletion
+ */
+public record RequestDeletedEvent(
+        Long requestId,
+        Long projectId,
+        Long receiverId,
+        RequestStatus status
+) {
+}
@@ -20,6 +20,9 @@ public class RequestMapper {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private WaitlistService waitlistService;
+
     /**
      * Method that maps given request into its DTO with HATEOAS links
      *
@@ -29,6 +32,7 @@ public class RequestMapper {
     public RequestDTO mapRequestToDTO(VolunteerRequest request) {
 
         RequestDTO requestDTO = modelMapper.map(request, RequestDTO.class);
+        requestDTO.setWaitlistPosition(waitlistService.getPosition(request.getId()));
 
         Link volunteerReceiverLink = linkTo(methodOn(RequestController.class)
                 .getRequestReceiver(request.getRequestReceiver().getId()))
@@ -50,4 +54,15 @@ public class RequestMapper {
 
         return requestDTO;
     }
+
+    /**
+     * Method that maps given archived request into its DTO
+     *
+     * @param archivedRequest Archived request that is to be mapped into DTO
+     * @return Mapped archivedRequestDTO object
+     */
+    public ArchivedRequestDTO mapArchivedRequestToDTO(ArchivedRequest archivedRequest) {
+
+        return modelMapper.map(archivedRequest, ArchivedRequestDTO.class);
+    }
 }
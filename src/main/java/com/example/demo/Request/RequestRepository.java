@@ -1,8 +1,17 @@
 package com.example.demo.Request;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository responsible for connection with requests in database
  *
@@ -10,4 +19,59 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface RequestRepository extends JpaRepository<VolunteerRequest, Long> {
+
+    Page<VolunteerRequest> findByRequestReceiverId(Long receiverId, Pageable pageable);
+
+    Page<VolunteerRequest> findByRequestReceiverIdAndStatus(Long receiverId, RequestStatus status, Pageable pageable);
+
+    Page<VolunteerRequest> findByRequestSenderId(Long senderId, Pageable pageable);
+
+    Page<VolunteerRequest> findByRequestSenderIdAndStatus(Long senderId, RequestStatus status, Pageable pageable);
+
+    @Query("SELECT r.id AS id, r.status AS status, r.requestedProject.id AS projectId, r.requestSender.id AS senderId, r.waitlistedAt AS waitlistedAt, r.createdAt AS createdAt " +
+            "FROM VolunteerRequest r WHERE r.id IN :ids AND r.requestedProject.ownerVolunteer.id = :ownerId")
+    List<RequestDecisionCandidate> findDecisionCandidates(Collection<Long> ids, Long ownerId);
+
+    Optional<VolunteerRequest> findByRequestSenderIdAndPendingProjectId(Long senderId, Long pendingProjectId);
+
+    /**
+     * Locks requests of given ids that are still pending until end of current transaction. Status of locked requests
+     * cannot be changed concurrently, so decision applied to them afterwards changes every one of them
+     */
+    @Query(value = "SELECT id FROM volunteer_requests WHERE id IN :ids AND request_status = 'PENDING' ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockPendingIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE VolunteerRequest r SET r.status = :status, r.pendingProjectId = NULL, r.resolvedAt = :resolvedAt " +
+            "WHERE r.id IN :ids AND r.status = com.example.demo.Request.RequestStatus.PENDING")
+    int updatePendingStatus(Collection<Long> ids, RequestStatus status, Instant resolvedAt);
+
+    @Modifying
+    @Query("UPDATE VolunteerRequest r SET r.waitlistedAt = :waitlistedAt WHERE r.id IN :ids AND r.status = com.example.demo.Request.RequestStatus.PENDING AND r.waitlistedAt IS NULL")
+    int markWaitlisted(Collection<Long> ids, Instant waitlistedAt);
+
+    @Query("SELECT new com.example.demo.Request.WaitlistEntry(r.id, r.requestedProject.id, r.waitlistedAt) FROM VolunteerRequest r " +
+            "WHERE r.status = com.example.demo.Request.RequestStatus.PENDING AND r.waitlistedAt IS NOT NULL")
+    List<WaitlistEntry> findWaitlistEntries();
+
+    @Query("SELECT r FROM VolunteerRequest r WHERE r.requestedProject.id = :projectId AND r.status = com.example.demo.Request.RequestStatus.PENDING " +
+            "AND r.waitlistedAt IS NOT NULL AND NOT EXISTS (SELECT v.id FROM Project p JOIN p.projectVolunteers v WHERE p.id = :projectId AND v.id = r.requestSender.id) " +
+            "ORDER BY r.waitlistedAt, r.id")
+    List<VolunteerRequest> findWaitlistHead(Long projectId, Pageable pageable);
+
+    @Query("SELECT r FROM VolunteerRequest r WHERE r.requestedProject.id = :projectId AND r.status = com.example.demo.Request.RequestStatus.PENDING " +
+            "AND r.waitlistedAt IS NOT NULL AND EXISTS (SELECT v.id FROM Project p JOIN p.projectVolunteers v WHERE p.id = :projectId AND v.id = r.requestSender.id)")
+    List<VolunteerRequest> findWaitlistedParticipants(Long projectId);
+
+    @Query("SELECT r FROM VolunteerRequest r WHERE r.status = com.example.demo.Request.RequestStatus.PENDING " +
+            "AND r.createdAt < :createdBefore AND r.id > :lastId ORDER BY r.id")
+    List<VolunteerRequest> findStalePending(Instant createdBefore, Long lastId, Pageable pageable);
+
+    @Query("SELECT r.id FROM VolunteerRequest r WHERE r.status <> com.example.demo.Request.RequestStatus.PENDING " +
+            "AND (r.resolvedAt < :resolvedBefore OR r.resolvedAt IS NULL) AND r.id > :lastId ORDER BY r.id")
+    List<Long> findArchivableIds(Instant resolvedBefore, Long lastId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM VolunteerRequest r WHERE r.id IN :ids")
+    int deleteByIds(Collection<Long> ids);
 }
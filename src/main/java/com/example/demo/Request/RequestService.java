@@ -6,12 +6,24 @@ import com.example.demo.Error.RequestNotFoundException;
 import com.example.demo.Error.WrongStatusException;
 import com.example.demo.Project.Project;
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Utility.EntityLoader;
 import com.example.demo.Volunteer.Volunteer;
 import com.example.demo.Volunteer.VolunteerDTO;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -22,18 +34,38 @@ import java.util.stream.Collectors;
 @Service
 public class RequestService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private EntityLoader entityLoader;
+
     @Autowired
     private RequestRepository requestRepository;
 
     @Autowired
     RequestServiceFacade requestServiceFacade;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    public void init() {
+
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+    }
 
     /**
      * Searches for requests
      *
      * @return List of found requests
      */
+    @Transactional(readOnly = true)
     public List<RequestDTO> searchAllRequests() {
 
         List<VolunteerRequest> foundRequests = requestRepository.findAll();
@@ -47,6 +79,72 @@ public class RequestService {
         throw new CollectionEmptyException("There are no requests yet");
     }
 
+    /**
+     * Returns id of logged volunteer
+     *
+     * @return Id value of volunteer that is currently logged in
+     */
+    public Long getLoggedVolunteerId() {
+
+        return requestServiceFacade.getLoggedVolunteerId();
+    }
+
+    /**
+     * Searches for requests received by logged volunteer. Lookup uses index on receiver and status,
+     * so its cost does not depend on total number of requests
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return Page of received requests, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<RequestDTO> searchInbox(RequestStatus status, int page, int size) {
+
+        Long volunteerId = requestServiceFacade.getLoggedVolunteerId();
+        Pageable pageable = this.createPageable(page, size);
+
+        Page<VolunteerRequest> foundRequests = status == null
+                ? requestRepository.findByRequestReceiverId(volunteerId, pageable)
+                : requestRepository.findByRequestReceiverIdAndStatus(volunteerId, status, pageable);
+
+        return foundRequests.map(request -> requestServiceFacade.mapRequestToDTO(request));
+    }
+
+    /**
+     * Searches for requests sent by logged volunteer. Lookup uses index on sender and status,
+     * so its cost does not depend on total number of requests
+     *
+     * @param status Optional status that requests are filtered by
+     * @param page   Number of returned page
+     * @param size   Size of returned page, limited to 100
+     * @return Page of sent requests, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<RequestDTO> searchOutbox(RequestStatus status, int page, int size) {
+
+        Long volunteerId = requestServiceFacade.getLoggedVolunteerId();
+        Pageable pageable = this.createPageable(page, size);
+
+        Page<VolunteerRequest> foundRequests = status == null
+                ? requestRepository.findByRequestSenderId(volunteerId, pageable)
+                : requestRepository.findByRequestSenderIdAndStatus(volunteerId, status, pageable);
+
+        return foundRequests.map(request -> requestServiceFacade.mapRequestToDTO(request));
+    }
+
+    /**
+     * Creates page request ordered from newest request
+     *
+     * @param page Number of page
+     * @param size Requested size of page
+     * @return Page request with size limited to maximum page size
+     */
+    private Pageable createPageable(int page, int size) {
+
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), Sort.by(Sort.Direction.DESC, "id"));
+    }
+
     /**
      * Searches for specific request based on id parameter
      *
@@ -55,11 +153,8 @@ public class RequestService {
      */
     public VolunteerRequest findRequest(Long id) {
 
-        if (requestRepository.findById(id).isPresent()) {
-            return requestRepository.findById(id).get();
-        }
-
-        throw new RequestNotFoundException("Request could not be found");
+        return entityLoader.find(VolunteerRequest.class, id)
+                .orElseThrow(() -> new RequestNotFoundException("Request could not be found"));
     }
 
     /**
@@ -68,6 +163,7 @@ public class RequestService {
      * @param requestId Id value of request
      * @return Volunteer that is sender of request
      */
+    @Transactional(readOnly = true)
     public VolunteerDTO getRequestSender(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
@@ -86,6 +182,7 @@ public class RequestService {
      * @param requestId Id value of request
      * @return Volunteer that is receiver of request
      */
+    @Transactional(readOnly = true)
     public VolunteerDTO getRequestReceiver(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
@@ -104,6 +201,7 @@ public class RequestService {
      * @param requestId Id value of request
      * @return Deleted request
      */
+    @Transactional
     public RequestDTO deleteRequest(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
@@ -112,6 +210,9 @@ public class RequestService {
 
             requestRepository.delete(request);
 
+            eventPublisher.publishEvent(new RequestDeletedEvent(
+                    request.getId(), request.getRequestedProject().getId(), request.getRequestReceiver().getId(), request.getStatus()));
+
             return requestServiceFacade.mapRequestToDTO(request);
         }
 
@@ -166,18 +267,27 @@ public class RequestService {
     }
 
     /**
-     * Creates request
+     * Creates request. Creation is idempotent, if volunteer already has pending request for project, that request is returned.
+     * Method runs without surrounding transaction, so pending request of concurrent call can still be read after failed insert
+     * and only one connection is held at a time. Reads of created or pending request are mapped in short read-only transactions
      *
      * @param projectId Id value of requested project
-     * @return Created request
+     * @return Created or already pending request
      */
     public RequestDTO createRequest(Long projectId) {
 
         Project foundProject = requestServiceFacade.findProject(projectId);
-        Volunteer volunteer = requestServiceFacade.getLoggedVolunteer();
+        Long volunteerId = requestServiceFacade.getLoggedVolunteerId();
 
         if (requestServiceFacade.isProjectOpen(foundProject)) {
-            if (!foundProject.getProjectVolunteers().contains(volunteer)) {
+            if (!requestServiceFacade.isProjectParticipant(projectId, volunteerId)) {
+
+                RequestDTO pendingRequest = this.findPendingRequest(volunteerId, projectId);
+
+                if (pendingRequest != null) {
+
+                    return pendingRequest;
+                }
 
                 VolunteerRequest newRequest = VolunteerRequest.builder()
                         .requestReceiver(foundProject.getOwnerVolunteer())
@@ -186,9 +296,23 @@ public class RequestService {
                         .status(RequestStatus.PENDING)
                         .build();
 
-                requestRepository.save(newRequest);
+                try {
+                    requestRepository.saveAndFlush(newRequest);
+                } catch (DataIntegrityViolationException e) {
+
+                    // Concurrent call created pending request first, unique constraint on pending project rejected this one
+                    RequestDTO concurrentRequest = this.findPendingRequest(volunteerId, projectId);
+
+                    if (concurrentRequest == null) {
+                        throw e;
+                    }
 
-                return requestServiceFacade.mapRequestToDTO(newRequest);
+                    return concurrentRequest;
+                }
+
+                this.publishStatusEvent(newRequest, null);
+
+                return readTransaction.execute(status -> requestServiceFacade.mapRequestToDTO(this.findRequest(newRequest.getId())));
             }
 
             throw new InsufficientPermissionsException("You already participate in this project");
@@ -197,12 +321,27 @@ public class RequestService {
 
     }
 
+    /**
+     * Searches for pending request of volunteer for project and maps it in read-only transaction
+     *
+     * @param volunteerId Id value of sender of request
+     * @param projectId   Id value of requested project
+     * @return Pending request, null if volunteer has no pending request for project
+     */
+    private RequestDTO findPendingRequest(Long volunteerId, Long projectId) {
+
+        return readTransaction.execute(status -> requestRepository.findByRequestSenderIdAndPendingProjectId(volunteerId, projectId)
+                .map(request -> requestServiceFacade.mapRequestToDTO(request))
+                .orElse(null));
+    }
+
     /**
      * Searches for request in database using utility method
      *
      * @param requestId Id value of request
      * @return Result of search
      */
+    @Transactional(readOnly = true)
     public RequestDTO searchRequest(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
@@ -217,6 +356,7 @@ public class RequestService {
      * @param requestId Id value of request
      * @return Project that is associated with request
      */
+    @Transactional(readOnly = true)
     public ProjectDTO getRequestedProject(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
@@ -230,16 +370,20 @@ public class RequestService {
      * @param requestId Id value of request
      * @return Request that is declined
      */
+    @Transactional
     public RequestDTO declineRequest(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
 
         if (this.isVolunteerReceiver(request, requestServiceFacade.getLoggedVolunteer()) || requestServiceFacade.checkIfAdmin(requestServiceFacade.getLoggedVolunteer())) {
-            if (requestServiceFacade.getLoggedVolunteer().getOwnedProjects().contains(request.getRequestedProject())) {
-                if (this.hasPendingStatus(request)) {
+            if (requestServiceFacade.isProjectOwner(request.getRequestedProject().getId(), requestServiceFacade.getLoggedVolunteerId())) {
+                // Status is checked under row lock, so request decided concurrently is not declined over its decision
+                if (!requestRepository.lockPendingIds(List.of(request.getId())).isEmpty()) {
                     request.setStatus(RequestStatus.DECLINED);
                     requestRepository.save(request);
 
+                    this.publishStatusEvent(request, RequestStatus.PENDING);
+
                     return requestServiceFacade.mapRequestToDTO(request);
                 }
 
@@ -253,19 +397,230 @@ public class RequestService {
     }
 
     /**
-     * Accepts request
+     * Accepts many requests in single transaction. Ownership of all requests is verified with one query,
+     * capacity of every project is reserved once under row lock and requests are accepted in order of creation until project is full.
+     * Requests that do not fit are added to waitlist of project
+     *
+     * @param requestIds Id values of accepted requests
+     * @return Result of decision for every given request, in order of given ids
+     */
+    @Transactional
+    public List<RequestDecisionResult> acceptRequests(List<Long> requestIds) {
+
+        Long ownerId = requestServiceFacade.getLoggedVolunteerId();
+        Set<Long> ids = new LinkedHashSet<>(requestIds);
+        Map<Long, RequestDecisionOutcome> outcomes = new HashMap<>();
+
+        // Projects are locked in order of their ids, so two concurrent batches can never deadlock
+        SortedSet<Long> projectIds = requestRepository.findDecisionCandidates(ids, ownerId).stream()
+                .map(RequestDecisionCandidate::getProjectId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Map<Long, Integer> freeCapacities = new HashMap<>();
+        projectIds.forEach(projectId -> freeCapacities.put(projectId, requestServiceFacade.lockFreeCapacity(projectId)));
+
+        // Candidates are read again after locking, so requests accepted by concurrent batch are not accepted twice
+        List<RequestDecisionCandidate> currentCandidates = requestRepository.findDecisionCandidates(ids, ownerId);
+        Set<Long> pendingIds = this.lockPending(currentCandidates);
+        Map<Long, List<RequestDecisionCandidate>> pendingByProject = new HashMap<>();
+
+        for (RequestDecisionCandidate candidate : currentCandidates) {
+            if (!pendingIds.contains(candidate.getId())) {
+                outcomes.put(candidate.getId(), RequestDecisionOutcome.NOT_PENDING);
+            } else {
+                pendingByProject.computeIfAbsent(candidate.getProjectId(), key -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        List<RequestDecisionCandidate> accepted = new ArrayList<>();
+        List<RequestDecisionCandidate> waitlisted = new ArrayList<>();
+
+        pendingByProject.forEach((projectId, candidates) -> {
+            candidates.sort(Comparator.comparing(RequestDecisionCandidate::getId));
+
+            Set<Long> participantIds = requestServiceFacade.findParticipantIds(projectId, candidates.stream()
+                    .map(RequestDecisionCandidate::getSenderId)
+                    .collect(Collectors.toSet()));
+            List<Long> newParticipantIds = new ArrayList<>();
+            int freeCapacity = freeCapacities.get(projectId);
+
+            for (RequestDecisionCandidate candidate : candidates) {
+                if (participantIds.contains(candidate.getSenderId())) {
+                    outcomes.put(candidate.getId(), RequestDecisionOutcome.ALREADY_PARTICIPANT);
+                } else if (newParticipantIds.size() < freeCapacity) {
+                    participantIds.add(candidate.getSenderId());
+                    newParticipantIds.add(candidate.getSenderId());
+                    accepted.add(candidate);
+                    outcomes.put(candidate.getId(), RequestDecisionOutcome.ACCEPTED);
+                } else {
+                    waitlisted.add(candidate);
+                    outcomes.put(candidate.getId(), RequestDecisionOutcome.WAITLISTED);
+                }
+            }
+
+            if (!newParticipantIds.isEmpty()) {
+                requestServiceFacade.addParticipants(projectId, newParticipantIds);
+            }
+        });
+
+        if (!accepted.isEmpty()) {
+            requestRepository.updatePendingStatus(accepted.stream().map(RequestDecisionCandidate::getId).collect(Collectors.toList()), RequestStatus.ACCEPTED, Instant.now());
+            accepted.forEach(candidate -> this.publishStatusEvent(candidate, ownerId, RequestStatus.ACCEPTED));
+        }
+
+        // Requests that are already waitlisted keep their original place in waitlist
+        List<RequestDecisionCandidate> newlyWaitlisted = waitlisted.stream()
+                .filter(candidate -> candidate.getWaitlistedAt() == null)
+                .collect(Collectors.toList());
+
+        if (!newlyWaitlisted.isEmpty()) {
+            Instant waitlistedAt = Instant.now();
+
+            requestRepository.markWaitlisted(newlyWaitlisted.stream().map(RequestDecisionCandidate::getId).collect(Collectors.toList()), waitlistedAt);
+            newlyWaitlisted.forEach(candidate -> eventPublisher.publishEvent(new RequestWaitlistedEvent(
+                    new WaitlistEntry(candidate.getId(), candidate.getProjectId(), waitlistedAt))));
+        }
+
+        return this.collectResults(ids, outcomes);
+    }
+
+    /**
+     * Declines many requests in single transaction. Ownership of all requests is verified with one query.
+     * Requests that were decided concurrently are reported as not pending and no event is published for them
+     *
+     * @param requestIds Id values of declined requests
+     * @return Result of decision for every given request, in order of given ids
+     */
+    @Transactional
+    public List<RequestDecisionResult> declineRequests(List<Long> requestIds) {
+
+        Long ownerId = requestServiceFacade.getLoggedVolunteerId();
+        Set<Long> ids = new LinkedHashSet<>(requestIds);
+        Map<Long, RequestDecisionOutcome> outcomes = new HashMap<>();
+        List<RequestDecisionCandidate> declined = new ArrayList<>();
+
+        List<RequestDecisionCandidate> candidates = requestRepository.findDecisionCandidates(ids, ownerId);
+        Set<Long> pendingIds = this.lockPending(candidates);
+
+        for (RequestDecisionCandidate candidate : candidates) {
+            if (pendingIds.contains(candidate.getId())) {
+                declined.add(candidate);
+                outcomes.put(candidate.getId(), RequestDecisionOutcome.DECLINED);
+            } else {
+                outcomes.put(candidate.getId(), RequestDecisionOutcome.NOT_PENDING);
+            }
+        }
+
+        if (!declined.isEmpty()) {
+            requestRepository.updatePendingStatus(declined.stream().map(RequestDecisionCandidate::getId).collect(Collectors.toList()), RequestStatus.DECLINED, Instant.now());
+            declined.forEach(candidate -> this.publishStatusEvent(candidate, ownerId, RequestStatus.DECLINED));
+        }
+
+        return this.collectResults(ids, outcomes);
+    }
+
+    /**
+     * Locks candidates that are still pending until end of current transaction. Candidate read as pending
+     * could be decided concurrently before it was locked, so only locked candidates can be decided
+     *
+     * @param candidates Candidates of bulk decision
+     * @return Id values of locked pending candidates
+     */
+    private Set<Long> lockPending(List<RequestDecisionCandidate> candidates) {
+
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        return new HashSet<>(requestRepository.lockPendingIds(candidates.stream()
+                .map(RequestDecisionCandidate::getId)
+                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Publishes event about created or changed request. Listeners receive it after surrounding transaction is committed
+     *
+     * @param request        Created or changed request
+     * @param previousStatus Status of request before change, null for created request
+     */
+    private void publishStatusEvent(VolunteerRequest request, RequestStatus previousStatus) {
+
+        eventPublisher.publishEvent(new RequestStatusEvent(
+                request.getId(),
+                request.getRequestedProject().getId(),
+                request.getRequestSender().getId(),
+                request.getRequestReceiver().getId(),
+                request.getStatus(),
+                previousStatus,
+                request.getCreatedAt()));
+    }
+
+    /**
+     * Publishes event about pending request decided within bulk operation
+     *
+     * @param candidate Decided request
+     * @param ownerId   Id value of owner of requested project
+     * @param status    New status of request
+     */
+    private void publishStatusEvent(RequestDecisionCandidate candidate, Long ownerId, RequestStatus status) {
+
+        eventPublisher.publishEvent(new RequestStatusEvent(
+                candidate.getId(), candidate.getProjectId(), candidate.getSenderId(), ownerId, status, RequestStatus.PENDING, candidate.getCreatedAt()));
+    }
+
+    /**
+     * Creates results of bulk decision. Requests that do not exist or belong to projects of other volunteers are reported as not found
+     *
+     * @param ids      Id values of decided requests
+     * @param outcomes Outcomes of found requests
+     * @return Results in order of given ids
+     */
+    private List<RequestDecisionResult> collectResults(Set<Long> ids, Map<Long, RequestDecisionOutcome> outcomes) {
+
+        return ids.stream()
+                .map(id -> new RequestDecisionResult(id, outcomes.getOrDefault(id, RequestDecisionOutcome.NOT_FOUND)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds pending request to waitlist of its project. Request that is already waitlisted keeps its place.
+     * Request has to be locked by caller, so it is still pending while it is waitlisted
+     *
+     * @param request Request that could not be accepted because project is full
+     */
+    private void addToWaitlist(VolunteerRequest request) {
+
+        Instant waitlistedAt = Instant.now();
+
+        // Entity could be read before request was waitlisted concurrently, so waitlisting is decided by database
+        if (requestRepository.markWaitlisted(List.of(request.getId()), waitlistedAt) > 0) {
+
+            eventPublisher.publishEvent(new RequestWaitlistedEvent(
+                    new WaitlistEntry(request.getId(), request.getRequestedProject().getId(), waitlistedAt)));
+        }
+    }
+
+    /**
+     * Accepts request. Project is locked while its free capacity is counted, so concurrent accepts cannot overbook it.
+     * Status of request is checked only after request row is locked too, so the same request is never accepted twice.
+     * When project is full, request stays pending and is added to waitlist of project instead
      *
      * @param requestId Id value of request
-     * @return Request that is accepted
+     * @return Request that is accepted or waitlisted
      */
+    @Transactional
     public RequestDTO acceptRequest(Long requestId) {
 
         VolunteerRequest request = this.findRequest(requestId);
 
         if ((this.isVolunteerReceiver(request, requestServiceFacade.getLoggedVolunteer()) || requestServiceFacade.checkIfAdmin(requestServiceFacade.getLoggedVolunteer()))) {
-            if (requestServiceFacade.getLoggedVolunteer().getOwnedProjects().contains(request.getRequestedProject())) {
-                if (this.hasPendingStatus(request)) {
-                    if (!requestServiceFacade.isProjectFull(request.getRequestedProject())) {
+            if (requestServiceFacade.isProjectOwner(request.getRequestedProject().getId(), requestServiceFacade.getLoggedVolunteerId())) {
+
+                // Capacity is counted under row lock of project, like in bulk accept and waitlist promotion
+                int freeCapacity = requestServiceFacade.lockFreeCapacity(request.getRequestedProject().getId());
+
+                if (!requestRepository.lockPendingIds(List.of(request.getId())).isEmpty()) {
+                    if (freeCapacity > 0) {
 
                         request.getRequestedProject().addVolunteerToProject(request.getRequestSender());
                         request.setStatus(RequestStatus.ACCEPTED);
@@ -273,10 +628,14 @@ public class RequestService {
                         requestServiceFacade.saveProject(request.getRequestedProject());
                         requestRepository.save(request);
 
+                        this.publishStatusEvent(request, RequestStatus.PENDING);
+
                         return requestServiceFacade.mapRequestToDTO(request);
                     }
 
-                    throw new WrongStatusException("Project is already full");
+                    this.addToWaitlist(request);
+
+                    return requestServiceFacade.mapRequestToDTO(request);
                 }
 
                 throw new WrongStatusException("Request doesn't have pending status");
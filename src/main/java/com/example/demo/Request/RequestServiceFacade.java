@@ -9,6 +9,10 @@ import com.example.demo.Volunteer.VolunteerDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Component
 public class RequestServiceFacade {
 
@@ -29,6 +33,11 @@ public class RequestServiceFacade {
         return this.requestAuthenticationManager.getLoggedVolunteer();
     }
 
+    public Long getLoggedVolunteerId() {
+
+        return this.requestAuthenticationManager.getLoggedVolunteerId();
+    }
+
     public boolean checkIfAdmin(Volunteer volunteer) {
 
         return this.requestAuthenticationManager.checkIfAdmin(volunteer);
@@ -39,6 +48,11 @@ public class RequestServiceFacade {
         return this.requestUtilityMapper.mapRequestToDTO(request);
     }
 
+    public ArchivedRequestDTO mapArchivedRequestToDTO(ArchivedRequest archivedRequest) {
+
+        return this.requestUtilityMapper.mapArchivedRequestToDTO(archivedRequest);
+    }
+
     public void saveProject(Project project) {
 
 
@@ -68,4 +82,29 @@ public class RequestServiceFacade {
 
         return projectService.findProject(projectId);
     }
+
+    public int lockFreeCapacity(Long projectId) {
+
+        return projectService.lockFreeCapacity(projectId);
+    }
+
+    public boolean isProjectOwner(Long projectId, Long volunteerId) {
+
+        return projectService.isProjectOwner(projectId, volunteerId);
+    }
+
+    public boolean isProjectParticipant(Long projectId, Long volunteerId) {
+
+        return projectService.isProjectParticipant(projectId, volunteerId);
+    }
+
+    public Set<Long> findParticipantIds(Long projectId, Collection<Long> volunteerIds) {
+
+        return projectService.findParticipantIds(projectId, volunteerIds);
+    }
+
+    public void addParticipants(Long projectId, List<Long> volunteerIds) {
+
+        projectService.addParticipants(projectId, volunteerIds);
+    }
 }
@@ -0,0 +1,343 @@
+package com.example.demo.Request;
+
+import com.example.demo.Error.InsufficientPermissionsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Service maintaining request statistics of every project and owner. Counters are rebuilt from database on startup
+ * and then updated on every status transition, so statistics are answered in constant time without reading requests.
+ * Requests moved to archive are still counted
+ *
+ * @author Thorvas
+ */
+@Service
+public class RequestStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestStatisticsService.class);
+
+    private static final String SCOPE_TOTAL = "total";
+    private static final String SCOPE_PROJECT = "project";
+    private static final String SCOPE_OWNER = "owner";
+
+    private static final String RECOUNT_QUERY =
+            "SELECT requested_project, receiver_volunteer, request_status, created_at, resolved_at FROM volunteer_requests " +
+            "UNION ALL " +
+            "SELECT requested_project, receiver_volunteer, request_status, created_at, resolved_at FROM volunteer_requests_archive";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RequestServiceFacade requestServiceFacade;
+
+    /**
+     * Transitions update counters under read lock concurrently, write lock is held only while recounted counters are swapped in
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile Aggregates aggregates = new Aggregates();
+
+    /**
+     * Updates applied while recount is running, replayed on recounted counters before they are swapped in. Null when no recount runs
+     */
+    private List<Consumer<Aggregates>> pendingUpdates;
+
+    /**
+     * Rebuilds counters from database on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStatistics() {
+
+        this.reconcile();
+    }
+
+    /**
+     * Updates counters once status transition of request is committed
+     *
+     * @param event Published request event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestStatusChanged(RequestStatusEvent event) {
+
+        Instant changedAt = Instant.now();
+
+        this.update(current -> {
+            for (RequestCounters counters : current.countersOf(event.projectId(), event.receiverId())) {
+                synchronized (counters) {
+                    if (event.previousStatus() != null) {
+                        counters.add(event.previousStatus(), -1);
+                    }
+
+                    counters.add(event.status(), 1);
+
+                    if (isDecision(event.previousStatus(), event.status()) && event.createdAt() != null) {
+                        counters.recordDecision(Duration.between(event.createdAt(), changedAt));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Removes deleted request from counters once deletion is committed. Its decision time stays in histogram until next reconciliation
+     *
+     * @param event Published deletion event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestDeleted(RequestDeletedEvent event) {
+
+        this.update(current -> {
+            for (RequestCounters counters : current.countersOf(event.projectId(), event.receiverId())) {
+                synchronized (counters) {
+                    counters.add(event.status(), -1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies update to current counters and remembers it for replay when recount is running
+     *
+     * @param update Update of counters
+     */
+    private void update(Consumer<Aggregates> update) {
+
+        lock.readLock().lock();
+
+        try {
+            update.accept(aggregates);
+
+            List<Consumer<Aggregates>> pending = pendingUpdates;
+
+            if (pending != null) {
+                pending.add(update);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns statistics of project, owner or whole application. Only administrators can view statistics
+     *
+     * @param projectId Optional id value of project
+     * @param ownerId   Optional id value of owner, used when project is not given
+     * @return Statistics of requested scope
+     */
+    public RequestStatsDTO getStatistics(Long projectId, Long ownerId) {
+
+        this.checkAdmin();
+
+        Aggregates current = aggregates;
+
+        if (projectId != null) {
+            return toDTO(SCOPE_PROJECT, projectId, current.projects.get(projectId));
+        }
+        if (ownerId != null) {
+            return toDTO(SCOPE_OWNER, ownerId, current.owners.get(ownerId));
+        }
+
+        return toDTO(SCOPE_TOTAL, null, current.total);
+    }
+
+    /**
+     * Compares maintained counters with full recount of requests and replaces them with recount
+     *
+     * @return Counters that differed from recount
+     */
+    public List<RequestStatsMismatch> reconcileStatistics() {
+
+        this.checkAdmin();
+
+        return this.reconcile();
+    }
+
+    /**
+     * Periodically reconciles counters, so drift caused by changes made outside of application does not last
+     */
+    @Scheduled(initialDelayString = "${request-stats.reconcile-interval-ms:21600000}", fixedDelayString = "${request-stats.reconcile-interval-ms:21600000}")
+    public void reconcilePeriodically() {
+
+        List<RequestStatsMismatch> mismatches = this.reconcile();
+
+        if (!mismatches.isEmpty()) {
+            log.warn("Request statistics differed from recount in {} counters, first difference: {}", mismatches.size(), mismatches.get(0));
+        }
+    }
+
+    /**
+     * Recounts requests without blocking transitions. Updates that arrive during recount are buffered and replayed
+     * on recounted counters under write lock, right before they replace maintained ones.
+     * Update committed just before recount started may be counted twice, next reconciliation corrects it
+     *
+     * @return Counters that differed from recount
+     */
+    private synchronized List<RequestStatsMismatch> reconcile() {
+
+        lock.writeLock().lock();
+
+        try {
+            pendingUpdates = Collections.synchronizedList(new ArrayList<>());
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Aggregates recounted;
+
+        try {
+            recounted = this.recount();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+
+            try {
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            throw e;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            pendingUpdates.forEach(update -> update.accept(recounted));
+            pendingUpdates = null;
+
+            Aggregates maintained = aggregates;
+            List<RequestStatsMismatch> mismatches = new ArrayList<>();
+
+            compare(SCOPE_TOTAL, null, maintained.total, recounted.total, mismatches);
+            compare(SCOPE_PROJECT, maintained.projects, recounted.projects, mismatches);
+            compare(SCOPE_OWNER, maintained.owners, recounted.owners, mismatches);
+
+            aggregates = recounted;
+
+            return mismatches;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Aggregates recount() {
+
+        Aggregates recounted = new Aggregates();
+
+        jdbcTemplate.query(RECOUNT_QUERY, resultSet -> {
+            RequestStatus status = RequestStatus.valueOf(resultSet.getString("request_status"));
+            Timestamp createdAt = resultSet.getTimestamp("created_at");
+            Timestamp resolvedAt = resultSet.getTimestamp("resolved_at");
+
+            for (RequestCounters counters : recounted.countersOf(resultSet.getLong("requested_project"), resultSet.getLong("receiver_volunteer"))) {
+                counters.add(status, 1);
+
+                if (isDecision(RequestStatus.PENDING, status) && createdAt != null && resolvedAt != null) {
+                    counters.recordDecision(Duration.between(createdAt.toInstant(), resolvedAt.toInstant()));
+                }
+            }
+        });
+
+        return recounted;
+    }
+
+    private void checkAdmin() {
+
+        if (!requestServiceFacade.checkIfAdmin(requestServiceFacade.getLoggedVolunteer())) {
+
+            throw new InsufficientPermissionsException("Only administrators can view request statistics");
+        }
+    }
+
+    /**
+     * Checks whether transition is decision of owner. Expiry is not a decision, so it is not part of decision time
+     */
+    private static boolean isDecision(RequestStatus previousStatus, RequestStatus status) {
+
+        return previousStatus == RequestStatus.PENDING && (status == RequestStatus.ACCEPTED || status == RequestStatus.DECLINED);
+    }
+
+    private static void compare(String scope, Map<Long, RequestCounters> maintained, Map<Long, RequestCounters> recounted,
+                                List<RequestStatsMismatch> mismatches) {
+
+        Set<Long> ids = new TreeSet<>(maintained.keySet());
+        ids.addAll(recounted.keySet());
+
+        for (Long id : ids) {
+            compare(scope, id, maintained.getOrDefault(id, new RequestCounters()), recounted.getOrDefault(id, new RequestCounters()), mismatches);
+        }
+    }
+
+    private static void compare(String scope, Long id, RequestCounters maintained, RequestCounters recounted,
+                                List<RequestStatsMismatch> mismatches) {
+
+        if (maintained.hasSameCounts(recounted)) {
+            return;
+        }
+
+        for (RequestStatus status : RequestStatus.values()) {
+            if (maintained.getCount(status) != recounted.getCount(status)) {
+                mismatches.add(new RequestStatsMismatch(scope, id, status, maintained.getCount(status), recounted.getCount(status)));
+            }
+        }
+    }
+
+    private static RequestStatsDTO toDTO(String scope, Long id, RequestCounters counters) {
+
+        RequestStatsDTO statsDTO = new RequestStatsDTO();
+        statsDTO.setScope(scope);
+        statsDTO.setId(id);
+
+        if (counters == null) {
+            return statsDTO;
+        }
+
+        synchronized (counters) {
+            statsDTO.setPending(counters.getCount(RequestStatus.PENDING));
+            statsDTO.setAccepted(counters.getCount(RequestStatus.ACCEPTED));
+            statsDTO.setDeclined(counters.getCount(RequestStatus.DECLINED));
+            statsDTO.setExpired(counters.getCount(RequestStatus.EXPIRED));
+            statsDTO.setDecided(counters.getDecisions());
+
+            Duration median = counters.getMedianDecisionTime();
+            statsDTO.setMedianDecisionSeconds(median == null ? null : median.getSeconds());
+        }
+
+        return statsDTO;
+    }
+
+    /**
+     * Counters of whole application, of every project and of every owner
+     */
+    private static final class Aggregates {
+
+        private final RequestCounters total = new RequestCounters();
+        private final Map<Long, RequestCounters> projects = new ConcurrentHashMap<>();
+        private final Map<Long, RequestCounters> owners = new ConcurrentHashMap<>();
+
+        private List<RequestCounters> countersOf(Long projectId, Long ownerId) {
+
+            return List.of(
+                    total,
+                    projects.computeIfAbsent(projectId, key -> new RequestCounters()),
+                    owners.computeIfAbsent(ownerId, key -> new RequestCounters()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.Request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * Data Transfer Object for request statistics of project, owner or whole application
+ *
+ * @author Thorvas
+ */
+@Data
+public class RequestStatsDTO extends RepresentationModel<RequestStatsDTO> {
+
+    private String scope;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long id;
+
+    private long pending;
+
+    private long accepted;
+
+    private long declined;
+
+    private long expired;
+
+    private long decided;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long medianDecisionSeconds;
+}
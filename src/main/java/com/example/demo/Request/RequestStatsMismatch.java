@@ -0,0 +1,19 @@
+package com.example.demo.Request;
+
+/**
+ * Difference between maintained request counter and full recount found during reconciliation
+ *
+ * @param scope      Scope of counter, either total, project or owner
+ * @param id         Id value of project or owner, null for total counter
+ * @param status     Status of counted requests
+ * @param maintained Value of incrementally maintained counter
+ * @param recounted  Value found by full recount
+ */
+public record RequestStatsMismatch(
+        String scope,
+        Long id,
+        RequestStatus status,
+        long maintained,
+        long recounted
+) {
+}
@@ -8,7 +8,8 @@ package com.example.demo.Request;
 public enum RequestStatus {
     ACCEPTED("STATUS_ACCEPTED"),
     DECLINED("STATUS_DECLINED"),
-    PENDING("STATUS_PENDING");
+    PENDING("STATUS_PENDING"),
+    EXPIRED("STATUS_EXPIRED");
 
     private final String status;
 
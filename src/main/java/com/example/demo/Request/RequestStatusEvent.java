@@ -0,0 +1,25 @@
+package com.example.demo.Request;
+
+import java.time.Instant;
+
+/**
+ * Event published when request is created or its status changes
+ *
+ * @param requestId      Id value of request
+ * @param projectId      Id value of requested project
+ * @param senderId       Id value of volunteer that sent request
+ * @param receiverId     Id value of volunteer that received request
+ * @param status         Current status of request
+ * @param previousStatus Status before change, null for newly created request
+ * @param createdAt      Time when request was created
+ */
+public record RequestStatusEvent(
+        Long requestId,
+        Long projectId,
+        Long senderId,
+        Long receiverId,
+        RequestStatus status,
+        RequestStatus previousStatus,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,354 @@
+package com.example.demo.Request;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service pushing request events to volunteers through Server-Sent Events. Every subscriber has bounded buffer
+ * that is drained by shared sender threads. Subscriber whose buffer overflows is disconnected, so one slow client
+ * never delays events of others. Send that blocks longer than send timeout is interrupted and its subscriber is
+ * disconnected as well, so stalled clients cannot occupy sender threads. Disconnected client is expected to reload
+ * its inbox and subscribe again
+ *
+ * @author Thorvas
+ */
+@Service
+public class RequestStreamService {
+
+    private static final String EVENT_NAME = "request-status";
+    private static final Object HEARTBEAT = new Object();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${request-stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${request-stream.max-subscriptions-per-volunteer:5}")
+    private int maxSubscriptionsPerVolunteer;
+
+    @Value("${request-stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${request-stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${request-stream.send-timeout:5s}")
+    private Duration sendTimeout;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService sender;
+    private Counter droppedSubscribers;
+
+    @PostConstruct
+    public void init() {
+
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "request-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        droppedSubscribers = meterRegistry.counter("request.stream.dropped_subscribers");
+        Gauge.builder("request.stream.subscribers", this, RequestStreamService::getSubscriberCount)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        sender.shutdownNow();
+        subscribers.values().forEach(volunteerSubscribers -> volunteerSubscribers.forEach(Subscriber::complete));
+    }
+
+    /**
+     * Opens new stream for volunteer
+     *
+     * @param volunteerId Id value of subscribing volunteer
+     * @return Emitter of opened stream
+     */
+    public SseEmitter subscribe(Long volunteerId) {
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+
+        this.register(volunteerId, emitter);
+
+        // Initial comment makes response headers flush immediately instead of with first heartbeat
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+
+        return emitter;
+    }
+
+    /**
+     * Registers emitter of volunteer. Oldest stream of volunteer is closed when limit of streams is exceeded
+     *
+     * @param volunteerId Id value of subscribing volunteer
+     * @param emitter     Emitter that events are sent to
+     */
+    void register(Long volunteerId, SseEmitter emitter) {
+
+        // Linked queue allocates only for waiting messages, so idle subscribers cost almost nothing
+        Subscriber subscriber = new Subscriber(volunteerId, emitter, new LinkedBlockingQueue<>(bufferSize));
+        Set<Subscriber> volunteerSubscribers = subscribers.compute(volunteerId, (key, existingSubscribers) -> {
+            Set<Subscriber> updatedSubscribers = existingSubscribers == null ? new CopyOnWriteArraySet<>() : existingSubscribers;
+            updatedSubscribers.add(subscriber);
+            return updatedSubscribers;
+        });
+
+        emitter.onCompletion(() -> this.remove(subscriber));
+        emitter.onTimeout(() -> this.remove(subscriber));
+        emitter.onError(error -> this.remove(subscriber));
+
+        while (volunteerSubscribers.size() > maxSubscriptionsPerVolunteer) {
+            volunteerSubscribers.stream().findFirst().ifPresent(oldest -> {
+                this.remove(oldest);
+                oldest.complete();
+            });
+        }
+    }
+
+    /**
+     * Pushes event to sender and receiver of request once transaction that changed request is committed
+     *
+     * @param event Published request event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestStatusChanged(RequestStatusEvent event) {
+
+        this.publish(event.receiverId(), event);
+
+        if (!event.senderId().equals(event.receiverId())) {
+            this.publish(event.senderId(), event);
+        }
+    }
+
+    /**
+     * Sends comment to every stream, so proxies keep idle connections open and dead connections are detected
+     */
+    @Scheduled(fixedDelayString = "${request-stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+
+        subscribers.values().forEach(volunteerSubscribers -> volunteerSubscribers.forEach(subscriber -> {
+            // Heartbeat is skipped for subscriber that already has something to send
+            if (subscriber.queue().isEmpty() && subscriber.queue().offer(HEARTBEAT)) {
+                this.scheduleDrain(subscriber);
+            }
+        }));
+    }
+
+    /**
+     * Disconnects subscribers whose send is blocked longer than send timeout. Blocked sender thread is interrupted,
+     * so it fails the send and returns to shared pool
+     */
+    @Scheduled(fixedDelayString = "${request-stream.send-timeout-check-ms:1000}")
+    public void dropStalledSubscribers() {
+
+        long startedBefore = System.nanoTime() - sendTimeout.toNanos();
+
+        subscribers.values().forEach(volunteerSubscribers -> volunteerSubscribers.forEach(subscriber -> {
+            if (subscriber.interruptSendStartedBefore(startedBefore)) {
+                droppedSubscribers.increment();
+                this.remove(subscriber);
+            }
+        }));
+    }
+
+    /**
+     * Returns number of open streams
+     *
+     * @return Number of subscribers of all volunteers
+     */
+    public int getSubscriberCount() {
+
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void publish(Long volunteerId, RequestStatusEvent event) {
+
+        Set<Subscriber> volunteerSubscribers = subscribers.get(volunteerId);
+
+        if (volunteerSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : volunteerSubscribers) {
+            if (subscriber.queue().offer(event)) {
+                this.scheduleDrain(subscriber);
+            } else {
+                droppedSubscribers.increment();
+                this.remove(subscriber);
+                subscriber.complete();
+            }
+        }
+    }
+
+    /**
+     * Schedules sending of buffered messages. Only one drain of subscriber runs at once, so messages keep their order
+     *
+     * @param subscriber Subscriber with buffered messages
+     */
+    private void scheduleDrain(Subscriber subscriber) {
+
+        if (subscriber.draining().compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> this.drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining().set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+
+        try {
+            Object message;
+
+            while ((message = subscriber.queue().poll()) != null) {
+                this.send(subscriber, message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            this.remove(subscriber);
+            subscriber.complete();
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+
+        // Message offered after last poll but before flag was cleared would otherwise wait for next event
+        if (!subscriber.queue().isEmpty()) {
+            this.scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Object message) throws IOException {
+
+        boolean timedOut;
+
+        subscriber.beginSend();
+
+        try {
+            if (message == HEARTBEAT) {
+                subscriber.emitter().send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                RequestStatusEvent event = (RequestStatusEvent) message;
+                subscriber.emitter().send(SseEmitter.event()
+                        .id(String.valueOf(event.requestId()))
+                        .name(EVENT_NAME)
+                        .data(event));
+            }
+        } finally {
+            timedOut = subscriber.endSend();
+        }
+
+        if (timedOut) {
+            throw new IOException("Sending to subscriber of volunteer " + subscriber.volunteerId() + " timed out");
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+
+        subscribers.computeIfPresent(subscriber.volunteerId(), (key, volunteerSubscribers) -> {
+            volunteerSubscribers.remove(subscriber);
+            return volunteerSubscribers.isEmpty() ? null : volunteerSubscribers;
+        });
+    }
+
+    /**
+     * Open stream of volunteer together with its bounded buffer of messages waiting to be sent
+     */
+    private static final class Subscriber {
+
+        private final Long volunteerId;
+        private final SseEmitter emitter;
+        private final Queue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Thread sendingThread;
+        private long sendStartedAt;
+        private boolean sendTimedOut;
+
+        private Subscriber(Long volunteerId, SseEmitter emitter, Queue<Object> queue) {
+            this.volunteerId = volunteerId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private Long volunteerId() {
+            return volunteerId;
+        }
+
+        private SseEmitter emitter() {
+            return emitter;
+        }
+
+        private Queue<Object> queue() {
+            return queue;
+        }
+
+        private AtomicBoolean draining() {
+            return draining;
+        }
+
+        private synchronized void beginSend() {
+            sendingThread = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+        }
+
+        /**
+         * Ends send of current thread. Interrupt of timed out send is cleared, so it does not fail next subscriber served by this thread
+         *
+         * @return True if send timed out
+         */
+        private synchronized boolean endSend() {
+            sendingThread = null;
+
+            if (sendTimedOut) {
+                Thread.interrupted();
+            }
+
+            return sendTimedOut;
+        }
+
+        private synchronized boolean interruptSendStartedBefore(long startedBefore) {
+            if (sendingThread == null || sendTimedOut || sendStartedAt - startedBefore > 0) {
+                return false;
+            }
+
+            sendTimedOut = true;
+            sendingThread.interrupt();
+
+            return true;
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Emitter has been already completed
+            }
+        }
+    }
+}
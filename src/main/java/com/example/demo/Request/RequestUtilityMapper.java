@@ -26,6 +26,11 @@ public class RequestUtilityMapper {
         return this.requestMapper.mapRequestToDTO(request);
     }
 
+    public ArchivedRequestDTO mapArchivedRequestToDTO(ArchivedRequest archivedRequest) {
+
+        return this.requestMapper.mapArchivedRequestToDTO(archivedRequest);
+    }
+
     public ProjectDTO mapProjectToDTO(Project project) {
 
         return this.projectMapper.mapProjectToDTO(project);
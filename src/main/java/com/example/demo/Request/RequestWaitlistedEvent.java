@@ -0,0 +1,11 @@
+package com.example.demo.Request;
+
+/**
+ * Event published when pending request is added to waitlist of full project
+ *
+ * @param entry Position of request in waitlist
+ */
+public record RequestWaitlistedEvent(
+        WaitlistEntry entry
+) {
+}
@@ -5,6 +5,8 @@ import com.example.demo.Volunteer.Volunteer;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 /**
  * Class representing request for joining to a specific project
  *
@@ -16,26 +18,77 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "volunteer_requests")
+@Table(name = "volunteer_requests", indexes = {
+        @Index(name = "idx_request_receiver_status", columnList = "receiver_volunteer, request_status"),
+        @Index(name = "idx_request_sender_status", columnList = "sender_volunteer, request_status"),
+        @Index(name = "idx_request_project_waitlist", columnList = "requested_project, waitlisted_at"),
+        @Index(name = "idx_request_status_created", columnList = "request_status, created_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_request_sender_pending_project", columnNames = {"sender_volunteer", "pending_project"})
+})
 public class VolunteerRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "volunteer_requests_seq")
+    @SequenceGenerator(name = "volunteer_requests_seq", sequenceName = "volunteer_requests_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_volunteer")
     private Volunteer requestSender;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_volunteer")
     private Volunteer requestReceiver;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requested_project")
     private Project requestedProject;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "request_status")
     private RequestStatus status;
+
+    /**
+     * Id of requested project that is set only while request is pending. Null values are not compared by unique constraint,
+     * so volunteer can have only one pending request for a project, while resolved requests are not limited
+     */
+    @Column(name = "pending_project")
+    private Long pendingProjectId;
+
+    /**
+     * Time when pending request was rejected because project was full. Requests with this value set form waitlist of project
+     * ordered by it, and are accepted automatically once place in project becomes free
+     */
+    @Column(name = "waitlisted_at")
+    private Instant waitlistedAt;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    /**
+     * Time when request stopped being pending. Resolved requests are moved to archive once they are old enough
+     */
+    @Column(name = "resolved_at")
+    private Instant resolvedAt;
+
+    @PrePersist
+    private void initializeTimestamps() {
+
+        if (this.createdAt == null) {
+            this.createdAt = Instant.now();
+        }
+
+        this.updatePendingProject();
+    }
+
+    @PreUpdate
+    private void updatePendingProject() {
+
+        this.pendingProjectId = status == RequestStatus.PENDING && requestedProject != null ? requestedProject.getId() : null;
+
+        if (status != RequestStatus.PENDING && resolvedAt == null) {
+            this.resolvedAt = Instant.now();
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.demo.Request;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Position of pending request in waitlist of its project
+ *
+ * @param requestId    Id value of waitlisted request
+ * @param projectId    Id value of requested project
+ * @param waitlistedAt Time when request was added to waitlist
+ */
+public record WaitlistEntry(
+        Long requestId,
+        Long projectId,
+        Instant waitlistedAt
+) {
+
+    /**
+     * Order of waitlist, requests waiting longer come first. Id value breaks ties of requests waitlisted at the same time
+     */
+    public static final Comparator<WaitlistEntry> WAITLIST_ORDER = Comparator
+            .comparing(WaitlistEntry::waitlistedAt)
+            .thenComparing(WaitlistEntry::requestId);
+}
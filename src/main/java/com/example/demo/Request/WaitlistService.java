@@ -0,0 +1,322 @@
+package com.example.demo.Request;
+
+import com.example.demo.Project.ProjectCapacityFreedEvent;
+import com.example.demo.Project.ProjectService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping waitlists of full projects. Pending requests that could not be accepted because project was full
+ * wait in order of time they were waitlisted, and are accepted automatically once place in project becomes free.
+ * Waitlists are mirrored in memory as sorted snapshots, so position of request is found in O(log n) without counting
+ * rows in database. Position is read for every mapped request, so reads take no lock. Every change of waitlist
+ * replaces snapshot of its project atomically, which is cheap because waitlists change far less often than they are read
+ *
+ * @author Thorvas
+ */
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, WaitlistEntry[]> waitlists = new ConcurrentHashMap<>();
+    private final Map<Long, WaitlistEntry> entries = new ConcurrentHashMap<>();
+
+    private TransactionTemplate promotionTransaction;
+
+    @PostConstruct
+    public void init() {
+
+        // Promotion runs after transaction that freed place was committed, so it needs transaction of its own
+        promotionTransaction = new TransactionTemplate(transactionManager);
+        promotionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Rebuilds waitlists from database on startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlists() {
+
+        requestRepository.findWaitlistEntries().forEach(this::addEntry);
+    }
+
+    /**
+     * Returns position of request in waitlist of its project
+     *
+     * @param requestId Id value of request
+     * @return Position counted from 1, or null when request is not waitlisted
+     */
+    public Integer getPosition(Long requestId) {
+
+        WaitlistEntry entry = entries.get(requestId);
+
+        if (entry == null) {
+            return null;
+        }
+
+        WaitlistEntry[] waitlist = waitlists.get(entry.projectId());
+        int index = waitlist == null ? -1 : Arrays.binarySearch(waitlist, entry, WaitlistEntry.WAITLIST_ORDER);
+
+        // Entry removed concurrently with this read is no longer waitlisted
+        return index < 0 ? null : index + 1;
+    }
+
+    /**
+     * Returns number of requests waiting for place in project
+     *
+     * @param projectId Id value of project
+     * @return Length of waitlist of project
+     */
+    public int getWaitlistSize(Long projectId) {
+
+        WaitlistEntry[] waitlist = waitlists.get(projectId);
+
+        return waitlist == null ? 0 : waitlist.length;
+    }
+
+    /**
+     * Adds request to waitlist once its waitlisting is committed
+     *
+     * @param event Published waitlisting event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestWaitlisted(RequestWaitlistedEvent event) {
+
+        this.addEntry(event.entry());
+    }
+
+    /**
+     * Removes request from waitlist once it stops being pending
+     *
+     * @param event Published request event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestStatusChanged(RequestStatusEvent event) {
+
+        if (event.status() != RequestStatus.PENDING) {
+            this.removeRequest(event.requestId());
+        }
+    }
+
+    /**
+     * Removes deleted request from waitlist once deletion is committed, so rolled back deletion keeps its place
+     *
+     * @param event Published deletion event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestDeleted(RequestDeletedEvent event) {
+
+        this.removeRequest(event.requestId());
+    }
+
+    /**
+     * Promotes head of waitlist once place in project is freed
+     *
+     * @param event Published project event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCapacityFreed(ProjectCapacityFreedEvent event) {
+
+        this.tryPromote(event.projectId());
+    }
+
+    /**
+     * Removes request from waitlist
+     *
+     * @param requestId Id value of request
+     */
+    public void removeRequest(Long requestId) {
+
+        WaitlistEntry entry = entries.get(requestId);
+
+        if (entry == null) {
+            return;
+        }
+
+        // Index of request changes together with snapshot of its project, so both stay consistent
+        waitlists.compute(entry.projectId(), (projectId, waitlist) -> {
+            if (waitlist == null || !entries.remove(requestId, entry)) {
+                return waitlist;
+            }
+
+            int index = Arrays.binarySearch(waitlist, entry, WaitlistEntry.WAITLIST_ORDER);
+
+            if (index < 0) {
+                return waitlist;
+            }
+            if (waitlist.length == 1) {
+                return null;
+            }
+
+            WaitlistEntry[] updated = new WaitlistEntry[waitlist.length - 1];
+            System.arraycopy(waitlist, 0, updated, 0, index);
+            System.arraycopy(waitlist, index + 1, updated, index, waitlist.length - index - 1);
+
+            return updated;
+        });
+    }
+
+    /**
+     * Periodically retries promotion for every project with waitlist, in case promotion triggered by event failed
+     */
+    @Scheduled(initialDelayString = "${waitlist.sweep-interval-ms:60000}", fixedDelayString = "${waitlist.sweep-interval-ms:60000}")
+    public void sweepWaitlists() {
+
+        new ArrayList<>(waitlists.keySet()).forEach(this::tryPromote);
+    }
+
+    /**
+     * Accepts requests from head of project waitlist while project has free places.
+     * Project row stays locked until promotion is committed, so concurrent promotions of the same project
+     * wait for each other and place is never given twice. Waitlisted requests of volunteers that already participate
+     * in project are declined, and nobody is promoted while project is not open
+     *
+     * @param projectId Id value of project
+     * @return Number of accepted requests
+     */
+    public int promote(Long projectId) {
+
+        Integer promoted = promotionTransaction.execute(status -> {
+
+            int freeCapacity = projectService.lockFreeCapacity(projectId);
+
+            // Senders that joined project in other way are skipped by head of waitlist, so their requests would wait forever
+            this.resolve(requestRepository.findWaitlistedParticipants(projectId), projectId, RequestStatus.DECLINED);
+
+            // Project that stopped accepting participants keeps its waitlist until it is opened again
+            if (freeCapacity == 0 || !projectService.isProjectOpen(projectId)) {
+                return 0;
+            }
+
+            // Only requests that are still pending once they are locked get place in project
+            List<VolunteerRequest> accepted = this.resolve(requestRepository.findWaitlistHead(projectId, PageRequest.of(0, freeCapacity)),
+                    projectId, RequestStatus.ACCEPTED);
+
+            if (!accepted.isEmpty()) {
+                projectService.addParticipants(projectId, accepted.stream()
+                        .map(request -> request.getRequestSender().getId())
+                        .collect(Collectors.toList()));
+            }
+
+            return accepted.size();
+        });
+
+        return promoted == null ? 0 : promoted;
+    }
+
+    /**
+     * Decides waitlisted requests and publishes their events. Requests are locked first, so request that was decided
+     * concurrently since it was read is skipped. Requests leave waitlist once decision is committed
+     *
+     * @param requests  Decided requests
+     * @param projectId Id value of requested project
+     * @param decision  New status of requests
+     * @return Requests that were still pending and were decided
+     */
+    private List<VolunteerRequest> resolve(List<VolunteerRequest> requests, Long projectId, RequestStatus decision) {
+
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> pendingIds = new HashSet<>(requestRepository.lockPendingIds(requests.stream()
+                .map(VolunteerRequest::getId)
+                .collect(Collectors.toList())));
+        List<VolunteerRequest> resolved = requests.stream()
+                .filter(request -> pendingIds.contains(request.getId()))
+                .collect(Collectors.toList());
+
+        if (resolved.isEmpty()) {
+            return resolved;
+        }
+
+        requestRepository.updatePendingStatus(pendingIds, decision, Instant.now());
+
+        resolved.forEach(request -> eventPublisher.publishEvent(new RequestStatusEvent(
+                request.getId(),
+                projectId,
+                request.getRequestSender().getId(),
+                request.getRequestReceiver().getId(),
+                decision,
+                RequestStatus.PENDING,
+                request.getCreatedAt())));
+
+        return resolved;
+    }
+
+    /**
+     * Promotes waitlist of project if it is not empty. Failure is only logged, because place freed
+     * by already committed change is picked up by next sweep
+     *
+     * @param projectId Id value of project
+     */
+    private void tryPromote(Long projectId) {
+
+        if (this.getWaitlistSize(projectId) == 0) {
+            return;
+        }
+
+        try {
+            this.promote(projectId);
+        } catch (RuntimeException e) {
+            log.warn("Promotion of waitlist of project {} failed", projectId, e);
+        }
+    }
+
+    /**
+     * Adds entry to snapshot of its project. Request that is already waitlisted keeps its place
+     *
+     * @param entry Added entry
+     */
+    private void addEntry(WaitlistEntry entry) {
+
+        waitlists.compute(entry.projectId(), (projectId, waitlist) -> {
+            if (entries.putIfAbsent(entry.requestId(), entry) != null) {
+                return waitlist;
+            }
+            if (waitlist == null) {
+                return new WaitlistEntry[]{entry};
+            }
+
+            int index = -Arrays.binarySearch(waitlist, entry, WaitlistEntry.WAITLIST_ORDER) - 1;
+
+            WaitlistEntry[] updated = new WaitlistEntry[waitlist.length + 1];
+            System.arraycopy(waitlist, 0, updated, 0, index);
+            updated[index] = entry;
+            System.arraycopy(waitlist, index, updated, index + 1, waitlist.length - index);
+
+            return updated;
+        });
+    }
+}
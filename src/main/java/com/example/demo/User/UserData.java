@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Class representing data of user regarding his credentials and account status
@@ -21,10 +23,11 @@ import lombok.NoArgsConstructor;
     public class UserData {
 
         @Id
-        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+        @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
         private Long id;
 
-        @Column(name = "username", unique = true)
+        @Column(name = "username", unique = true, nullable = false)
         private String username;
 
         @Column(name = "password")
@@ -49,8 +52,13 @@ import lombok.NoArgsConstructor;
         @Column(name = "role")
         private UserRole role;
 
-        @OneToOne(cascade = CascadeType.ALL)
+        /**
+         * Association is owned by user only, so volunteer is loaded lazily and loading of volunteer never reads users
+         */
+        @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
         @JoinColumn(name = "volunteer_id")
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private Volunteer referencedVolunteer;
 
         public boolean isAdmin() {
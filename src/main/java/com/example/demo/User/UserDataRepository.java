@@ -14,4 +14,6 @@ import java.util.Optional;
 @Repository
 public interface UserDataRepository extends JpaRepository<UserData, Long> {
     Optional<UserData> findByUsername(String username);
+
+    boolean existsByReferencedVolunteerIdAndRole(Long volunteerId, UserRole role);
 }
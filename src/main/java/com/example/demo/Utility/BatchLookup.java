@@ -0,0 +1,68 @@
+package com.example.demo.Utility;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Utility class answering lookups of many entities by ids with one query. Duplicated ids are looked up once,
+ * found entities keep order of requested ids and ids that were not found are reported
+ *
+ * @author Thorvas
+ */
+public class BatchLookup {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Loads entities with given ids and maps them into DTOs
+     *
+     * @param ids    Requested ids
+     * @param loader Function loading entities with given ids by single query
+     * @param idOf   Function returning id of entity
+     * @param mapper Function mapping entity into its DTO
+     * @param <E>    Type of entity
+     * @param <D>    Type of DTO
+     * @return Found DTOs in requested order together with missing ids
+     */
+    public static <E, D> BatchLookupDTO<D> lookup(List<Long> ids, Function<Collection<Long>, List<E>> loader,
+                                                  Function<E, Long> idOf, Function<E, D> mapper) {
+
+        Set<Long> requestedIds = new LinkedHashSet<>();
+
+        for (Long id : ids) {
+            if (id != null) {
+                requestedIds.add(id);
+            }
+        }
+
+        if (requestedIds.size() > MAX_BATCH_SIZE) {
+
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids can be looked up at once");
+        }
+
+        Map<Long, E> foundEntities = new HashMap<>();
+
+        if (!requestedIds.isEmpty()) {
+            loader.apply(requestedIds).forEach(entity -> foundEntities.put(idOf.apply(entity), entity));
+        }
+
+        List<D> items = new ArrayList<>(foundEntities.size());
+        List<Long> missingIds = new ArrayList<>();
+
+        for (Long id : requestedIds) {
+            E entity = foundEntities.get(id);
+
+            if (entity == null) {
+                missingIds.add(id);
+            } else {
+                items.add(mapper.apply(entity));
+            }
+        }
+
+        BatchLookupDTO<D> result = new BatchLookupDTO<>();
+        result.setItems(items);
+        result.setMissingIds(missingIds);
+
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.Utility;
+
+import lombok.Data;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for result of batch lookup by ids
+ *
+ * @param <T> Type of found items
+ * @author Thorvas
+ */
+@Data
+public class BatchLookupDTO<T> extends RepresentationModel<BatchLookupDTO<T>> {
+
+    /**
+     * Found items in order in which their ids were requested
+     */
+    private List<T> items;
+
+    /**
+     * Requested ids that do not belong to any item, in order in which they were requested
+     */
+    private List<Long> missingIds;
+}
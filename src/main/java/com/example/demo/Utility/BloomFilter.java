@@ -0,0 +1,142 @@
+package com.example.demo.Utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter for string values. It never returns false negatives,
+ * false positives occur with probability configured during creation
+ *
+ * @author Thorvas
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashFunctions) {
+
+        this.bitCount = bitCount;
+        this.hashFunctions = hashFunctions;
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    /**
+     * Creates filter sized for given number of insertions and target false positive rate
+     *
+     * @param expectedInsertions Expected number of values stored in filter
+     * @param falsePositiveRate  Target probability of false positive
+     * @return Empty Bloom filter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        long insertions = Math.max(1, expectedInsertions);
+        long bitCount = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashFunctions = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+
+        return new BloomFilter(Math.max(64, bitCount), hashFunctions);
+    }
+
+    /**
+     * Adds value to filter
+     *
+     * @param value Added value
+     */
+    public void put(String value) {
+
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            long mask = 1L << bit;
+
+            bits.getAndAccumulate((int) (bit >>> 6), mask, (current, added) -> current | added);
+        }
+
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * Checks whether value might have been added to filter
+     *
+     * @param value Checked value
+     * @return False if value was certainly not added, true if it might have been added
+     */
+    public boolean mightContain(String value) {
+
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (int i = 0; i < hashFunctions; i++) {
+
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Estimates false positive rate based on number of values added so far
+     *
+     * @return Expected probability of false positive
+     */
+    public double expectedFalsePositiveRate() {
+
+        return Math.pow(1 - Math.exp(-(double) hashFunctions * insertions.get() / bitCount), hashFunctions);
+    }
+
+    public long getInsertions() {
+
+        return insertions.get();
+    }
+
+    public long getBitCount() {
+
+        return bitCount;
+    }
+
+    public int getHashFunctions() {
+
+        return hashFunctions;
+    }
+
+    private static long hash(String value) {
+
+        // FNV-1a over UTF-8 bytes followed by 64-bit finalizer to spread bits evenly
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
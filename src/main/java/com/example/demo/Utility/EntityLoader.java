@@ -0,0 +1,188 @@
+package com.example.demo.Utility;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.*;
+
+/**
+ * Component loading entities by id. Entities loaded while handling HTTP request are cached for rest of the request,
+ * so the same id is never read twice. Ids queued before lookup are loaded together with looked up id by single
+ * IN query. Cached entity is returned only while it is still managed by current persistence context, detached
+ * entity is loaded again. Outside of HTTP request entities are loaded without caching
+ *
+ * @author Thorvas
+ */
+@Component
+public class EntityLoader {
+
+    private static final String CACHE_ATTRIBUTE = EntityLoader.class.getName() + ".CACHE";
+
+    /**
+     * Marks id that was looked up but does not belong to any entity
+     */
+    private static final Object MISSING = new Object();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Searches for entity with given id
+     *
+     * @param entityClass Class of searched entity
+     * @param id          Id value of searched entity
+     * @param <E>         Type of entity
+     * @return Optional containing found entity
+     */
+    public <E> Optional<E> find(Class<E> entityClass, Long id) {
+
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(this.findAll(entityClass, List.of(id)).get(id));
+    }
+
+    /**
+     * Searches for entities with given ids. Ids that are neither cached nor found are not present in result
+     *
+     * @param entityClass Class of searched entities
+     * @param ids         Id values of searched entities
+     * @param <E>         Type of entities
+     * @return Found entities by their ids
+     */
+    public <E> Map<Long, E> findAll(Class<E> entityClass, Collection<Long> ids) {
+
+        RequestCache cache = this.currentCache();
+
+        if (cache == null) {
+            return this.load(entityClass, new LinkedHashSet<>(ids));
+        }
+
+        Map<Long, Object> cachedEntities = cache.entities.computeIfAbsent(entityClass, key -> new HashMap<>());
+        Map<Long, E> foundEntities = new HashMap<>();
+        Set<Long> loadedIds = new LinkedHashSet<>();
+
+        for (Long id : ids) {
+            Object cachedEntity = cachedEntities.get(id);
+
+            if (cachedEntity == MISSING) {
+                continue;
+            }
+            if (cachedEntity != null && entityManager.contains(cachedEntity)) {
+                foundEntities.put(id, entityClass.cast(cachedEntity));
+            } else {
+                loadedIds.add(id);
+            }
+        }
+
+        if (loadedIds.isEmpty()) {
+            return foundEntities;
+        }
+
+        // Queued ids are loaded by the same query
+        Set<Long> queuedIds = cache.queued.remove(entityClass);
+
+        if (queuedIds != null) {
+            queuedIds.removeAll(cachedEntities.keySet());
+            loadedIds.addAll(queuedIds);
+        }
+
+        Map<Long, E> loadedEntities = this.load(entityClass, loadedIds);
+
+        for (Long id : loadedIds) {
+            E entity = loadedEntities.get(id);
+            cachedEntities.put(id, entity == null ? MISSING : entity);
+        }
+
+        for (Long id : ids) {
+            E entity = loadedEntities.get(id);
+
+            if (entity != null) {
+                foundEntities.put(id, entity);
+            }
+        }
+
+        return foundEntities;
+    }
+
+    /**
+     * Queues ids of entities that are going to be looked up in current request, so they are loaded
+     * together with next lookup of entity of the same class
+     *
+     * @param entityClass Class of queued entities
+     * @param ids         Id values of queued entities
+     */
+    public void queue(Class<?> entityClass, Collection<Long> ids) {
+
+        RequestCache cache = this.currentCache();
+
+        if (cache != null) {
+            Set<Long> queuedIds = cache.queued.computeIfAbsent(entityClass, key -> new LinkedHashSet<>());
+            ids.stream().filter(Objects::nonNull).forEach(queuedIds::add);
+        }
+    }
+
+    /**
+     * Loads entities by single query, single entity is loaded through persistence context
+     */
+    private <E> Map<Long, E> load(Class<E> entityClass, Set<Long> ids) {
+
+        Map<Long, E> loadedEntities = new HashMap<>();
+
+        if (ids.size() == 1) {
+            Long id = ids.iterator().next();
+            E entity = entityManager.find(entityClass, id);
+
+            if (entity != null) {
+                loadedEntities.put(id, entity);
+            }
+
+            return loadedEntities;
+        }
+
+        EntityType<E> entityType = entityManager.getMetamodel().entity(entityClass);
+        String idAttribute = entityType.getId(Long.class).getName();
+
+        List<E> entities = entityManager.createQuery("SELECT e FROM " + entityType.getName() + " e WHERE e." + idAttribute + " IN :ids", entityClass)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        for (E entity : entities) {
+            loadedEntities.put((Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity), entity);
+        }
+
+        return loadedEntities;
+    }
+
+    private RequestCache currentCache() {
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes == null) {
+            return null;
+        }
+
+        RequestCache cache = (RequestCache) attributes.getAttribute(CACHE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+
+        if (cache == null) {
+            cache = new RequestCache();
+            attributes.setAttribute(CACHE_ATTRIBUTE, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+
+        return cache;
+    }
+
+    /**
+     * Entities and queued ids of single request, accessed only by thread handling the request
+     */
+    private static final class RequestCache {
+
+        private final Map<Class<?>, Map<Long, Object>> entities = new HashMap<>();
+        private final Map<Class<?>, Set<Long>> queued = new HashMap<>();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.Utility;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Component failing on lazy loading outside of transaction. Every read of controller path is expected to load
+ * what it needs inside transaction of service layer, so lazy collection or proxy initialized later, for example
+ * during mapping or serialization, is a missing fetch. Guard is meant for tests and is disabled by default
+ *
+ * @author Thorvas
+ */
+@Component
+public class LazyLoadGuard {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${jpa.lazy-load-guard.enabled:false}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+
+        if (!enabled) {
+            return;
+        }
+
+        EventListenerRegistry listenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        listenerRegistry.prependListeners(EventType.INIT_COLLECTION, (InitializeCollectionEventListener) event ->
+                checkTransaction("collection " + event.getCollection().getRole()));
+
+        // Proxies are initialized by immediate load, other load types are explicit lookups
+        listenerRegistry.prependListeners(EventType.LOAD, (LoadEventListener) (event, loadType) -> {
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+                checkTransaction("entity " + event.getEntityClassName() + "#" + event.getEntityId());
+            }
+        });
+    }
+
+    private static void checkTransaction(String loaded) {
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+
+            throw new IllegalStateException("Lazy loading of " + loaded + " outside of transaction");
+        }
+    }
+}
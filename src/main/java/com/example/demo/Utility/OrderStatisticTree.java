@@ -0,0 +1,271 @@
+package com.example.demo.Utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sorted set that answers rank and select queries in O(log n). It is implemented as treap whose nodes keep
+ * size of their subtrees. Class is not thread safe, callers have to synchronize access
+ *
+ * @param <T> Type of stored elements
+ * @author Thorvas
+ */
+public class OrderStatisticTree<T> {
+
+    private final Comparator<? super T> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+
+    private Node<T> root;
+
+    private static final class Node<T> {
+
+        private final T value;
+        private final int priority;
+        private int size = 1;
+        private Node<T> left;
+        private Node<T> right;
+
+        private Node(T value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Splitted tree, left part contains elements before split key, right part the rest
+     */
+    private record Split<T>(Node<T> left, Node<T> right) {
+    }
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+
+        this.comparator = comparator;
+    }
+
+    /**
+     * Adds element to tree
+     *
+     * @param value Added element
+     * @return True if element was added, false if equal element is already present
+     */
+    public boolean add(T value) {
+
+        if (this.contains(value)) {
+
+            return false;
+        }
+
+        Split<T> split = this.split(root, value, false);
+        root = this.merge(this.merge(split.left(), new Node<>(value, random.nextInt())), split.right());
+
+        return true;
+    }
+
+    /**
+     * Removes element from tree
+     *
+     * @param value Removed element
+     * @return True if element was present
+     */
+    public boolean remove(T value) {
+
+        Split<T> lower = this.split(root, value, false);
+        Split<T> upper = this.split(lower.right(), value, true);
+
+        root = this.merge(lower.left(), upper.right());
+
+        return upper.left() != null;
+    }
+
+    /**
+     * Checks whether tree contains element equal to given one
+     *
+     * @param value Searched element
+     * @return Boolean result of check
+     */
+    public boolean contains(T value) {
+
+        Node<T> node = root;
+
+        while (node != null) {
+            int comparison = comparator.compare(value, node.value);
+
+            if (comparison == 0) {
+                return true;
+            }
+
+            node = comparison < 0 ? node.left : node.right;
+        }
+
+        return false;
+    }
+
+    /**
+     * Counts elements lower than given one, which is zero based position of element in sorted order
+     *
+     * @param value Inspected element, it does not have to be present in tree
+     * @return Number of lower elements
+     */
+    public int rank(T value) {
+
+        int rank = 0;
+        Node<T> node = root;
+
+        while (node != null) {
+            if (comparator.compare(value, node.value) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Returns element at given zero based position in sorted order
+     *
+     * @param index Position of element
+     * @return Element at position
+     */
+    public T select(int index) {
+
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + this.size());
+        }
+
+        Node<T> node = root;
+
+        while (true) {
+            int leftSize = size(node.left);
+
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns elements in sorted order starting from given position
+     *
+     * @param from  Zero based position of first returned element
+     * @param count Maximum number of returned elements
+     * @return Elements in sorted order
+     */
+    public List<T> range(int from, int count) {
+
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(count, this.size() - from)));
+        this.collect(root, Math.max(0, from), count, result);
+
+        return result;
+    }
+
+    public int size() {
+
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+
+        return root == null;
+    }
+
+    public void clear() {
+
+        root = null;
+    }
+
+    /**
+     * Collects elements of subtree in order, skipping first ones
+     *
+     * @param node   Root of subtree
+     * @param skip   Number of skipped elements of subtree
+     * @param count  Maximum number of collected elements
+     * @param result List that elements are collected into
+     */
+    private void collect(Node<T> node, int skip, int count, List<T> result) {
+
+        if (node == null || result.size() >= count || skip >= node.size) {
+            return;
+        }
+
+        int leftSize = size(node.left);
+
+        this.collect(node.left, skip, count, result);
+
+        if (skip <= leftSize && result.size() < count) {
+            result.add(node.value);
+        }
+
+        this.collect(node.right, Math.max(0, skip - leftSize - 1), count, result);
+    }
+
+    /**
+     * Splits tree into elements lower than key and the rest. When key is inclusive, elements equal to key go to left part
+     */
+    private Split<T> split(Node<T> node, T key, boolean inclusive) {
+
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+
+        int comparison = comparator.compare(node.value, key);
+
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            Split<T> split = this.split(node.right, key, inclusive);
+            node.right = split.left();
+            update(node);
+
+            return new Split<>(node, split.right());
+        }
+
+        Split<T> split = this.split(node.left, key, inclusive);
+        node.left = split.right();
+        update(node);
+
+        return new Split<>(split.left(), node);
+    }
+
+    /**
+     * Merges two trees, all elements of left tree have to be lower than elements of right tree
+     */
+    private Node<T> merge(Node<T> left, Node<T> right) {
+
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = this.merge(left.right, right);
+            update(left);
+
+            return left;
+        }
+
+        right.left = this.merge(left, right.left);
+        update(right);
+
+        return right;
+    }
+
+    private static <T> int size(Node<T> node) {
+
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> void update(Node<T> node) {
+
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.Volunteer;
+
+/**
+ * Way that interests given in volunteer search are matched
+ *
+ * @author Thorvas
+ */
+public enum InterestMatch {
+
+    /**
+     * Volunteer has every given interest
+     */
+    ALL,
+
+    /**
+     * Volunteer has at least one of given interests
+     */
+    ANY
+}
@@ -0,0 +1,21 @@
+package com.example.demo.Volunteer;
+
+import java.util.Comparator;
+
+/**
+ * Position of volunteer in reputation leaderboard
+ *
+ * @param volunteerId Id value of volunteer
+ * @param reputation  Reputation of volunteer
+ */
+public record LeaderboardEntry(
+        Long volunteerId,
+        int reputation
+) {
+
+    /**
+     * Order of leaderboard, higher reputation first and lower id on tie, so every volunteer has distinct position
+     */
+    public static final Comparator<LeaderboardEntry> LEADERBOARD_ORDER = Comparator.comparingInt(LeaderboardEntry::reputation).reversed()
+            .thenComparing(LeaderboardEntry::volunteerId);
+}
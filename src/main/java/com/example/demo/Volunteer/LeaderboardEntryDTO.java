@@ -0,0 +1,25 @@
+package com.example.demo.Volunteer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+/**
+ * Data Transfer Object for positions in reputation leaderboard
+ *
+ * @author Thorvas
+ */
+@Data
+@Relation(collectionRelation = "leaderboard", itemRelation = "position")
+public class LeaderboardEntryDTO extends RepresentationModel<LeaderboardEntryDTO> {
+
+    @JsonProperty(value = "rank")
+    private Integer rank;
+
+    @JsonProperty(value = "volunteerId")
+    private Long volunteerId;
+
+    @JsonProperty(value = "reputation")
+    private Integer reputation;
+}
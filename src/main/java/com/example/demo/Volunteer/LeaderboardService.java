@@ -0,0 +1,246 @@
+package com.example.demo.Volunteer;
+
+import com.example.demo.Error.VolunteerNotFoundException;
+import com.example.demo.Utility.OrderStatisticTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.hateoas.Link;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Service keeping leaderboard of volunteers ordered by reputation. Leaderboard is mirrored in memory
+ * in order statistic tree, so top volunteers, rank of volunteer and neighbours of volunteer are found in O(log n)
+ * without sorting volunteer table. It is streamed from database on startup and updated on every reputation change
+ *
+ * @author Thorvas
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_NEIGHBOURS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads share lock, reputation changes and swap of rebuilt leaderboard take exclusive lock
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private OrderStatisticTree<LeaderboardEntry> leaderboard = new OrderStatisticTree<>(LeaderboardEntry.LEADERBOARD_ORDER);
+    private Map<Long, LeaderboardEntry> entries = new HashMap<>();
+
+    /**
+     * Changes received while leaderboard is being rebuilt, replayed onto rebuilt leaderboard before it is swapped in
+     */
+    private List<ReputationChangedEvent> changesDuringRebuild;
+
+    /**
+     * Streams reputation of every volunteer from database into new leaderboard
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        lock.writeLock().lock();
+
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        OrderStatisticTree<LeaderboardEntry> rebuiltLeaderboard = new OrderStatisticTree<>(LeaderboardEntry.LEADERBOARD_ORDER);
+        Map<Long, LeaderboardEntry> rebuiltEntries = new HashMap<>();
+
+        try {
+            jdbcTemplate.query("SELECT id, reputation FROM volunteer", resultSet -> {
+                apply(rebuiltLeaderboard, rebuiltEntries, resultSet.getLong("id"), resultSet.getInt("reputation"));
+            });
+        } finally {
+            lock.writeLock().lock();
+
+            try {
+                changesDuringRebuild.forEach(change -> apply(rebuiltLeaderboard, rebuiltEntries, change.volunteerId(), change.reputation()));
+                changesDuringRebuild = null;
+
+                leaderboard = rebuiltLeaderboard;
+                entries = rebuiltEntries;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        log.info("Loaded {} volunteers into reputation leaderboard", rebuiltEntries.size());
+    }
+
+    /**
+     * Moves volunteer in leaderboard once change of reputation is committed
+     *
+     * @param event Published reputation event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReputationChanged(ReputationChangedEvent event) {
+
+        lock.writeLock().lock();
+
+        try {
+            apply(leaderboard, entries, event.volunteerId(), event.reputation());
+
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns part of leaderboard starting from given position
+     *
+     * @param offset Number of skipped best volunteers
+     * @param size   Number of returned positions, limited to 100
+     * @return Positions of leaderboard, best first
+     */
+    public List<LeaderboardEntryDTO> getTopVolunteers(int offset, int size) {
+
+        int from = Math.max(0, offset);
+        List<LeaderboardEntry> range;
+
+        lock.readLock().lock();
+
+        try {
+            range = leaderboard.range(from, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return this.toDTOs(from, range);
+    }
+
+    /**
+     * Returns position of volunteer in leaderboard
+     *
+     * @param volunteerId Id value of volunteer
+     * @return Position of volunteer
+     */
+    public LeaderboardEntryDTO getRank(Long volunteerId) {
+
+        LeaderboardEntry entry;
+        int rank;
+
+        lock.readLock().lock();
+
+        try {
+            entry = this.findEntry(volunteerId);
+            rank = leaderboard.rank(entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return this.toDTO(rank, entry);
+    }
+
+    /**
+     * Returns volunteers placed around given volunteer
+     *
+     * @param volunteerId Id value of volunteer
+     * @param count       Number of positions returned on each side of volunteer, limited to 50
+     * @return Positions of leaderboard around volunteer, including volunteer
+     */
+    public List<LeaderboardEntryDTO> getNeighbours(Long volunteerId, int count) {
+
+        int neighbours = Math.max(0, Math.min(count, MAX_NEIGHBOURS));
+
+        int from;
+        List<LeaderboardEntry> range;
+
+        lock.readLock().lock();
+
+        try {
+            int rank = leaderboard.rank(this.findEntry(volunteerId));
+            from = Math.max(0, rank - neighbours);
+            range = leaderboard.range(from, rank - from + neighbours + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return this.toDTOs(from, range);
+    }
+
+    private LeaderboardEntry findEntry(Long volunteerId) {
+
+        LeaderboardEntry entry = entries.get(volunteerId);
+
+        if (entry == null) {
+            throw new VolunteerNotFoundException("Requested volunteer could not be found");
+        }
+
+        return entry;
+    }
+
+    private List<LeaderboardEntryDTO> toDTOs(int from, List<LeaderboardEntry> range) {
+
+        List<LeaderboardEntryDTO> entryDTOs = new ArrayList<>(range.size());
+
+        for (int i = 0; i < range.size(); i++) {
+            entryDTOs.add(this.toDTO(from + i, range.get(i)));
+        }
+
+        return entryDTOs;
+    }
+
+    private LeaderboardEntryDTO toDTO(int index, LeaderboardEntry entry) {
+
+        LeaderboardEntryDTO entryDTO = new LeaderboardEntryDTO();
+        entryDTO.setRank(index + 1);
+        entryDTO.setVolunteerId(entry.volunteerId());
+        entryDTO.setReputation(entry.reputation());
+
+        Link volunteerLink = linkTo(methodOn(VolunteerController.class)
+                .getVolunteer(entry.volunteerId())).withRel("volunteer");
+
+        entryDTO.add(volunteerLink);
+
+        return entryDTO;
+    }
+
+    /**
+     * Replaces entry of volunteer. Null reputation removes volunteer from leaderboard
+     */
+    private static void apply(OrderStatisticTree<LeaderboardEntry> leaderboard, Map<Long, LeaderboardEntry> entries,
+                              Long volunteerId, Integer reputation) {
+
+        LeaderboardEntry previous = entries.remove(volunteerId);
+
+        if (previous != null) {
+            leaderboard.remove(previous);
+        }
+
+        if (reputation != null) {
+            LeaderboardEntry entry = new LeaderboardEntry(volunteerId, reputation);
+
+            entries.put(volunteerId, entry);
+            leaderboard.add(entry);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.Volunteer;
+
+/**
+ * Event published when reputation of volunteer changed, when volunteer was created or when volunteer was deleted
+ *
+ * @param volunteerId Id value of volunteer
+ * @param reputation  New reputation of volunteer, null when volunteer was deleted
+ */
+public record ReputationChangedEvent(
+        Long volunteerId,
+        Integer reputation
+) {
+}
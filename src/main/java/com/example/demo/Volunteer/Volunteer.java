@@ -1,9 +1,9 @@
 package com.example.demo.Volunteer;
 
+import com.example.demo.Interest.Interest;
 import com.example.demo.Opinion.Opinion;
 import com.example.demo.Project.Project;
 import com.example.demo.Request.VolunteerRequest;
-import com.example.demo.User.UserData;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
@@ -11,10 +11,13 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Class representing volunteer
@@ -25,7 +28,11 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 @Entity
-@Table(name = "volunteer")
+@Table(name = "volunteer", indexes = {
+        @Index(name = "idx_volunteer_surname", columnList = "surname, id"),
+        @Index(name = "idx_volunteer_reputation", columnList = "reputation, id"),
+        @Index(name = "idx_volunteer_birth_date", columnList = "birth_date, id")
+})
 @JsonIdentityInfo(
         generator = ObjectIdGenerators.PropertyGenerator.class,
         property = "id"
@@ -35,7 +42,7 @@ public class Volunteer {
     public Volunteer() {
 
         this.setOwnedProjects(new ArrayList<>());
-        this.setInterests(new ArrayList<>());
+        this.setInterests(new HashSet<>());
         this.setOpinions(new ArrayList<>());
         this.setParticipatingProjects(new ArrayList<>());
         this.setReceivedRequests(new ArrayList<>());
@@ -43,7 +50,8 @@ public class Volunteer {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "volunteer_seq")
+    @SequenceGenerator(name = "volunteer_seq", sequenceName = "volunteer_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name")
@@ -66,7 +74,10 @@ public class Volunteer {
     @OneToMany(mappedBy = "ownerVolunteer")
     private List<Project> ownedProjects;
 
-    @Column(name = "reputation")
+    /**
+     * Reputation is changed only by reputation aggregator and recompute with SQL deltas, so entity never writes back value it loaded
+     */
+    @Column(name = "reputation", updatable = false)
     private Integer reputation;
 
     @OneToMany(mappedBy = "requestSender")
@@ -75,11 +86,17 @@ public class Volunteer {
     @OneToMany(mappedBy = "requestReceiver")
     private List<VolunteerRequest> receivedRequests;
 
-    @ElementCollection
-    private List<String> interests;
-
-    @OneToOne(mappedBy = "referencedVolunteer")
-    private UserData userData;
+    /**
+     * Set is kept as persistent collection and changed in place, so only added and removed interests are written.
+     * Interests of volunteers loaded together are fetched in batches instead of one select per volunteer
+     */
+    @ManyToMany
+    @BatchSize(size = 100)
+    @JoinTable(name = "volunteer_interest",
+            joinColumns = @JoinColumn(name = "volunteer_id"),
+            inverseJoinColumns = @JoinColumn(name = "interest_id"),
+            indexes = @Index(name = "idx_volunteer_interest_interest", columnList = "interest_id, volunteer_id"))
+    private Set<Interest> interests;
 
     @OneToMany(mappedBy = "author")
     private List<Opinion> opinions;
@@ -0,0 +1,11 @@
+package com.example.demo.Volunteer;
+
+/**
+ * Event published when interests of volunteer changed or volunteer was deleted
+ *
+ * @param volunteerId Id value of volunteer
+ */
+public record VolunteerChangedEvent(
+        Long volunteerId
+) {
+}
@@ -0,0 +1,71 @@
+package com.example.demo.Volunteer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service responsible for removing volunteers that are not referenced by any user account.
+ * Such volunteers were left behind by failed registrations. Cleanup deletes data, so it runs only
+ * when enabled explicitly
+ *
+ * @author Thorvas
+ */
+@Service
+public class VolunteerCleanupService {
+
+    private static final Logger log = LoggerFactory.getLogger(VolunteerCleanupService.class);
+
+    @Autowired
+    private VolunteerRepository repository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${volunteer.orphan-cleanup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${volunteer.orphan-cleanup.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Removes orphaned volunteers in id-ordered batches. Every batch is deleted in its own transaction
+     *
+     * @return Number of removed volunteers, 0 if cleanup is disabled
+     */
+    @Scheduled(initialDelayString = "${volunteer.orphan-cleanup.initial-delay-ms:60000}", fixedDelayString = "${volunteer.orphan-cleanup.interval-ms:86400000}")
+    public long removeOrphanedVolunteers() {
+
+        if (!enabled) {
+            return 0;
+        }
+
+        long removed = 0;
+        long lastId = 0;
+        List<Long> orphanIds;
+
+        do {
+            orphanIds = repository.findOrphanIds(lastId, PageRequest.of(0, batchSize));
+
+            if (!orphanIds.isEmpty()) {
+
+                repository.deleteAllById(orphanIds);
+                orphanIds.forEach(orphanId -> eventPublisher.publishEvent(new ReputationChangedEvent(orphanId, null)));
+
+                removed += orphanIds.size();
+                lastId = orphanIds.get(orphanIds.size() - 1);
+            }
+        } while (orphanIds.size() == batchSize);
+
+        log.info("Removed {} volunteers without user account", removed);
+
+        return removed;
+    }
+}
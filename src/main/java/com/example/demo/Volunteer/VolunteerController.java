@@ -1,11 +1,14 @@
 package com.example.demo.Volunteer;
 
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Recommendation.RecommendedProjectDTO;
+import com.example.demo.Utility.BatchLookupDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.Link;
 import org.springframework.http.HttpStatus;
@@ -13,6 +16,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
@@ -31,29 +35,142 @@ public class VolunteerController {
     @Autowired
     private VolunteerService volunteerService;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private VolunteerProfileService volunteerProfileService;
+
     private final String RESOURCE_PATH_LINK = "resource-path";
 
     private Link rootLink() {
         String ROOT_LINK = "root";
         return linkTo(methodOn(VolunteerController.class)
-                .getVolunteers()).withRel(ROOT_LINK);
+                .getVolunteers(null, null, null, null, null, null, null, null, 20)).withRel(ROOT_LINK);
     }
 
     /**
-     * GET endpoint for volunteers. It retrieves list of all volunteers
+     * GET endpoint for volunteers. It retrieves page of volunteers matching optional filters
      *
-     * @return JSON response containing list of all volunteers
+     * @param surname       Beginning of surname of volunteers
+     * @param minReputation Lowest reputation of volunteers
+     * @param maxReputation Highest reputation of volunteers
+     * @param bornAfter     Earliest birth date of volunteers
+     * @param bornBefore    Latest birth date of volunteers
+     * @param interests     Interests of volunteers
+     * @param match         Whether volunteers have to have all given interests or any of them
+     * @param cursor        Cursor returned in next link of previous page
+     * @param size          Size of returned page, limited to 100
+     * @return JSON response containing page of volunteers with link to next page
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Returns list of volunteers", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<CollectionModel<VolunteerDTO>> getVolunteers() {
+    public ResponseEntity<CollectionModel<VolunteerDTO>> getVolunteers(@RequestParam(value = "surname", required = false) String surname,
+                                                                      @RequestParam(value = "minReputation", required = false) Integer minReputation,
+                                                                      @RequestParam(value = "maxReputation", required = false) Integer maxReputation,
+                                                                      @RequestParam(value = "bornAfter", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornAfter,
+                                                                      @RequestParam(value = "bornBefore", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornBefore,
+                                                                      @RequestParam(value = "interest", required = false) List<String> interests,
+                                                                      @RequestParam(value = "match", defaultValue = "ALL") InterestMatch match,
+                                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                                      @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        VolunteerPage volunteerPage = volunteerService.searchVolunteers(
+                new VolunteerFilter(surname, minReputation, maxReputation, bornAfter, bornBefore, interests, match), cursor, size);
+
+        Link selfLink = linkTo(methodOn(VolunteerController.class)
+                .getVolunteers(surname, minReputation, maxReputation, bornAfter, bornBefore, interests, match, cursor, size)).withRel(RESOURCE_PATH_LINK);
+
+        CollectionModel<VolunteerDTO> resource = CollectionModel.of(volunteerPage.volunteers(), selfLink);
+
+        if (volunteerPage.nextCursor() != null) {
+            resource.add(linkTo(methodOn(VolunteerController.class)
+                    .getVolunteers(surname, minReputation, maxReputation, bornAfter, bornBefore, interests, match, volunteerPage.nextCursor(), size)).withRel("next"));
+        }
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
 
-        List<VolunteerDTO> volunteerDTOs = volunteerService.searchVolunteers();
+    /**
+     * GET endpoint for volunteers with given ids. It replaces lookups of single volunteers by one request
+     *
+     * @param ids List of id values of retrieved volunteers, at most 100 distinct ones
+     * @return JSON response containing found volunteers in requested order and ids that were not found
+     */
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Retrieves volunteers with given ids", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BatchLookupDTO<VolunteerDTO>> getVolunteersByIds(@RequestParam("ids") List<Long> ids) {
+
+        BatchLookupDTO<VolunteerDTO> lookupDTO = volunteerService.searchVolunteers(ids);
 
         Link selfLink = linkTo(methodOn(VolunteerController.class)
-                .getVolunteers()).withRel(RESOURCE_PATH_LINK);
+                .getVolunteersByIds(ids)).withRel(RESOURCE_PATH_LINK);
+
+        lookupDTO.add(selfLink, rootLink());
 
-        CollectionModel<VolunteerDTO> resource = CollectionModel.of(volunteerDTOs, selfLink);
+        return new ResponseEntity<>(lookupDTO, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for reputation leaderboard. It retrieves volunteers with the highest reputation
+     *
+     * @param offset Number of skipped best volunteers
+     * @param size   Number of returned volunteers, limited to 100
+     * @return JSON response containing positions of leaderboard, best first
+     */
+    @GetMapping(value = "/leaderboard", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Returns volunteers with the highest reputation", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CollectionModel<LeaderboardEntryDTO>> getLeaderboard(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                                              @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        List<LeaderboardEntryDTO> entryDTOs = leaderboardService.getTopVolunteers(offset, size);
+
+        Link selfLink = linkTo(methodOn(VolunteerController.class)
+                .getLeaderboard(offset, size)).withRel(RESOURCE_PATH_LINK);
+
+        CollectionModel<LeaderboardEntryDTO> resource = CollectionModel.of(entryDTOs, selfLink, rootLink());
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for position of volunteer in reputation leaderboard
+     *
+     * @param id Long id value of inspected volunteer
+     * @return JSON response containing rank of volunteer
+     */
+    @GetMapping(value = "/{id}/rank", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Returns position of volunteer in reputation leaderboard", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<LeaderboardEntryDTO> getRank(@PathVariable Long id) {
+
+        LeaderboardEntryDTO entryDTO = leaderboardService.getRank(id);
+
+        Link selfLink = linkTo(methodOn(VolunteerController.class)
+                .getRank(id)).withRel(RESOURCE_PATH_LINK);
+
+        entryDTO.add(selfLink, rootLink());
+
+        return new ResponseEntity<>(entryDTO, HttpStatus.OK);
+    }
+
+    /**
+     * GET endpoint for volunteers placed around volunteer in reputation leaderboard
+     *
+     * @param id    Long id value of inspected volunteer
+     * @param count Number of volunteers returned above and below volunteer, limited to 50
+     * @return JSON response containing positions of leaderboard around volunteer
+     */
+    @GetMapping(value = "/{id}/rank/neighbours", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Returns volunteers placed around volunteer in reputation leaderboard", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CollectionModel<LeaderboardEntryDTO>> getRankNeighbours(@PathVariable Long id,
+                                                                                 @RequestParam(value = "count", defaultValue = "5") int count) {
+
+        List<LeaderboardEntryDTO> entryDTOs = leaderboardService.getNeighbours(id, count);
+
+        Link selfLink = linkTo(methodOn(VolunteerController.class)
+                .getRankNeighbours(id, count)).withRel(RESOURCE_PATH_LINK);
+
+        CollectionModel<LeaderboardEntryDTO> resource = CollectionModel.of(entryDTOs, selfLink, rootLink());
 
         return new ResponseEntity<>(resource, HttpStatus.OK);
     }
@@ -75,6 +192,33 @@ public class VolunteerController {
         return new ResponseEntity<>(volunteerDTO, HttpStatus.OK);
     }
 
+    /**
+     * GET endpoint for profile of volunteer. It returns volunteer together with counts and first pages
+     * of participated projects, owned projects and opinions
+     *
+     * @param id   Long id value of inspected volunteer
+     * @param size Size of first pages, limited to 20
+     * @return JSON response containing profile of volunteer
+     */
+    @GetMapping(value = "/{id}/profile", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Returns profile of volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<VolunteerProfileDTO> getProfile(@PathVariable Long id,
+                                                          @RequestParam(value = "size", defaultValue = "5") int size) {
+
+        VolunteerProfileDTO profileDTO = volunteerProfileService.getProfile(id, size);
+
+        Link selfLink = linkTo(methodOn(VolunteerController.class)
+                .getProfile(id, size)).withSelfRel();
+        Link allProjectsLink = linkTo(methodOn(VolunteerController.class)
+                .getProjects(id)).withRel("participated-projects");
+        Link allOwnedProjectsLink = linkTo(methodOn(VolunteerController.class)
+                .getOwnedProjects(id)).withRel("owned-projects");
+
+        profileDTO.add(selfLink, allProjectsLink, allOwnedProjectsLink, rootLink());
+
+        return new ResponseEntity<>(profileDTO, HttpStatus.OK);
+    }
+
     /**
      * GET endpoint for projects associated with certain volunteer
      *
@@ -115,6 +259,26 @@ public class VolunteerController {
         return new ResponseEntity<>(resource, HttpStatus.OK);
     }
 
+    /**
+     * GET endpoint for projects recommended to volunteer
+     *
+     * @param id Long id value of inspected volunteer
+     * @return JSON response containing list of recommended projects, the best one first
+     */
+    @GetMapping(value = "/{id}/recommended-projects", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Returns projects recommended to volunteer", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CollectionModel<RecommendedProjectDTO>> getRecommendedProjects(@PathVariable Long id) {
+
+        List<RecommendedProjectDTO> recommendedProjects = volunteerService.getRecommendedProjects(id);
+
+        Link selfLink = linkTo(methodOn(VolunteerController.class)
+                .getRecommendedProjects(id)).withRel(RESOURCE_PATH_LINK);
+
+        CollectionModel<RecommendedProjectDTO> resource = CollectionModel.of(recommendedProjects, selfLink, rootLink());
+
+        return new ResponseEntity<>(resource, HttpStatus.OK);
+    }
+
     /**
      * PUT endpoint for volunteers
      *
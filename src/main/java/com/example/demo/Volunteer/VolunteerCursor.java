@@ -0,0 +1,85 @@
+package com.example.demo.Volunteer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in volunteer list after last returned volunteer. It is passed to clients as opaque string
+ *
+ * @param sortKey Order of list that cursor belongs to
+ * @param id      Id value of last returned volunteer
+ * @param value   Value of sort key of last returned volunteer, null for list ordered by id
+ */
+public record VolunteerCursor(
+        VolunteerSortKey sortKey,
+        Long id,
+        String value
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates cursor pointing after given volunteer
+     *
+     * @param sortKey   Order of list
+     * @param volunteer Last returned volunteer
+     * @return Cursor of next page
+     */
+    public static VolunteerCursor after(VolunteerSortKey sortKey, Volunteer volunteer) {
+
+        String value = switch (sortKey) {
+            case ID -> null;
+            case SURNAME -> volunteer.getSurname();
+            case REPUTATION -> String.valueOf(volunteer.getReputation());
+            case BIRTH_DATE -> volunteer.getDateOfBirth().toString();
+        };
+
+        return new VolunteerCursor(sortKey, volunteer.getId(), value);
+    }
+
+    /**
+     * Decodes cursor received from client
+     *
+     * @param encoded Encoded cursor
+     * @return Decoded cursor
+     * @throws IllegalArgumentException When cursor is malformed
+     */
+    public static VolunteerCursor decode(String encoded) {
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 3);
+            VolunteerCursor cursor = new VolunteerCursor(VolunteerSortKey.valueOf(parts[0]), Long.valueOf(parts[1]), parts.length == 3 ? parts[2] : null);
+
+            // Values are parsed once here, so that malformed cursor is rejected before query is run
+            switch (cursor.sortKey()) {
+                case REPUTATION -> cursor.reputation();
+                case BIRTH_DATE -> cursor.birthDate();
+                default -> {
+                }
+            }
+
+            return cursor;
+        } catch (RuntimeException e) {
+
+            throw new IllegalArgumentException("Cursor is malformed", e);
+        }
+    }
+
+    public String encode() {
+
+        String raw = sortKey + SEPARATOR + id + (value == null ? "" : SEPARATOR + value);
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Integer reputation() {
+
+        return value == null ? null : Integer.valueOf(value);
+    }
+
+    public LocalDate birthDate() {
+
+        return value == null ? null : LocalDate.parse(value);
+    }
+}
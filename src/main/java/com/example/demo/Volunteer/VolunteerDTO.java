@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -49,9 +48,10 @@ public class VolunteerDTO extends RepresentationModel<VolunteerDTO> {
     @JsonProperty(value = "contact")
     private String contact;
 
-    @Min(value = 0)
-    @NotNull(message = "Popularity cannot be empty")
-    @JsonProperty(value = "reputation")
+    /**
+     * Reputation is computed from activity of volunteer, so it is never read from requests
+     */
+    @JsonProperty(value = "reputation", access = JsonProperty.Access.READ_ONLY)
     private Integer reputation;
 
     @NotNull(message = "Interests cannot be empty.")
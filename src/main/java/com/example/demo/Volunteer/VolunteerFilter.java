@@ -0,0 +1,70 @@
+package com.example.demo.Volunteer;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filters of volunteer list. Every filter is optional
+ *
+ * @param surnamePrefix Beginning of surname
+ * @param minReputation Lowest accepted reputation
+ * @param maxReputation Highest accepted reputation
+ * @param bornAfter     Earliest accepted birth date
+ * @param bornBefore    Latest accepted birth date
+ * @param interests     Terms of interests, empty when volunteers are not filtered by interests
+ * @param interestMatch Whether volunteer has to have all given interests or any of them
+ */
+public record VolunteerFilter(
+        String surnamePrefix,
+        Integer minReputation,
+        Integer maxReputation,
+        LocalDate bornAfter,
+        LocalDate bornBefore,
+        List<String> interests,
+        InterestMatch interestMatch
+) {
+
+    public VolunteerFilter {
+
+        interests = interests == null ? List.of() : List.copyOf(interests);
+        interestMatch = interestMatch == null ? InterestMatch.ALL : interestMatch;
+    }
+
+    /**
+     * Chooses order of results, so that most selective filter is answered by range scan of its index
+     *
+     * @return Sort key of volunteer list
+     */
+    public VolunteerSortKey sortKey() {
+
+        // Volunteers having interests are read from interest index, which keeps them in order of id
+        if (!interests.isEmpty()) {
+            return VolunteerSortKey.ID;
+        }
+        if (surnamePrefix != null) {
+            return VolunteerSortKey.SURNAME;
+        }
+        if (minReputation != null || maxReputation != null) {
+            return VolunteerSortKey.REPUTATION;
+        }
+        if (bornAfter != null || bornBefore != null) {
+            return VolunteerSortKey.BIRTH_DATE;
+        }
+
+        return VolunteerSortKey.ID;
+    }
+
+    /**
+     * Returns surname prefix as LIKE pattern, with wildcard characters of prefix escaped
+     *
+     * @return Pattern matching surnames starting with prefix, or null when prefix is not given
+     */
+    public String surnamePattern() {
+
+        if (surnamePrefix == null) {
+            return null;
+        }
+
+        return surnamePrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
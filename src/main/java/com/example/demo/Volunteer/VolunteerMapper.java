@@ -1,10 +1,13 @@
 package com.example.demo.Volunteer;
 
+import com.example.demo.Interest.Interest;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.hateoas.Link;
 import org.springframework.stereotype.Component;
 
+import java.util.stream.Collectors;
+
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
@@ -28,6 +31,10 @@ public class VolunteerMapper {
     public VolunteerDTO mapVolunteerToDTO(Volunteer volunteerToMap) {
 
         VolunteerDTO newDTO = modelMapper.map(volunteerToMap, VolunteerDTO.class);
+        newDTO.setInterests(volunteerToMap.getInterests().stream()
+                .map(Interest::getTerm)
+                .sorted()
+                .collect(Collectors.toList()));
 
         Link allProjectsLink = linkTo(methodOn(VolunteerController.class)
                 .getProjects(volunteerToMap.getId())).withRel("participated-projects");
@@ -0,0 +1,15 @@
+package com.example.demo.Volunteer;
+
+import java.util.List;
+
+/**
+ * Page of volunteer list
+ *
+ * @param volunteers Volunteers of page
+ * @param nextCursor Cursor of next page, null when page is last
+ */
+public record VolunteerPage(
+        List<VolunteerDTO> volunteers,
+        String nextCursor
+) {
+}
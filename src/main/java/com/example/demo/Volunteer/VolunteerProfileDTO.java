@@ -0,0 +1,34 @@
+package com.example.demo.Volunteer;
+
+import com.example.demo.Opinion.OpinionDTO;
+import com.example.demo.Project.ProjectDTO;
+import lombok.Data;
+import org.springframework.hateoas.RepresentationModel;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for profile of volunteer, containing volunteer together with counts
+ * and first pages of projects and opinions
+ *
+ * @author Thorvas
+ */
+@Data
+@Relation(itemRelation = "profile")
+public class VolunteerProfileDTO extends RepresentationModel<VolunteerProfileDTO> {
+
+    private VolunteerDTO volunteer;
+
+    private long participatingProjectCount;
+
+    private long ownedProjectCount;
+
+    private long opinionCount;
+
+    private List<ProjectDTO> participatingProjects;
+
+    private List<ProjectDTO> ownedProjects;
+
+    private List<OpinionDTO> opinions;
+}
@@ -0,0 +1,176 @@
+package com.example.demo.Volunteer;
+
+import com.example.demo.Opinion.OpinionController;
+import com.example.demo.Opinion.OpinionDTO;
+import com.example.demo.Project.ProjectController;
+import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Project.ProjectStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Service assembling profile of volunteer. Counts are read by one aggregated query and first pages of projects
+ * and opinions by one query each. Queries do not depend on each other, so they run concurrently on profile executor,
+ * while volunteer itself is loaded by calling thread
+ *
+ * @author Thorvas
+ */
+@Service
+public class VolunteerProfileService {
+
+    private static final int MAX_PAGE_SIZE = 20;
+
+    private static final String COUNTS_QUERY =
+            "SELECT (SELECT COUNT(*) FROM volunteer_project vp WHERE vp.volunteer_id = ?) AS participating, " +
+            "(SELECT COUNT(*) FROM project p WHERE p.volunteer_owner = ?) AS owned, " +
+            "(SELECT COUNT(*) FROM opinion o WHERE o.volunteer_id = ?) AS opinions";
+    private static final String PROJECT_COLUMNS =
+            "p.id, p.project_name, p.project_description, p.project_date, p.project_capacity, p.project_location, p.project_status";
+    private static final String PARTICIPATING_QUERY =
+            "SELECT " + PROJECT_COLUMNS + " FROM volunteer_project vp JOIN project p ON p.id = vp.project_id " +
+            "WHERE vp.volunteer_id = ? ORDER BY p.id DESC LIMIT ?";
+    private static final String OWNED_QUERY =
+            "SELECT " + PROJECT_COLUMNS + " FROM project p WHERE p.volunteer_owner = ? ORDER BY p.id DESC LIMIT ?";
+    private static final String OPINIONS_QUERY =
+            "SELECT o.id, o.opinion_content FROM opinion o WHERE o.volunteer_id = ? ORDER BY o.id DESC LIMIT ?";
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${volunteer.profile.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService profileExecutor;
+
+    @PostConstruct
+    public void init() {
+
+        profileExecutor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "volunteer-profile");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+
+        profileExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns profile of volunteer
+     *
+     * @param volunteerId Id value of volunteer
+     * @param size        Size of first pages of projects and opinions, limited to 20
+     * @return Profile of volunteer, newest projects and opinions first
+     */
+    public VolunteerProfileDTO getProfile(Long volunteerId, int size) {
+
+        int pageSize = Math.max(0, Math.min(size, MAX_PAGE_SIZE));
+
+        CompletableFuture<long[]> counts = this.supply(() -> jdbcTemplate.queryForObject(COUNTS_QUERY,
+                (resultSet, rowNum) -> new long[]{resultSet.getLong("participating"), resultSet.getLong("owned"), resultSet.getLong("opinions")},
+                volunteerId, volunteerId, volunteerId));
+        CompletableFuture<List<ProjectDTO>> participatingProjects = this.supply(() ->
+                jdbcTemplate.query(PARTICIPATING_QUERY, (resultSet, rowNum) -> mapProject(resultSet), volunteerId, pageSize));
+        CompletableFuture<List<ProjectDTO>> ownedProjects = this.supply(() ->
+                jdbcTemplate.query(OWNED_QUERY, (resultSet, rowNum) -> mapProject(resultSet), volunteerId, pageSize));
+        CompletableFuture<List<OpinionDTO>> opinions = this.supply(() ->
+                jdbcTemplate.query(OPINIONS_QUERY, (resultSet, rowNum) -> mapOpinion(resultSet), volunteerId, pageSize));
+
+        VolunteerProfileDTO profileDTO = new VolunteerProfileDTO();
+
+        try {
+            profileDTO.setVolunteer(volunteerService.searchVolunteer(volunteerId));
+        } catch (RuntimeException e) {
+            List.of(counts, participatingProjects, ownedProjects, opinions).forEach(future -> future.cancel(false));
+            throw e;
+        }
+
+        long[] foundCounts = await(counts);
+        profileDTO.setParticipatingProjectCount(foundCounts[0]);
+        profileDTO.setOwnedProjectCount(foundCounts[1]);
+        profileDTO.setOpinionCount(foundCounts[2]);
+        profileDTO.setParticipatingProjects(await(participatingProjects));
+        profileDTO.setOwnedProjects(await(ownedProjects));
+        profileDTO.setOpinions(await(opinions));
+
+        // Links are built from current request, so they are added on calling thread
+        profileDTO.getParticipatingProjects().forEach(VolunteerProfileService::addProjectLink);
+        profileDTO.getOwnedProjects().forEach(VolunteerProfileService::addProjectLink);
+        profileDTO.getOpinions().forEach(opinionDTO -> opinionDTO.add(linkTo(methodOn(OpinionController.class)
+                .getOpinion(opinionDTO.getId())).withSelfRel()));
+
+        return profileDTO;
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> query) {
+
+        return CompletableFuture.supplyAsync(query, profileExecutor);
+    }
+
+    /**
+     * Waits for result of sub-query and rethrows its failure as it was thrown
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void addProjectLink(ProjectDTO projectDTO) {
+
+        projectDTO.add(linkTo(methodOn(ProjectController.class).getProject(projectDTO.getId())).withSelfRel());
+    }
+
+    private static ProjectDTO mapProject(ResultSet resultSet) throws SQLException {
+
+        ProjectDTO projectDTO = new ProjectDTO();
+        projectDTO.setId(resultSet.getLong("id"));
+        projectDTO.setProjectName(resultSet.getString("project_name"));
+        projectDTO.setProjectDescription(resultSet.getString("project_description"));
+        projectDTO.setVolunteerCapacity(resultSet.getObject("project_capacity", Integer.class));
+        projectDTO.setProjectLocation(resultSet.getString("project_location"));
+
+        Date date = resultSet.getDate("project_date");
+        projectDTO.setProjectDate(date == null ? null : date.toLocalDate());
+
+        String status = resultSet.getString("project_status");
+        projectDTO.setProjectStatus(status == null ? null : ProjectStatus.valueOf(status));
+
+        return projectDTO;
+    }
+
+    private static OpinionDTO mapOpinion(ResultSet resultSet) throws SQLException {
+
+        OpinionDTO opinionDTO = new OpinionDTO();
+        opinionDTO.setId(resultSet.getLong("id"));
+        opinionDTO.setContent(resultSet.getString("opinion_content"));
+
+        return opinionDTO;
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.demo.Volunteer;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repository responsible for connection with volunteers in database
@@ -8,4 +14,65 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @author Thorvas
  */
 public interface VolunteerRepository extends JpaRepository<Volunteer, Long> {
+
+    /**
+     * Optional filters shared by all orders of volunteer list. Filter that is not given is bound as null
+     */
+    String FILTERS = "(:surnamePattern IS NULL OR v.surname LIKE :surnamePattern ESCAPE '!') " +
+            "AND (:minReputation IS NULL OR v.reputation >= :minReputation) " +
+            "AND (:maxReputation IS NULL OR v.reputation <= :maxReputation) " +
+            "AND (:bornAfter IS NULL OR v.dateOfBirth >= :bornAfter) " +
+            "AND (:bornBefore IS NULL OR v.dateOfBirth <= :bornBefore) ";
+
+    @Query("SELECT v.id FROM Volunteer v WHERE v.id > :afterId " +
+            "AND NOT EXISTS (SELECT u FROM UserData u WHERE u.referencedVolunteer = v) " +
+            "AND v.ownedProjects IS EMPTY AND v.participatingProjects IS EMPTY " +
+            "AND v.sentRequests IS EMPTY AND v.opinions IS EMPTY " +
+            "ORDER BY v.id")
+    List<Long> findOrphanIds(Long afterId, Pageable pageable);
+
+    @Query("SELECT v FROM Volunteer v WHERE " + FILTERS +
+            "AND v.id > :afterId ORDER BY v.id")
+    List<Volunteer> findPageById(String surnamePattern, Integer minReputation, Integer maxReputation,
+                                 LocalDate bornAfter, LocalDate bornBefore, Long afterId, Pageable pageable);
+
+    /**
+     * Searches for volunteers of driving interest having at least given number of interests. Join table is read
+     * through its index on interest and volunteer from position of previous page, so scan stops once page is filled
+     * instead of grouping every volunteer of given interests
+     */
+    @Query("SELECT v FROM Volunteer v JOIN v.interests i WHERE i.id = :drivingInterestId AND v.id > :afterId AND " + FILTERS +
+            "AND (SELECT COUNT(j) FROM Volunteer w JOIN w.interests j WHERE w = v AND j.id IN :interestIds) >= :requiredMatches " +
+            "ORDER BY v.id")
+    List<Volunteer> findPageByInterest(String surnamePattern, Integer minReputation, Integer maxReputation,
+                                       LocalDate bornAfter, LocalDate bornBefore, Long drivingInterestId,
+                                       Collection<Long> interestIds, long requiredMatches, Long afterId, Pageable pageable);
+
+    /**
+     * Orders interests by number of volunteers having them, so the most selective one comes first.
+     * Interests that no volunteer has are left out
+     */
+    @Query("SELECT i.id FROM Volunteer v JOIN v.interests i WHERE i.id IN :interestIds GROUP BY i.id ORDER BY COUNT(v)")
+    List<Long> findInterestIdsBySelectivity(Collection<Long> interestIds);
+
+    @Query("SELECT v FROM Volunteer v WHERE " + FILTERS +
+            "AND (:afterSurname IS NULL OR v.surname > :afterSurname OR (v.surname = :afterSurname AND v.id > :afterId)) " +
+            "ORDER BY v.surname, v.id")
+    List<Volunteer> findPageBySurname(String surnamePattern, Integer minReputation, Integer maxReputation,
+                                      LocalDate bornAfter, LocalDate bornBefore, String afterSurname, Long afterId, Pageable pageable);
+
+    @Query("SELECT v FROM Volunteer v WHERE " + FILTERS +
+            "AND (:afterReputation IS NULL OR v.reputation > :afterReputation OR (v.reputation = :afterReputation AND v.id > :afterId)) " +
+            "ORDER BY v.reputation, v.id")
+    List<Volunteer> findPageByReputation(String surnamePattern, Integer minReputation, Integer maxReputation,
+                                         LocalDate bornAfter, LocalDate bornBefore, Integer afterReputation, Long afterId, Pageable pageable);
+
+    @Query("SELECT v FROM Volunteer v WHERE " + FILTERS +
+            "AND (:afterBirthDate IS NULL OR v.dateOfBirth > :afterBirthDate OR (v.dateOfBirth = :afterBirthDate AND v.id > :afterId)) " +
+            "ORDER BY v.dateOfBirth, v.id")
+    List<Volunteer> findPageByBirthDate(String surnamePattern, Integer minReputation, Integer maxReputation,
+                                        LocalDate bornAfter, LocalDate bornBefore, LocalDate afterBirthDate, Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT v FROM Volunteer v LEFT JOIN FETCH v.interests WHERE v.id IN :ids")
+    List<Volunteer> findAllWithInterestsByIdIn(Collection<Long> ids);
 }
@@ -3,13 +3,25 @@ package com.example.demo.Volunteer;
 import com.example.demo.Error.CollectionEmptyException;
 import com.example.demo.Error.InsufficientPermissionsException;
 import com.example.demo.Error.VolunteerNotFoundException;
+import com.example.demo.Interest.Interest;
+import com.example.demo.Interest.InterestService;
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Recommendation.RecommendedProjectDTO;
 import com.example.demo.User.CustomUserDetails;
+import com.example.demo.Utility.BatchLookup;
+import com.example.demo.Utility.BatchLookupDTO;
+import com.example.demo.Utility.EntityLoader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -20,12 +32,24 @@ import java.util.stream.Collectors;
 @Service
 public class VolunteerService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCHED_INTERESTS = 10;
+
+    @Autowired
+    private EntityLoader entityLoader;
+
     @Autowired
     private VolunteerRepository repository;
 
     @Autowired
     VolunteerServiceFacade volunteerServiceFacade;
 
+    @Autowired
+    private InterestService interestService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Returns currently logged volunteer
      *
@@ -40,19 +64,32 @@ public class VolunteerService {
     }
 
     /**
-     * Updates interests of volunteer
+     * Returns id of currently logged volunteer without loading volunteer from database
+     *
+     * @return Id value of volunteer that is currently logged in SecurityContext
+     */
+    public Long getLoggedVolunteerId() {
+
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return userDetails.getUserData().getReferencedVolunteer().getId();
+    }
+
+    /**
+     * Updates interests of volunteer. Only interests that were added or removed are written
      *
      * @param volunteerId - Id value of updated volunteer
      * @param interests   Interests that will be contained within volunteer object
      * @return VolunteerDTO object that contains updated volunteer
      */
+    @Transactional
     public VolunteerDTO updateInterests(Long volunteerId, List<String> interests) {
 
-        Volunteer volunteer = this.findVolunteer(volunteerId);
+        Volunteer volunteer = this.findVolunteerAndQueueLogged(volunteerId);
 
         if (this.isMatchingVolunteer(this.getLoggedVolunteer(), volunteer) || volunteerServiceFacade.checkIfAdmin(this.getLoggedVolunteer())) {
 
-            volunteer.setInterests(interests);
+            this.replaceInterests(volunteer, interests);
 
             return volunteerServiceFacade.mapVolunteerToDTO(volunteer);
         }
@@ -62,21 +99,138 @@ public class VolunteerService {
     }
 
     /**
-     * Searches for existing volunteers
+     * Searches for volunteers matching filters, one page at a time. Page continues after position given by cursor
+     * instead of skipping rows, so its cost does not depend on number of volunteers or on how far client has paged
      *
-     * @return List of found volunteers
+     * @param filter Filters of volunteer list
+     * @param cursor Cursor returned with previous page, null for first page
+     * @param size   Size of returned page, limited to 100
+     * @return Page of found volunteers together with cursor of next page
      */
-    public List<VolunteerDTO> searchVolunteers() {
+    @Transactional(readOnly = true)
+    public VolunteerPage searchVolunteers(VolunteerFilter filter, String cursor, int size) {
 
-        List<Volunteer> foundVolunteers = repository.findAll();
+        VolunteerSortKey sortKey = filter.sortKey();
+        VolunteerCursor position = cursor == null ? null : VolunteerCursor.decode(cursor);
 
-        if (!foundVolunteers.isEmpty()) {
-            return foundVolunteers.stream()
-                    .map(volunteerServiceFacade::mapVolunteerToDTO)
-                    .collect(Collectors.toList());
+        if (position != null && position.sortKey() != sortKey) {
+
+            throw new IllegalArgumentException("Cursor does not belong to list with given filters");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One more volunteer is read to find out whether next page exists
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        Long afterId = position == null ? 0L : position.id();
+        String surnamePattern = filter.surnamePattern();
+
+        if (!filter.interests().isEmpty()) {
+
+            return this.searchVolunteersByInterests(filter, afterId, pageSize);
         }
 
-        throw new CollectionEmptyException("There are no volunteers in database");
+        List<Volunteer> foundVolunteers = switch (sortKey) {
+            case ID -> repository.findPageById(surnamePattern, filter.minReputation(), filter.maxReputation(),
+                    filter.bornAfter(), filter.bornBefore(), afterId, pageable);
+            case SURNAME -> repository.findPageBySurname(surnamePattern, filter.minReputation(), filter.maxReputation(),
+                    filter.bornAfter(), filter.bornBefore(), position == null ? null : position.value(), afterId, pageable);
+            case REPUTATION -> repository.findPageByReputation(surnamePattern, filter.minReputation(), filter.maxReputation(),
+                    filter.bornAfter(), filter.bornBefore(), position == null ? null : position.reputation(), afterId, pageable);
+            case BIRTH_DATE -> repository.findPageByBirthDate(surnamePattern, filter.minReputation(), filter.maxReputation(),
+                    filter.bornAfter(), filter.bornBefore(), position == null ? null : position.birthDate(), afterId, pageable);
+        };
+
+        return this.toPage(sortKey, foundVolunteers, pageSize);
+    }
+
+    /**
+     * Searches for volunteers by interests. Unknown terms cannot be matched by any volunteer, so they empty the result
+     * when all interests are required and are skipped when any interest is enough
+     *
+     * @param filter   Filters of volunteer list containing interests
+     * @param afterId  Id value of last volunteer of previous page
+     * @param pageSize Size of returned page
+     * @return Page of found volunteers together with cursor of next page
+     */
+    private VolunteerPage searchVolunteersByInterests(VolunteerFilter filter, Long afterId, int pageSize) {
+
+        Set<String> terms = InterestService.normalise(filter.interests());
+
+        if (terms.size() > MAX_SEARCHED_INTERESTS) {
+
+            throw new IllegalArgumentException("Volunteers can be searched by at most " + MAX_SEARCHED_INTERESTS + " interests");
+        }
+
+        List<Long> interestIds = interestService.findInterestIds(terms);
+
+        if (interestIds.isEmpty() || (filter.interestMatch() == InterestMatch.ALL && interestIds.size() < terms.size())) {
+            return new VolunteerPage(List.of(), null);
+        }
+
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        if (filter.interestMatch() == InterestMatch.ALL) {
+
+            List<Long> interestsBySelectivity = repository.findInterestIdsBySelectivity(interestIds);
+
+            // Interest that nobody has cannot be matched together with the others
+            if (interestsBySelectivity.size() < interestIds.size()) {
+                return new VolunteerPage(List.of(), null);
+            }
+
+            List<Volunteer> foundVolunteers = repository.findPageByInterest(filter.surnamePattern(), filter.minReputation(),
+                    filter.maxReputation(), filter.bornAfter(), filter.bornBefore(), interestsBySelectivity.get(0),
+                    interestIds, interestIds.size(), afterId, pageable);
+
+            return this.toPage(VolunteerSortKey.ID, foundVolunteers, pageSize);
+        }
+
+        // Page of any interest is made of first volunteers of every single interest, so each of them is read up to page size
+        TreeMap<Long, Volunteer> foundVolunteers = new TreeMap<>();
+
+        for (Long interestId : interestIds) {
+            repository.findPageByInterest(filter.surnamePattern(), filter.minReputation(), filter.maxReputation(),
+                            filter.bornAfter(), filter.bornBefore(), interestId, List.of(interestId), 1, afterId, pageable)
+                    .forEach(volunteer -> foundVolunteers.putIfAbsent(volunteer.getId(), volunteer));
+        }
+
+        return this.toPage(VolunteerSortKey.ID, foundVolunteers.values().stream()
+                .limit(pageSize + 1)
+                .collect(Collectors.toList()), pageSize);
+    }
+
+    /**
+     * Maps found volunteers to page. Volunteer read beyond page size only signals that next page exists
+     */
+    private VolunteerPage toPage(VolunteerSortKey sortKey, List<Volunteer> foundVolunteers, int pageSize) {
+
+        String nextCursor = null;
+
+        if (foundVolunteers.size() > pageSize) {
+            foundVolunteers = foundVolunteers.subList(0, pageSize);
+            nextCursor = VolunteerCursor.after(sortKey, foundVolunteers.get(pageSize - 1)).encode();
+        }
+
+        return new VolunteerPage(foundVolunteers.stream()
+                .map(volunteerServiceFacade::mapVolunteerToDTO)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Replaces interests of volunteer. Persistent set is changed in place instead of being replaced,
+     * so only rows of added and removed interests are written to join table
+     *
+     * @param volunteer Updated volunteer
+     * @param terms     Terms of new interests
+     */
+    private void replaceInterests(Volunteer volunteer, List<String> terms) {
+
+        Set<Interest> interests = interestService.resolveInterests(terms);
+
+        volunteer.getInterests().retainAll(interests);
+        volunteer.getInterests().addAll(interests);
+
+        eventPublisher.publishEvent(new VolunteerChangedEvent(volunteer.getId()));
     }
 
     /**
@@ -87,11 +241,22 @@ public class VolunteerService {
      */
     public Volunteer findVolunteer(Long id) {
 
-        if (repository.findById(id).isPresent()) {
-            return repository.findById(id).get();
-        }
+        return entityLoader.find(Volunteer.class, id)
+                .orElseThrow(() -> new VolunteerNotFoundException("Requested volunteer could not be found"));
+    }
+
+    /**
+     * Searches for volunteer that is going to be compared with logged volunteer. Logged volunteer is queued,
+     * so both volunteers are loaded by single query
+     *
+     * @param id Id value of searched volunteer
+     * @return Found volunteer
+     */
+    private Volunteer findVolunteerAndQueueLogged(Long id) {
 
-        throw new VolunteerNotFoundException("Requested volunteer could not be found");
+        entityLoader.queue(Volunteer.class, List.of(this.getLoggedVolunteerId()));
+
+        return this.findVolunteer(id);
     }
 
     /**
@@ -100,17 +265,32 @@ public class VolunteerService {
      * @param id Id of searched volunteer
      * @return Result of search containing found volunteer
      */
+    @Transactional(readOnly = true)
     public VolunteerDTO searchVolunteer(Long id) {
 
         return volunteerServiceFacade.mapVolunteerToDTO(this.findVolunteer(id));
     }
 
+    /**
+     * Searches for volunteers with given ids by single query
+     *
+     * @param ids Id values of volunteers, at most 100 distinct ones
+     * @return Found volunteers in requested order together with ids that were not found
+     */
+    @Transactional(readOnly = true)
+    public BatchLookupDTO<VolunteerDTO> searchVolunteers(List<Long> ids) {
+
+        return BatchLookup.lookup(ids, repository::findAllWithInterestsByIdIn, Volunteer::getId,
+                volunteerServiceFacade::mapVolunteerToDTO);
+    }
+
     /**
      * Searches for projects that volunteer participates in
      *
      * @param id Id value of inspected volunteer
      * @return List of projects associated with volunteer
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getParticipatingProjects(Long id) {
 
         Volunteer volunteer = this.findVolunteer(id);
@@ -125,12 +305,25 @@ public class VolunteerService {
         throw new CollectionEmptyException("Volunteer is not participating in any project yet.");
     }
 
+    /**
+     * Returns projects recommended to volunteer by overlap of volunteer's interests with categories of open projects
+     *
+     * @param id Id value of inspected volunteer
+     * @return List of recommended projects, the best one first
+     */
+    @Transactional(readOnly = true)
+    public List<RecommendedProjectDTO> getRecommendedProjects(Long id) {
+
+        return volunteerServiceFacade.getRecommendedProjects(id);
+    }
+
     /**
      * Searches for projects that volunteer owns
      *
      * @param id Id value of inspected volunteer
      * @return List of projects owned by volunteer
      */
+    @Transactional(readOnly = true)
     public List<ProjectDTO> getOwnedProjects(Long id) {
 
         Volunteer volunteer = this.findVolunteer(id);
@@ -161,9 +354,10 @@ public class VolunteerService {
      * @param volunteerId Id value of inspected volunteer
      * @return Deleted volunteer
      */
+    @Transactional
     public VolunteerDTO deleteVolunteer(Long volunteerId) {
 
-        Volunteer volunteer = this.findVolunteer(volunteerId);
+        Volunteer volunteer = this.findVolunteerAndQueueLogged(volunteerId);
 
         if (this.isMatchingVolunteer(this.getLoggedVolunteer(), volunteer) || volunteerServiceFacade.checkIfAdmin(this.getLoggedVolunteer())) {
 
@@ -171,6 +365,9 @@ public class VolunteerService {
 
             repository.delete(volunteer);
 
+            eventPublisher.publishEvent(new VolunteerChangedEvent(volunteerId));
+            eventPublisher.publishEvent(new ReputationChangedEvent(volunteerId, null));
+
             return volunteerDTO;
         }
 
@@ -184,14 +381,18 @@ public class VolunteerService {
      * @param volunteerDTO VolunteerDTO object representing new data
      * @return Updated volunteer
      */
+    @Transactional
     public VolunteerDTO updateVolunteer(Long volunteerId, VolunteerDTO volunteerDTO) {
 
-        Volunteer sourceVolunteer = this.findVolunteer(volunteerId);
+        Volunteer sourceVolunteer = this.findVolunteerAndQueueLogged(volunteerId);
         volunteerDTO.setId(volunteerId);
 
         if (this.isMatchingVolunteer(sourceVolunteer, this.getLoggedVolunteer()) || volunteerServiceFacade.checkIfAdmin(this.getLoggedVolunteer())) {
 
             volunteerServiceFacade.mapDTOToVolunteer(volunteerDTO, sourceVolunteer);
+            if (volunteerDTO.getInterests() != null) {
+                this.replaceInterests(sourceVolunteer, volunteerDTO.getInterests());
+            }
 
             repository.save(sourceVolunteer);
 
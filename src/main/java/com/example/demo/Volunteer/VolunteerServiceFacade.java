@@ -2,9 +2,13 @@ package com.example.demo.Volunteer;
 
 import com.example.demo.Project.Project;
 import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Recommendation.RecommendationService;
+import com.example.demo.Recommendation.RecommendedProjectDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class VolunteerServiceFacade {
 
@@ -14,6 +18,9 @@ public class VolunteerServiceFacade {
     @Autowired
     private VolunteerAuthenticationManager volunteerAuthenticationManager;
 
+    @Autowired
+    private RecommendationService recommendationService;
+
     public void mapDTOToVolunteer(VolunteerDTO volunteerDTO, Volunteer volunteer) {
 
         this.volunteerUtilityMapper.mapDTOToVolunteer(volunteerDTO, volunteer);
@@ -34,5 +41,10 @@ public class VolunteerServiceFacade {
         return this.volunteerUtilityMapper.mapProjectToDTO(project);
     }
 
+    public List<RecommendedProjectDTO> getRecommendedProjects(Long volunteerId) {
+
+        return this.recommendationService.getRecommendedProjects(volunteerId);
+    }
+
 
 }
@@ -0,0 +1,13 @@
+package com.example.demo.Volunteer;
+
+/**
+ * Enum representing order of volunteer list. Every order ends with id, so that position in list is unique
+ *
+ * @author Thorvas
+ */
+public enum VolunteerSortKey {
+    ID,
+    SURNAME,
+    REPUTATION,
+    BIRTH_DATE
+}
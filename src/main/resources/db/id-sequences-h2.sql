@@ -0,0 +1,36 @@
+-- Moves id generation of existing H2 database from identity columns to sequences of entity generators.
+-- Sequences are incremented by allocation size of generators and start after highest existing id, so ids
+-- assigned by pooled-lo optimizer never collide with existing rows. Archived requests keep ids of requests,
+-- so sequence of requests also starts after highest archived id. Run once, with application stopped.
+
+CREATE SEQUENCE IF NOT EXISTS volunteer_seq INCREMENT BY 50;
+ALTER SEQUENCE volunteer_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM volunteer);
+ALTER TABLE volunteer ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS project_seq INCREMENT BY 50;
+ALTER SEQUENCE project_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM project);
+ALTER TABLE project ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS opinion_seq INCREMENT BY 50;
+ALTER SEQUENCE opinion_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM opinion);
+ALTER TABLE opinion ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS category_seq INCREMENT BY 50;
+ALTER SEQUENCE category_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM category);
+ALTER TABLE category ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS interest_seq INCREMENT BY 50;
+ALTER SEQUENCE interest_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM interest);
+ALTER TABLE interest ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_seq INCREMENT BY 50;
+ALTER SEQUENCE refresh_tokens_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM refresh_tokens);
+ALTER TABLE refresh_tokens ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS volunteer_requests_seq INCREMENT BY 50;
+ALTER SEQUENCE volunteer_requests_seq RESTART WITH (SELECT GREATEST(COALESCE((SELECT MAX(id) FROM volunteer_requests), 0), COALESCE((SELECT MAX(id) FROM volunteer_requests_archive), 0)) + 1);
+ALTER TABLE volunteer_requests ALTER COLUMN id DROP IDENTITY;
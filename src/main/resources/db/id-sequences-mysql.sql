@@ -0,0 +1,37 @@
+-- Moves id generation of existing MySQL database from auto increment columns to generators of entities.
+-- MySQL has no sequences, so Hibernate keeps next value of every generator in single row table and reserves
+-- blocks of 50 ids from it. Tables start after highest existing id, so ids assigned by pooled-lo optimizer
+-- never collide with existing rows. Archived requests keep ids of requests, so generator of requests also
+-- starts after highest archived id. Run once, with application stopped.
+
+CREATE TABLE volunteer_seq (next_val BIGINT);
+INSERT INTO volunteer_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM volunteer;
+ALTER TABLE volunteer MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE project_seq (next_val BIGINT);
+INSERT INTO project_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM project;
+ALTER TABLE project MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE opinion_seq (next_val BIGINT);
+INSERT INTO opinion_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM opinion;
+ALTER TABLE opinion MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE category_seq (next_val BIGINT);
+INSERT INTO category_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM category;
+ALTER TABLE category MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE users_seq (next_val BIGINT);
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM users;
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE interest_seq (next_val BIGINT);
+INSERT INTO interest_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM interest;
+ALTER TABLE interest MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE refresh_tokens_seq (next_val BIGINT);
+INSERT INTO refresh_tokens_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM refresh_tokens;
+ALTER TABLE refresh_tokens MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE volunteer_requests_seq (next_val BIGINT);
+INSERT INTO volunteer_requests_seq (next_val) SELECT GREATEST(COALESCE((SELECT MAX(id) FROM volunteer_requests), 0), COALESCE((SELECT MAX(id) FROM volunteer_requests_archive), 0)) + 1;
+ALTER TABLE volunteer_requests MODIFY id BIGINT NOT NULL;
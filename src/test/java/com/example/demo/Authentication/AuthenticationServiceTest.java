@@ -0,0 +1,112 @@
+package com.example.demo.Authentication;
+
+import com.example.demo.User.UserDataRepository;
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerCleanupService;
+import com.example.demo.Volunteer.VolunteerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AuthenticationService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "volunteer.orphan-cleanup.enabled=true"
+})
+public class AuthenticationServiceTest {
+
+    private static final int CONCURRENT_REGISTRATIONS = 16;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private VolunteerCleanupService volunteerCleanupService;
+
+    @Autowired
+    private UserDataRepository userRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Test
+    public void concurrentRegistrationOfSameUsername_shouldCreateSingleUserWithoutOrphans() throws Exception {
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername("concurrent-user");
+        request.setPassword("password");
+
+        long volunteersBefore = volunteerRepository.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REGISTRATIONS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Optional<AuthenticationResponse>>> results = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                return authenticationService.register(request);
+            }));
+        }
+
+        startSignal.countDown();
+
+        int successfulRegistrations = 0;
+
+        for (Future<Optional<AuthenticationResponse>> result : results) {
+            if (result.get().isPresent()) {
+                successfulRegistrations++;
+            }
+        }
+
+        executor.shutdown();
+
+        assertEquals(1, successfulRegistrations);
+        assertTrue(userRepository.findByUsername("concurrent-user").isPresent());
+        assertEquals(volunteersBefore + 1, volunteerRepository.count());
+    }
+
+    @Test
+    public void removeOrphanedVolunteers_shouldKeepVolunteersOfRegisteredUsers() {
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername("registered-user");
+        request.setPassword("password");
+
+        authenticationService.register(request);
+
+        List<Long> orphanIds = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            Volunteer orphan = new Volunteer();
+            orphan.setName("Orphan");
+            orphan.setSurname("Orphan");
+            orphan.setDateOfBirth(LocalDate.of(2000, 12, 12));
+            orphan.setReputation(0);
+            orphanIds.add(volunteerRepository.save(orphan).getId());
+        }
+
+        assertTrue(volunteerCleanupService.removeOrphanedVolunteers() >= orphanIds.size());
+        assertTrue(volunteerRepository.findAllById(orphanIds).isEmpty());
+
+        Volunteer registeredVolunteer = userRepository.findByUsername("registered-user").orElseThrow().getReferencedVolunteer();
+
+        assertNotNull(registeredVolunteer);
+        assertTrue(volunteerRepository.existsById(registeredVolunteer.getId()));
+    }
+}
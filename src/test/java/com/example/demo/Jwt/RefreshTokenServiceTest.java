@@ -0,0 +1,97 @@
+package com.example.demo.Jwt;
+
+import com.example.demo.Authentication.AuthenticationRequest;
+import com.example.demo.Authentication.AuthenticationResponse;
+import com.example.demo.Authentication.AuthenticationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for rotation of refresh tokens
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "rate-limit.enabled=false"
+})
+public class RefreshTokenServiceTest {
+
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    public void rotateRefreshToken_shouldIssueNewTokenAndRejectReusedOne() {
+
+        String refreshToken = this.register("rotating-user");
+
+        Optional<RefreshTokenService.IssuedRefreshToken> rotated = refreshTokenService.rotateRefreshToken(refreshToken);
+
+        assertTrue(rotated.isPresent());
+        assertEquals("rotating-user", rotated.get().username());
+        assertNotEquals(refreshToken, rotated.get().refreshToken());
+
+        assertTrue(refreshTokenService.rotateRefreshToken(refreshToken).isEmpty());
+        assertTrue(refreshTokenService.rotateRefreshToken(rotated.get().refreshToken()).isPresent());
+    }
+
+    @Test
+    public void concurrentRotationOfSameToken_shouldSucceedOnlyOnce() throws Exception {
+
+        String refreshToken = this.register("concurrent-refresh");
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REFRESHES);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<Optional<RefreshTokenService.IssuedRefreshToken>>> results = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+            results.add(executor.submit(() -> {
+                startSignal.await();
+                return refreshTokenService.rotateRefreshToken(refreshToken);
+            }));
+        }
+
+        startSignal.countDown();
+
+        int successfulRotations = 0;
+
+        for (Future<Optional<RefreshTokenService.IssuedRefreshToken>> result : results) {
+            if (result.get().isPresent()) {
+                successfulRotations++;
+            }
+        }
+
+        executor.shutdown();
+
+        assertEquals(1, successfulRotations);
+    }
+
+    private String register(String username) {
+
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setUsername(username);
+        request.setPassword("password");
+
+        Optional<AuthenticationResponse> response = authenticationService.register(request);
+
+        assertTrue(response.isPresent());
+
+        return response.get().getRefreshToken();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.Jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Tests for TokenRevocationService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+public class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @SpyBean
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Test
+    public void revokeDuringRebuild_shouldStayRevokedAfterFilterIsSwapped() throws Exception {
+
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(1));
+        String revokedBefore = UUID.randomUUID().toString();
+        String revokedDuring = UUID.randomUUID().toString();
+
+        tokenRevocationService.revoke(revokedBefore, expiresAt);
+
+        List<String> activeJtis = revokedTokenRepository.findActiveJtis(Instant.now(), "", PageRequest.of(0, 10_000));
+        assertEquals(List.of(revokedBefore), activeJtis);
+
+        CountDownLatch pageRead = new CountDownLatch(1);
+        CountDownLatch revoked = new CountDownLatch(1);
+
+        // Rebuild reads active revocations, then waits until token is revoked into filter that is about to be replaced
+        doAnswer(invocation -> {
+            pageRead.countDown();
+            revoked.await(30, TimeUnit.SECONDS);
+            return activeJtis;
+        }).when(revokedTokenRepository).findActiveJtis(any(), any(), any());
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> rebuild = executor.submit(tokenRevocationService::rebuildFilter);
+
+        assertTrue(pageRead.await(30, TimeUnit.SECONDS));
+
+        tokenRevocationService.revoke(revokedDuring, expiresAt);
+        revoked.countDown();
+
+        rebuild.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertTrue(tokenRevocationService.isRevoked(revokedBefore));
+        assertTrue(tokenRevocationService.isRevoked(revokedDuring));
+        assertFalse(tokenRevocationService.isRevoked(UUID.randomUUID().toString()));
+    }
+}
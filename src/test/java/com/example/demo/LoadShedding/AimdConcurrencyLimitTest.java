@@ -0,0 +1,90 @@
+package com.example.demo.LoadShedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AimdConcurrencyLimit
+ *
+ * @author Thorvas
+ */
+public class AimdConcurrencyLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void tryAcquire_shouldRejectRequestsAboveLimit() {
+
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(3, 1, 10, 0.5, THRESHOLD);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release(FAST);
+
+        assertTrue(limit.tryAcquire());
+        assertEquals(3, limit.getInFlight());
+    }
+
+    @Test
+    public void release_shouldCutLimitOncePerWindowDownToMinimum() {
+
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(8, 2, 10, 0.5, THRESHOLD);
+        long now = SLOW;
+
+        // Requests that were running during the same slow period cut limit only once
+        for (int i = 0; i < 3; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 3; i++) {
+            limit.release(SLOW, now + i * FAST);
+        }
+
+        assertEquals(4, limit.getLimit());
+
+        // Every slow request that started after previous cut cuts limit again
+        for (int i = 0; i < 5; i++) {
+            now += 2 * SLOW;
+            limit.tryAcquire();
+            limit.release(SLOW, now);
+        }
+
+        assertEquals(2, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    public void release_shouldGrowLimitOnlyWhenItIsUsed() {
+
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(4, 1, 10, 0.5, THRESHOLD);
+
+        // Single request at a time does not prove that higher concurrency is sustainable
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST);
+        }
+
+        assertEquals(4, limit.getLimit());
+
+        for (int round = 0; round < 100; round++) {
+            int acquired = 0;
+
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(FAST);
+            }
+        }
+
+        assertEquals(10, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.Project;
+
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests of ownership checks for volunteers owning thousands of projects
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+public class ProjectOwnershipTest {
+
+    private static final int OWNED_PROJECTS = 3_000;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Test
+    public void isProjectOwner_shouldAnswerWithoutLoadingOwnedProjects() {
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+        Volunteer otherVolunteer = volunteerRepository.save(this.createVolunteer());
+
+        List<Project> projects = new ArrayList<>(OWNED_PROJECTS);
+
+        for (int i = 0; i < OWNED_PROJECTS; i++) {
+            Project project = new Project();
+            project.setProjectName("Project");
+            project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+            project.setVolunteerCapacity(10);
+            project.setOwnerVolunteer(owner);
+            projects.add(project);
+        }
+
+        Long checkedProjectId = projectRepository.saveAll(projects).get(OWNED_PROJECTS - 1).getId();
+
+        assertTrue(projectService.isProjectOwner(checkedProjectId, owner.getId()));
+        assertFalse(projectService.isProjectOwner(checkedProjectId, otherVolunteer.getId()));
+        assertFalse(projectService.isProjectOwner(Long.MAX_VALUE, owner.getId()));
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Owner");
+        volunteer.setSurname("Owner");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
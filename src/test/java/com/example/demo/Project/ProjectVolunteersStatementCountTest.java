@@ -0,0 +1,99 @@
+package com.example.demo.Project;
+
+import com.example.demo.User.UserData;
+import com.example.demo.User.UserDataRepository;
+import com.example.demo.User.UserRole;
+import com.example.demo.Volunteer.Volunteer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts statements issued when participants of project are listed
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+public class ProjectVolunteersStatementCountTest {
+
+    private static final int PARTICIPANTS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserDataRepository userDataRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @WithMockUser
+    public void getVolunteers_shouldNotLoadUsersOfParticipants() throws Exception {
+
+        Project project = new Project();
+        project.setProjectName("Counted");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(PARTICIPANTS);
+
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            Volunteer volunteer = this.createUser("counted-user-" + i).getReferencedVolunteer();
+
+            if (i == 0) {
+                project.setOwnerVolunteer(volunteer);
+            }
+            project.addVolunteerToProject(volunteer);
+        }
+
+        Long projectId = projectRepository.save(project).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/v1/projects/{id}/volunteers", projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.volunteers.length()").value(PARTICIPANTS));
+
+        assertEquals(0, statistics.getEntityStatistics(UserData.class.getName()).getLoadCount());
+        // Project, its participants and single batch of interests of all participants, users are never read
+        assertEquals(3, statistics.getPrepareStatementCount(),
+                "Listing participants issued " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private UserData createUser(String username) {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Counted");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return userDataRepository.save(UserData.builder()
+                .username(username)
+                .password("password")
+                .role(UserRole.ROLE_VOLUNTEER)
+                .referencedVolunteer(volunteer)
+                .build());
+    }
+}
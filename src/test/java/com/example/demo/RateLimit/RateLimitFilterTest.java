@@ -0,0 +1,54 @@
+package com.example.demo.RateLimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Tests that made up bearer tokens do not get rate limit buckets of their own
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "rate-limit.enabled=true",
+        "rate-limit.auth.capacity=" + RateLimitFilterTest.CAPACITY,
+        "rate-limit.auth.refill-tokens=1",
+        "rate-limit.auth.refill-period=1h"
+})
+@AutoConfigureMockMvc
+public class RateLimitFilterTest {
+
+    static final int CAPACITY = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void login_shouldBeLimitedByAddressWhenBearerTokensAreFake() throws Exception {
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertNotEquals(429, this.login("Bearer " + UUID.randomUUID()));
+        }
+
+        assertEquals(429, this.login("Bearer " + UUID.randomUUID()));
+    }
+
+    private int login(String authHeader) throws Exception {
+
+        return mockMvc.perform(post("/api/v1/auth/login")
+                        .header("Authorization", authHeader)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"limited\",\"password\":\"password\"}"))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.RateLimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TokenBucket
+ *
+ * @author Thorvas
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void tryConsume_shouldAllowBurstUpToCapacityAndThenRefill() {
+
+        TokenBucket bucket = new TokenBucket(5, 10, SECOND, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(0));
+        }
+
+        long waitNanos = bucket.tryConsume(0);
+
+        assertEquals(SECOND / 10, waitNanos);
+        assertEquals(0, bucket.tryConsume(waitNanos));
+        assertTrue(bucket.tryConsume(waitNanos) > 0);
+    }
+
+    @Test
+    public void isIdle_shouldReportOnlyBucketsFullForIdleTime() {
+
+        TokenBucket bucket = new TokenBucket(5, 10, SECOND, 0);
+
+        bucket.tryConsume(0);
+
+        assertFalse(bucket.isIdle(SECOND / 10, SECOND));
+        assertTrue(bucket.isIdle(SECOND + SECOND / 10, SECOND));
+    }
+
+    @Test
+    public void concurrentConsumers_shouldNeverExceedCapacity() throws Exception {
+
+        int capacity = 1_000;
+        int threads = 8;
+        TokenBucket bucket = new TokenBucket(capacity, 1, TimeUnit.DAYS.toNanos(1), 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                startSignal.await();
+                for (int j = 0; j < capacity; j++) {
+                    if (bucket.tryConsume(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        startSignal.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(capacity, granted.get());
+    }
+
+    @Test
+    public void tryAcquire_shouldTrackSingleBucketPerClient() {
+
+        RateLimiter rateLimiter = new RateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "authRefillPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(rateLimiter, "projectsRefillPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(rateLimiter, "defaultRefillPeriod", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(rateLimiter, "projectsCapacity", 1_000_000L);
+        ReflectionTestUtils.setField(rateLimiter, "projectsRefillTokens", 1_000_000L);
+        rateLimiter.init();
+
+        int clients = 10_000;
+        int iterations = 2_000_000;
+        String[] keys = new String[clients];
+
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        for (int i = 0; i < iterations; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(RateLimitGroup.PROJECTS, keys[i % clients]));
+        }
+
+        assertEquals(clients, rateLimiter.getTrackedBuckets());
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.Recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RecommendationModel
+ *
+ * @author Thorvas
+ */
+public class RecommendationModelTest {
+
+    private static final int CATEGORIES = 30;
+    private static final int PROJECTS = 400;
+    private static final int VOLUNTEERS = 200;
+    private static final int TOP_K = 10;
+
+    @Test
+    public void recommend_shouldPreferPopularCategoriesAndFreePlaces() {
+
+        RecommendationModel model = new RecommendationModel();
+        model.putCategory(1L, 0);
+        model.putCategory(2L, 1000);
+
+        model.putProject(project(10L, 10, Set.of(), Set.of(1L)));
+        model.putProject(project(11L, 10, Set.of(), Set.of(2L)));
+        model.putProject(project(12L, 10, Set.of(7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L), Set.of(2L)));
+        model.putProject(project(13L, 1, Set.of(7L), Set.of(1L, 2L)));
+        model.putProject(project(14L, 10, Set.of(1L), Set.of(1L, 2L)));
+        model.putVolunteer(1L, Set.of(1L, 2L));
+
+        List<Long> recommendedIds = model.recommend(1L, TOP_K).stream()
+                .map(recommendation -> recommendation.project().id())
+                .toList();
+
+        // Full project 13 and project 14 that volunteer already participates in are not recommended
+        assertEquals(List.of(11L, 12L, 10L), recommendedIds);
+    }
+
+    @Test
+    public void recommend_shouldMatchBruteForceAfterUpdates() {
+
+        Random random = new Random(7);
+        RecommendationModel model = new RecommendationModel();
+        Map<Long, ProjectSnapshot> projects = new HashMap<>();
+        Map<Long, Set<Long>> volunteers = new HashMap<>();
+
+        for (long categoryId = 0; categoryId < CATEGORIES; categoryId++) {
+            model.putCategory(categoryId, random.nextInt(500));
+        }
+        for (long projectId = 0; projectId < PROJECTS; projectId++) {
+            ProjectSnapshot project = randomProject(random, projectId);
+            projects.put(projectId, project);
+            model.putProject(project);
+        }
+        for (long volunteerId = 0; volunteerId < VOLUNTEERS; volunteerId++) {
+            Set<Long> categoryIds = randomIds(random, 3, CATEGORIES);
+            volunteers.put(volunteerId, categoryIds);
+            model.putVolunteer(volunteerId, categoryIds);
+        }
+
+        // Replaced and removed projects and volunteers have to leave indexes of their old categories
+        for (int i = 0; i < 200; i++) {
+            long projectId = random.nextInt(PROJECTS);
+
+            if (random.nextBoolean()) {
+                ProjectSnapshot project = randomProject(random, projectId);
+                projects.put(projectId, project);
+                model.putProject(project);
+            } else {
+                projects.remove(projectId);
+                model.removeProject(projectId);
+            }
+
+            long volunteerId = random.nextInt(VOLUNTEERS);
+            Set<Long> categoryIds = randomIds(random, 3, CATEGORIES);
+            volunteers.put(volunteerId, categoryIds);
+            model.putVolunteer(volunteerId, categoryIds);
+        }
+
+        for (long volunteerId = 0; volunteerId < VOLUNTEERS; volunteerId++) {
+            final long scoredVolunteerId = volunteerId;
+            List<Recommendation> expected = projects.values().stream()
+                    .map(project -> new Recommendation(project, model.score(scoredVolunteerId, project)))
+                    .filter(recommendation -> recommendation.score() > 0)
+                    .sorted(RecommendationModel.RANKING)
+                    .limit(TOP_K)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, model.recommend(volunteerId, TOP_K));
+        }
+
+        Set<Long> interestedVolunteers = model.findInterestedVolunteers(Set.of(0L));
+
+        assertEquals(volunteers.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(0L))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet()), interestedVolunteers);
+    }
+
+    private static ProjectSnapshot randomProject(Random random, long projectId) {
+
+        int capacity = 1 + random.nextInt(10);
+
+        return project(projectId, capacity, randomIds(random, random.nextInt(capacity + 1), VOLUNTEERS), randomIds(random, 3, CATEGORIES));
+    }
+
+    private static Set<Long> randomIds(Random random, int count, int range) {
+
+        Set<Long> ids = new HashSet<>();
+
+        for (int i = 0; i < count; i++) {
+            ids.add((long) random.nextInt(range));
+        }
+
+        return ids;
+    }
+
+    private static ProjectSnapshot project(Long id, int capacity, Set<Long> participantIds, Set<Long> categoryIds) {
+
+        return new ProjectSnapshot(id, "Project" + id, "Lodz", null, capacity, participantIds, categoryIds);
+    }
+}
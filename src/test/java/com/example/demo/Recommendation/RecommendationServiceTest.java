@@ -0,0 +1,122 @@
+package com.example.demo.Recommendation;
+
+import com.example.demo.Category.Category;
+import com.example.demo.Category.CategoryRepository;
+import com.example.demo.Interest.InterestService;
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import com.example.demo.Project.ProjectUpdatedEvent;
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RecommendationService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+public class RecommendationServiceTest {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private InterestService interestService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void recommendations_shouldFollowChangesOfProject() throws Exception {
+
+        Category category = new Category();
+        category.setCategoryName("Recommended Gardening");
+        category.setCategoryPopularity(5);
+        categoryRepository.save(category);
+
+        Volunteer volunteer = this.createVolunteer();
+        volunteer.getInterests().addAll(interestService.resolveInterests(List.of("recommended  GARDENING")));
+        Long volunteerId = volunteerRepository.save(volunteer).getId();
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Garden");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setProjectDate(LocalDate.now().plusDays(10));
+        project.setVolunteerCapacity(3);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+        project.addCategoryToProject(category);
+        Long projectId = projectRepository.save(project).getId();
+
+        recommendationService.requestRebuild().get(30, TimeUnit.SECONDS);
+
+        assertEquals(List.of(projectId), this.recommendedIds(volunteerId));
+        // Owner participates in project, so it is not recommended back to the owner
+        assertTrue(recommendationService.getRecommendedProjects(owner.getId()).isEmpty());
+
+        jdbcTemplate.update("UPDATE project SET project_capacity = 1 WHERE id = ?", projectId);
+        eventPublisher.publishEvent(new ProjectUpdatedEvent(projectId));
+
+        this.awaitRecommendedIds(volunteerId, List.of());
+
+        jdbcTemplate.update("UPDATE project SET project_capacity = 2 WHERE id = ?", projectId);
+        eventPublisher.publishEvent(new ProjectUpdatedEvent(projectId));
+
+        this.awaitRecommendedIds(volunteerId, List.of(projectId));
+    }
+
+    private void awaitRecommendedIds(Long volunteerId, List<Long> expectedIds) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        while (!expectedIds.equals(this.recommendedIds(volunteerId)) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertEquals(expectedIds, this.recommendedIds(volunteerId));
+    }
+
+    private List<Long> recommendedIds(Long volunteerId) {
+
+        return recommendationService.getRecommendedProjects(volunteerId).stream()
+                .map(RecommendedProjectDTO::getId)
+                .toList();
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Volunteer");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
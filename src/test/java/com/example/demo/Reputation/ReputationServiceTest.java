@@ -0,0 +1,123 @@
+package com.example.demo.Reputation;
+
+import com.example.demo.Opinion.Opinion;
+import com.example.demo.Opinion.OpinionCreatedEvent;
+import com.example.demo.Opinion.OpinionDeletedEvent;
+import com.example.demo.Opinion.OpinionRepository;
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectFinishedEvent;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ReputationAggregator and ReputationRecomputeService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+public class ReputationServiceTest {
+
+    @Autowired
+    private ReputationAggregator reputationAggregator;
+
+    @Autowired
+    private ReputationRecomputeService reputationRecomputeService;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private OpinionRepository opinionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void reputation_shouldBeAggregatedFromEventsAndCorrectedByRecompute() {
+
+        Volunteer participant = volunteerRepository.save(this.createVolunteer());
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Finished cleanup");
+        project.setProjectStatus(ProjectStatus.STATUS_FINISHED);
+        project.setProjectDate(LocalDate.now().minusDays(1));
+        project.setVolunteerCapacity(5);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+        project.addVolunteerToProject(participant);
+        projectRepository.save(project);
+
+        Opinion opinion = new Opinion();
+        opinion.setOpinion("Well organised");
+        opinion.setAuthor(participant);
+        opinion.setDescribedProject(project);
+        opinionRepository.save(opinion);
+
+        reputationAggregator.onProjectFinished(new ProjectFinishedEvent(project.getId()));
+        reputationAggregator.onOpinionCreated(new OpinionCreatedEvent(opinion.getId(), participant.getId()));
+        // Opinion created and deleted between flushes cancels out without any write
+        reputationAggregator.onOpinionCreated(new OpinionCreatedEvent(-1L, participant.getId()));
+        reputationAggregator.onOpinionDeleted(new OpinionDeletedEvent(-1L, participant.getId()));
+        reputationAggregator.flush();
+
+        assertEquals(0, reputationAggregator.getPendingCount());
+        assertEquals(ReputationAggregator.PARTICIPATION_POINTS + ReputationAggregator.OPINION_POINTS, this.reputationOf(participant));
+        assertEquals(ReputationAggregator.PARTICIPATION_POINTS + ReputationAggregator.OWNERSHIP_POINTS, this.reputationOf(owner));
+
+        jdbcTemplate.update("UPDATE volunteer SET reputation = 100 WHERE id = ?", participant.getId());
+
+        ReputationDrift drift = reputationRecomputeService.recompute();
+
+        assertTrue(drift.checked() >= 2);
+        assertTrue(drift.corrected() >= 1);
+        assertTrue(drift.totalAbsoluteDrift() >= 100 - ReputationAggregator.PARTICIPATION_POINTS - ReputationAggregator.OPINION_POINTS);
+        assertEquals(ReputationAggregator.PARTICIPATION_POINTS + ReputationAggregator.OPINION_POINTS, this.reputationOf(participant));
+        assertEquals(ReputationAggregator.PARTICIPATION_POINTS + ReputationAggregator.OWNERSHIP_POINTS, this.reputationOf(owner));
+
+        assertEquals(0, reputationRecomputeService.recompute().corrected());
+
+        // Opinion is committed but its point is not flushed yet, recompute must not count it on top of pending delta
+        Opinion pendingOpinion = new Opinion();
+        pendingOpinion.setOpinion("Would join again");
+        pendingOpinion.setAuthor(participant);
+        pendingOpinion.setDescribedProject(project);
+        opinionRepository.save(pendingOpinion);
+        reputationAggregator.onOpinionCreated(new OpinionCreatedEvent(pendingOpinion.getId(), participant.getId()));
+
+        assertEquals(0, reputationRecomputeService.recompute().corrected());
+
+        reputationAggregator.flush();
+
+        assertEquals(ReputationAggregator.PARTICIPATION_POINTS + 2 * ReputationAggregator.OPINION_POINTS, this.reputationOf(participant));
+    }
+
+    private int reputationOf(Volunteer volunteer) {
+
+        return jdbcTemplate.queryForObject("SELECT reputation FROM volunteer WHERE id = ?", Integer.class, volunteer.getId());
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Reputation");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.Request;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Collects status events of committed transactions, the same way as statistics and streams receive them
+ *
+ * @author Thorvas
+ */
+public class CommittedStatusEvents {
+
+    private final List<RequestStatusEvent> events = new CopyOnWriteArrayList<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequestStatusChanged(RequestStatusEvent event) {
+
+        events.add(event);
+    }
+
+    public long count(Long requestId) {
+
+        return events.stream()
+                .filter(event -> event.requestId().equals(requestId))
+                .count();
+    }
+
+    public long count(Long requestId, RequestStatus status) {
+
+        return events.stream()
+                .filter(event -> event.requestId().equals(requestId) && event.status() == status)
+                .count();
+    }
+}
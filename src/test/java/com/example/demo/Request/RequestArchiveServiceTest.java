@@ -0,0 +1,195 @@
+package com.example.demo.Request;
+
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RequestArchiveService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+@Import(CommittedStatusEvents.class)
+public class RequestArchiveServiceTest {
+
+    private static final int REQUESTS_PER_KIND = 250;
+    private static final int BATCH_SIZE = 40;
+    private static final Instant CUTOFF = Instant.parse("2001-01-01T00:00:00Z");
+    private static final Instant OLD = Instant.parse("2000-01-01T00:00:00Z");
+
+    @Autowired
+    private RequestArchiveService archiveService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ArchivedRequestRepository archivedRequestRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CommittedStatusEvents committedEvents;
+
+    @Test
+    public void archival_shouldExpireStalePendingAndMoveOldResolvedRequestsInBatches() {
+
+        ReflectionTestUtils.setField(archiveService, "batchSize", BATCH_SIZE);
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+        Volunteer sender = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(10);
+        project.setOwnerVolunteer(owner);
+        projectRepository.save(project);
+
+        List<VolunteerRequest> requests = new ArrayList<>();
+
+        for (int i = 0; i < REQUESTS_PER_KIND; i++) {
+            requests.add(this.createRequest(sender, owner, project, RequestStatus.ACCEPTED, OLD, OLD));
+            requests.add(this.createRequest(sender, owner, project, RequestStatus.DECLINED, OLD, Instant.now()));
+        }
+
+        // Pending project is part of unique key, so only resolved requests can be created in bulk for one sender
+        requestRepository.saveAll(requests);
+
+        VolunteerRequest stalePending = requestRepository.save(this.createRequest(
+                volunteerRepository.save(this.createVolunteer()), owner, project, RequestStatus.PENDING, OLD, null));
+        VolunteerRequest freshPending = requestRepository.save(this.createRequest(
+                volunteerRepository.save(this.createVolunteer()), owner, project, RequestStatus.PENDING, Instant.now(), null));
+
+        double movedBefore = meterRegistry.counter("request.archive.moved").count();
+
+        assertEquals(1, archiveService.expirePendingRequests(CUTOFF));
+        assertEquals(RequestStatus.EXPIRED, requestRepository.findById(stalePending.getId()).orElseThrow().getStatus());
+        assertEquals(RequestStatus.PENDING, requestRepository.findById(freshPending.getId()).orElseThrow().getStatus());
+
+        // Expired request was resolved just now, so it is not archived yet
+        assertEquals(REQUESTS_PER_KIND, archiveService.archiveResolvedRequests(CUTOFF));
+        assertEquals(REQUESTS_PER_KIND, meterRegistry.counter("request.archive.moved").count() - movedBefore);
+
+        assertEquals(REQUESTS_PER_KIND, archivedRequestRepository.findBySenderIdAndStatus(
+                sender.getId(), RequestStatus.ACCEPTED, PageRequest.of(0, 1)).getTotalElements());
+        assertEquals(REQUESTS_PER_KIND, requestRepository.findByRequestSenderIdAndStatus(
+                sender.getId(), RequestStatus.DECLINED, PageRequest.of(0, 1)).getTotalElements());
+        assertEquals(0, requestRepository.findByRequestSenderIdAndStatus(
+                sender.getId(), RequestStatus.ACCEPTED, PageRequest.of(0, 1)).getTotalElements());
+
+        ArchivedRequest archivedRequest = archivedRequestRepository.findById(requests.get(0).getId()).orElseThrow();
+
+        assertEquals(owner.getId(), archivedRequest.getReceiverId());
+        assertEquals(project.getId(), archivedRequest.getProjectId());
+        assertEquals(OLD, archivedRequest.getResolvedAt());
+        assertNotNull(archivedRequest.getArchivedAt());
+
+        assertEquals(0, archiveService.archiveResolvedRequests(CUTOFF));
+    }
+
+    @Test
+    public void expiry_shouldSkipRequestDecidedAfterItWasRead() throws Exception {
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(10);
+        project.setOwnerVolunteer(owner);
+        projectRepository.save(project);
+
+        VolunteerRequest request = requestRepository.save(this.createRequest(
+                volunteerRepository.save(this.createVolunteer()), owner, project, RequestStatus.PENDING, OLD, null));
+
+        CountDownLatch declined = new CountDownLatch(1);
+        CountDownLatch commitDecision = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Decision holds lock of request until expiry has read it as pending and waits for it
+        Future<?> decision = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            requestRepository.updatePendingStatus(List.of(request.getId()), RequestStatus.DECLINED, Instant.now());
+            declined.countDown();
+
+            try {
+                commitDecision.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        assertTrue(declined.await(30, TimeUnit.SECONDS));
+
+        FutureTask<Long> expiry = new FutureTask<>(() -> archiveService.expirePendingRequests(CUTOFF));
+        Thread expiryThread = new Thread(expiry);
+        expiryThread.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (expiryThread.getState() == Thread.State.RUNNABLE && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        commitDecision.countDown();
+        decision.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(0, expiry.get(30, TimeUnit.SECONDS));
+        assertEquals(RequestStatus.DECLINED, requestRepository.findById(request.getId()).orElseThrow().getStatus());
+        assertEquals(0, committedEvents.count(request.getId(), RequestStatus.EXPIRED));
+    }
+
+    private VolunteerRequest createRequest(Volunteer sender, Volunteer receiver, Project project, RequestStatus status,
+                                           Instant createdAt, Instant resolvedAt) {
+
+        return VolunteerRequest.builder()
+                .requestSender(sender)
+                .requestReceiver(receiver)
+                .requestedProject(project)
+                .status(status)
+                .createdAt(createdAt)
+                .resolvedAt(resolvedAt)
+                .build();
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Volunteer");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.Request;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RequestCounters
+ *
+ * @author Thorvas
+ */
+public class RequestCountersTest {
+
+    @Test
+    public void add_shouldFollowStatusTransitions() {
+
+        RequestCounters counters = new RequestCounters();
+
+        counters.add(RequestStatus.PENDING, 1);
+        counters.add(RequestStatus.PENDING, 1);
+        counters.add(RequestStatus.PENDING, -1);
+        counters.add(RequestStatus.ACCEPTED, 1);
+
+        assertEquals(1, counters.getCount(RequestStatus.PENDING));
+        assertEquals(1, counters.getCount(RequestStatus.ACCEPTED));
+        assertEquals(0, counters.getCount(RequestStatus.DECLINED));
+        assertNull(counters.getMedianDecisionTime());
+
+        RequestCounters recounted = new RequestCounters();
+        recounted.add(RequestStatus.PENDING, 1);
+
+        assertFalse(counters.hasSameCounts(recounted));
+
+        recounted.add(RequestStatus.ACCEPTED, 1);
+
+        assertTrue(counters.hasSameCounts(recounted));
+    }
+
+    @Test
+    public void getMedianDecisionTime_shouldStayWithinBucketError() {
+
+        RequestCounters counters = new RequestCounters();
+        Random random = new Random(7);
+
+        // Two thirds of requests are decided within an hour, rest within a week, so exact median lies near 45 minutes
+        for (int i = 0; i < 30_000; i++) {
+            long seconds = i % 3 == 2 ? 3_600 + random.nextInt(600_000) : random.nextInt(3_600);
+            counters.recordDecision(Duration.ofSeconds(seconds));
+        }
+
+        long median = counters.getMedianDecisionTime().getSeconds();
+
+        assertEquals(30_000, counters.getDecisions());
+        assertTrue(Math.abs(median - 2_700) <= 2_700 * 0.13, "Median " + median + " is too far from 2700 seconds");
+    }
+}
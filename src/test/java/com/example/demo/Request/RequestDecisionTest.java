@@ -0,0 +1,156 @@
+package com.example.demo.Request;
+
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import com.example.demo.User.CustomUserDetails;
+import com.example.demo.User.UserData;
+import com.example.demo.User.UserDataRepository;
+import com.example.demo.User.UserRole;
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Tests that concurrent decisions about the same request change and publish it only once
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@Import(CommittedStatusEvents.class)
+public class RequestDecisionTest {
+
+    private static final int CONCURRENT_DECISIONS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDataRepository userDataRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private CommittedStatusEvents committedEvents;
+
+    @Test
+    public void concurrentAcceptsAndDeclines_shouldDecideRequestOnce() throws Exception {
+
+        UserData owner = this.createUser("deciding-owner");
+        Project project = projectRepository.save(this.createProject(owner.getReferencedVolunteer()));
+        VolunteerRequest request = this.createRequest(project, owner.getReferencedVolunteer());
+
+        List<MockHttpServletRequestBuilder> decisions = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_DECISIONS; i++) {
+            decisions.add(switch (i % 3) {
+                case 0 -> put("/api/v1/requests/{id}/accept", request.getId());
+                case 1 -> put("/api/v1/requests/{id}/decline", request.getId());
+                default -> put("/api/v1/requests/bulk/decline").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requestIds\":[" + request.getId() + "]}");
+            });
+        }
+
+        this.decideConcurrently(owner, decisions);
+
+        RequestStatus status = requestRepository.findById(request.getId()).orElseThrow().getStatus();
+
+        // Only the decision that changed request is published, others find it already decided
+        assertNotEquals(RequestStatus.PENDING, status);
+        assertEquals(1, committedEvents.count(request.getId()));
+        assertEquals(1, committedEvents.count(request.getId(), status));
+        assertEquals(status == RequestStatus.ACCEPTED ? 2 : 1, projectRepository.countParticipants(project.getId()));
+    }
+
+    private void decideConcurrently(UserData owner, List<MockHttpServletRequestBuilder> decisions) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(decisions.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (MockHttpServletRequestBuilder decision : decisions) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(decision.with(user(new CustomUserDetails(owner))));
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+    }
+
+    private VolunteerRequest createRequest(Project project, Volunteer owner) {
+
+        return requestRepository.save(VolunteerRequest.builder()
+                .requestSender(volunteerRepository.save(this.createVolunteer()))
+                .requestReceiver(owner)
+                .requestedProject(project)
+                .status(RequestStatus.PENDING)
+                .build());
+    }
+
+    private Project createProject(Volunteer owner) {
+
+        Project project = new Project();
+        project.setProjectName("Decided");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(10);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+
+        return project;
+    }
+
+    private UserData createUser(String username) {
+
+        return userDataRepository.save(UserData.builder()
+                .username(username)
+                .password("password")
+                .role(UserRole.ROLE_VOLUNTEER)
+                .referencedVolunteer(this.createVolunteer())
+                .build());
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Decided");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.Request;
+
+import com.example.demo.User.CustomUserDetails;
+import com.example.demo.User.UserData;
+import com.example.demo.User.UserDataRepository;
+import com.example.demo.User.UserRole;
+import com.example.demo.Volunteer.Volunteer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Tests that streams opened through request controller stay open without holding threads and receive events
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "rate-limit.enabled=false",
+        "request-stream.heartbeat-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+public class RequestStreamControllerTest {
+
+    private static final int VOLUNTEERS = 400;
+    private static final int STREAMS_PER_VOLUNTEER = 5;
+    private static final int SENDER_THREADS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDataRepository userDataRepository;
+
+    @Autowired
+    private RequestStreamService streamService;
+
+    @Test
+    public void openStreams_shouldStayOpenWithoutThreadsAndReceiveOwnEvents() throws Exception {
+
+        List<UserData> users = new ArrayList<>(VOLUNTEERS);
+
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            users.add(this.createUser("streaming-" + i));
+        }
+
+        int threadsBefore = Thread.activeCount();
+        List<List<MvcResult>> streams = new ArrayList<>(VOLUNTEERS);
+
+        for (UserData user : users) {
+            List<MvcResult> volunteerStreams = new ArrayList<>(STREAMS_PER_VOLUNTEER);
+
+            for (int i = 0; i < STREAMS_PER_VOLUNTEER; i++) {
+                volunteerStreams.add(mockMvc.perform(get("/api/v1/requests/stream")
+                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                .with(user(new CustomUserDetails(user))))
+                        .andExpect(request().asyncStarted())
+                        .andReturn());
+            }
+
+            streams.add(volunteerStreams);
+        }
+
+        // Open stream is only emitter waiting in async request, no thread is held by it
+        assertEquals(VOLUNTEERS * STREAMS_PER_VOLUNTEER, streamService.getSubscriberCount());
+        assertTrue(Thread.activeCount() - threadsBefore <= SENDER_THREADS);
+
+        for (List<MvcResult> volunteerStreams : streams) {
+            for (MvcResult stream : volunteerStreams) {
+                assertTrue(stream.getResponse().getContentAsString().startsWith(":connected"));
+            }
+        }
+
+        streamService.sendHeartbeats();
+        this.awaitContent(streams, content -> content.contains(":heartbeat"));
+
+        Long senderId = users.get(0).getReferencedVolunteer().getId();
+        Long receiverId = users.get(1).getReferencedVolunteer().getId();
+        streamService.onRequestStatusChanged(new RequestStatusEvent(1L, 1L, senderId, receiverId, RequestStatus.PENDING, null, Instant.now()));
+
+        this.awaitContent(streams.subList(0, 2), content -> content.contains("event:request-status"));
+
+        for (List<MvcResult> volunteerStreams : streams.subList(2, VOLUNTEERS)) {
+            for (MvcResult stream : volunteerStreams) {
+                assertFalse(stream.getResponse().getContentAsString().contains("event:request-status"));
+                assertTrue(stream.getRequest().isAsyncStarted());
+            }
+        }
+
+        assertEquals(VOLUNTEERS * STREAMS_PER_VOLUNTEER, streamService.getSubscriberCount());
+        assertTrue(Thread.activeCount() - threadsBefore <= SENDER_THREADS);
+    }
+
+    private void awaitContent(List<List<MvcResult>> streams, Predicate<String> condition) throws Exception {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+
+        for (List<MvcResult> volunteerStreams : streams) {
+            for (MvcResult stream : volunteerStreams) {
+                while (!condition.test(stream.getResponse().getContentAsString()) && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+
+                assertTrue(condition.test(stream.getResponse().getContentAsString()));
+            }
+        }
+    }
+
+    private UserData createUser(String username) {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Streaming");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return userDataRepository.save(UserData.builder()
+                .username(username)
+                .password("password")
+                .role(UserRole.ROLE_VOLUNTEER)
+                .referencedVolunteer(volunteer)
+                .build());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.Request;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RequestStreamService
+ *
+ * @author Thorvas
+ */
+public class RequestStreamServiceTest {
+
+    private static final int IDLE_SUBSCRIBERS = 10_000;
+    private static final int SENDER_THREADS = 4;
+
+    private RequestStreamService streamService;
+
+    @BeforeEach
+    public void setUp() {
+
+        streamService = new RequestStreamService();
+        ReflectionTestUtils.setField(streamService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(streamService, "bufferSize", 4);
+        ReflectionTestUtils.setField(streamService, "maxSubscriptionsPerVolunteer", 5);
+        ReflectionTestUtils.setField(streamService, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(streamService, "senderThreads", SENDER_THREADS);
+        ReflectionTestUtils.setField(streamService, "sendTimeout", Duration.ofMillis(100));
+        streamService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        streamService.shutdown();
+    }
+
+    @Test
+    public void idleSubscribers_shouldReceiveHeartbeatsAndOnlyOwnEvents() throws Exception {
+
+        List<CountingEmitter> emitters = new ArrayList<>(IDLE_SUBSCRIBERS);
+
+        for (long volunteerId = 0; volunteerId < IDLE_SUBSCRIBERS; volunteerId++) {
+            CountingEmitter emitter = new CountingEmitter();
+            emitters.add(emitter);
+            streamService.register(volunteerId, emitter);
+        }
+
+        assertEquals(IDLE_SUBSCRIBERS, streamService.getSubscriberCount());
+
+        streamService.sendHeartbeats();
+        awaitSent(emitters, IDLE_SUBSCRIBERS);
+
+        streamService.onRequestStatusChanged(new RequestStatusEvent(1L, 1L, 7L, 3L, RequestStatus.PENDING, null, Instant.now()));
+        awaitSent(emitters, IDLE_SUBSCRIBERS + 2);
+
+        assertEquals(2, emitters.get(7).sent.get());
+        assertEquals(2, emitters.get(3).sent.get());
+        assertEquals(1, emitters.get(5).sent.get());
+    }
+
+    @Test
+    public void slowSubscriber_shouldBeDisconnectedWithoutDelayingOthers() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingEmitter slowEmitter = new BlockingEmitter(release);
+        CountingEmitter fastEmitter = new CountingEmitter();
+
+        streamService.register(1L, slowEmitter);
+        streamService.register(1L, fastEmitter);
+
+        // Fast subscriber keeps up with every event, while slow one fills its buffer of 4 messages
+        for (int requestId = 1; requestId <= 10; requestId++) {
+            streamService.onRequestStatusChanged(new RequestStatusEvent((long) requestId, 1L, 2L, 1L, RequestStatus.PENDING, null, Instant.now()));
+            awaitSent(List.of(fastEmitter), requestId);
+        }
+
+        release.countDown();
+
+        assertTrue(slowEmitter.completed.await(5, TimeUnit.SECONDS));
+        assertFalse(fastEmitter.completed);
+        assertEquals(1, streamService.getSubscriberCount());
+    }
+
+    @Test
+    public void stalledSends_shouldBeInterruptedAndFreeSenderThreads() throws Exception {
+
+        List<BlockingEmitter> stalledEmitters = new ArrayList<>();
+        CountingEmitter fastEmitter = new CountingEmitter();
+
+        // Every sender thread gets stuck on its own stalled subscriber, which never releases its send
+        for (long volunteerId = 1; volunteerId <= SENDER_THREADS; volunteerId++) {
+            BlockingEmitter stalledEmitter = new BlockingEmitter(new CountDownLatch(1));
+            stalledEmitters.add(stalledEmitter);
+            streamService.register(volunteerId, stalledEmitter);
+            streamService.onRequestStatusChanged(new RequestStatusEvent(volunteerId, 1L, volunteerId, volunteerId, RequestStatus.PENDING, null, Instant.now()));
+        }
+
+        streamService.register(100L, fastEmitter);
+        streamService.onRequestStatusChanged(new RequestStatusEvent(100L, 1L, 100L, 100L, RequestStatus.PENDING, null, Instant.now()));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        // Check is repeated until every stalled send was started and interrupted, as scheduler would do
+        while (fastEmitter.sent.get() == 0 || stalledEmitters.stream().anyMatch(emitter -> emitter.completed.getCount() > 0)) {
+            assertTrue(System.nanoTime() < deadline, "Stalled subscribers were not dropped in time");
+            streamService.dropStalledSubscribers();
+            Thread.sleep(20);
+        }
+
+        assertEquals(1, fastEmitter.sent.get());
+        assertEquals(1, streamService.getSubscriberCount());
+    }
+
+    @Test
+    public void register_shouldCloseOldestStreamAboveLimitOfVolunteer() {
+
+        List<CountingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 6; i++) {
+            CountingEmitter emitter = new CountingEmitter();
+            emitters.add(emitter);
+            streamService.register(1L, emitter);
+        }
+
+        assertEquals(5, streamService.getSubscriberCount());
+        assertTrue(emitters.get(0).completed);
+    }
+
+    private static void awaitSent(List<CountingEmitter> emitters, int expected) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (emitters.stream().mapToInt(emitter -> emitter.sent.get()).sum() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Messages were not sent in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static class CountingEmitter extends SseEmitter {
+
+        private final AtomicInteger sent = new AtomicInteger();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.incrementAndGet();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private BlockingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.demo.Request;
+
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for WaitlistService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+@Import(CommittedStatusEvents.class)
+public class WaitlistServiceTest {
+
+    private static final int WAITLISTED_REQUESTS = 6;
+    private static final int CONCURRENT_PROMOTIONS = 8;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CommittedStatusEvents committedEvents;
+
+    @Test
+    public void promote_shouldGiveFreedPlaceOnlyToHeadOfWaitlist() throws Exception {
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+        Volunteer member = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(2);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+        project.addVolunteerToProject(member);
+        Long projectId = projectRepository.save(project).getId();
+
+        List<VolunteerRequest> requests = new ArrayList<>();
+        Instant waitlistedAt = Instant.now();
+
+        for (int i = 0; i < WAITLISTED_REQUESTS; i++) {
+            VolunteerRequest request = requestRepository.save(VolunteerRequest.builder()
+                    .requestSender(volunteerRepository.save(this.createVolunteer()))
+                    .requestReceiver(owner)
+                    .requestedProject(project)
+                    .status(RequestStatus.PENDING)
+                    .waitlistedAt(waitlistedAt.plusSeconds(i))
+                    .build());
+
+            requests.add(request);
+            waitlistService.onRequestWaitlisted(new RequestWaitlistedEvent(
+                    new WaitlistEntry(request.getId(), projectId, request.getWaitlistedAt())));
+        }
+
+        assertEquals(1, waitlistService.getPosition(requests.get(0).getId()));
+        assertEquals(WAITLISTED_REQUESTS, waitlistService.getPosition(requests.get(WAITLISTED_REQUESTS - 1).getId()));
+        assertEquals(0, waitlistService.promote(projectId));
+
+        jdbcTemplate.update("DELETE FROM volunteer_project WHERE project_id = ? AND volunteer_id = ?", projectId, member.getId());
+
+        // Every thread sees the same freed place, only one of them may fill it
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_PROMOTIONS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> promotions = new ArrayList<>();
+
+        for (int i = 0; i < CONCURRENT_PROMOTIONS; i++) {
+            promotions.add(executor.submit(() -> {
+                start.await();
+                return waitlistService.promote(projectId);
+            }));
+        }
+
+        start.countDown();
+
+        int promoted = 0;
+
+        for (Future<Integer> promotion : promotions) {
+            promoted += promotion.get(30, TimeUnit.SECONDS);
+        }
+
+        executor.shutdown();
+
+        assertEquals(1, promoted);
+        assertEquals(2, projectRepository.countParticipants(projectId));
+        assertEquals(RequestStatus.ACCEPTED, requestRepository.findById(requests.get(0).getId()).orElseThrow().getStatus());
+        assertEquals(RequestStatus.PENDING, requestRepository.findById(requests.get(1).getId()).orElseThrow().getStatus());
+
+        assertNull(waitlistService.getPosition(requests.get(0).getId()));
+        assertEquals(1, waitlistService.getPosition(requests.get(1).getId()));
+        assertEquals(WAITLISTED_REQUESTS - 1, waitlistService.getWaitlistSize(projectId));
+    }
+
+    @Test
+    public void promote_shouldDeclineWaitlistedRequestOfParticipant() {
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+        Volunteer sender = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(2);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+        Long projectId = projectRepository.save(project).getId();
+
+        VolunteerRequest request = requestRepository.save(VolunteerRequest.builder()
+                .requestSender(sender)
+                .requestReceiver(owner)
+                .requestedProject(project)
+                .status(RequestStatus.PENDING)
+                .waitlistedAt(Instant.now())
+                .build());
+        waitlistService.onRequestWaitlisted(new RequestWaitlistedEvent(
+                new WaitlistEntry(request.getId(), projectId, request.getWaitlistedAt())));
+
+        // Sender joins project without their waitlisted request
+        jdbcTemplate.update("INSERT INTO volunteer_project (project_id, volunteer_id) VALUES (?, ?)", projectId, sender.getId());
+
+        assertEquals(0, waitlistService.promote(projectId));
+        assertEquals(RequestStatus.DECLINED, requestRepository.findById(request.getId()).orElseThrow().getStatus());
+        assertNull(waitlistService.getPosition(request.getId()));
+        assertEquals(0, waitlistService.getWaitlistSize(projectId));
+    }
+
+    @Test
+    public void promote_shouldNotPromoteIntoProjectThatIsNotOpen() {
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setProjectStatus(ProjectStatus.STATUS_FINISHED);
+        project.setVolunteerCapacity(2);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+        Long projectId = projectRepository.save(project).getId();
+
+        VolunteerRequest request = requestRepository.save(VolunteerRequest.builder()
+                .requestSender(volunteerRepository.save(this.createVolunteer()))
+                .requestReceiver(owner)
+                .requestedProject(project)
+                .status(RequestStatus.PENDING)
+                .waitlistedAt(Instant.now())
+                .build());
+        waitlistService.onRequestWaitlisted(new RequestWaitlistedEvent(
+                new WaitlistEntry(request.getId(), projectId, request.getWaitlistedAt())));
+
+        assertEquals(0, waitlistService.promote(projectId));
+        assertEquals(1, projectRepository.countParticipants(projectId));
+        assertEquals(RequestStatus.PENDING, requestRepository.findById(request.getId()).orElseThrow().getStatus());
+        assertEquals(1, waitlistService.getPosition(request.getId()));
+    }
+
+    @Test
+    public void promote_shouldSkipRequestDecidedAfterItWasRead() throws Exception {
+
+        Volunteer owner = volunteerRepository.save(this.createVolunteer());
+
+        Project project = new Project();
+        project.setProjectName("Project");
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(2);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+        Long projectId = projectRepository.save(project).getId();
+
+        VolunteerRequest request = requestRepository.save(VolunteerRequest.builder()
+                .requestSender(volunteerRepository.save(this.createVolunteer()))
+                .requestReceiver(owner)
+                .requestedProject(project)
+                .status(RequestStatus.PENDING)
+                .waitlistedAt(Instant.now())
+                .build());
+        waitlistService.onRequestWaitlisted(new RequestWaitlistedEvent(
+                new WaitlistEntry(request.getId(), projectId, request.getWaitlistedAt())));
+
+        CountDownLatch declined = new CountDownLatch(1);
+        CountDownLatch commitDecision = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Decision holds lock of request until promotion has read it as head of waitlist and waits for it
+        Future<?> decision = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            requestRepository.updatePendingStatus(List.of(request.getId()), RequestStatus.DECLINED, Instant.now());
+            declined.countDown();
+
+            try {
+                commitDecision.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        assertTrue(declined.await(30, TimeUnit.SECONDS));
+
+        FutureTask<Integer> promotion = new FutureTask<>(() -> waitlistService.promote(projectId));
+        Thread promotionThread = new Thread(promotion);
+        promotionThread.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (promotionThread.getState() == Thread.State.RUNNABLE && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        commitDecision.countDown();
+        decision.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(0, promotion.get(30, TimeUnit.SECONDS));
+        assertEquals(1, projectRepository.countParticipants(projectId));
+        assertEquals(RequestStatus.DECLINED, requestRepository.findById(request.getId()).orElseThrow().getStatus());
+        assertEquals(0, committedEvents.count(request.getId(), RequestStatus.ACCEPTED));
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Volunteer");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
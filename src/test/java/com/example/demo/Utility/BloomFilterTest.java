@@ -0,0 +1,51 @@
+package com.example.demo.Utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for BloomFilter
+ *
+ * @author Thorvas
+ */
+public class BloomFilterTest {
+
+    private static final int REVOKED_TOKENS = 1_000_000;
+    private static final int PROBES = 200_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void rebuildWithMillionIds_shouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+
+        List<String> revokedIds = new ArrayList<>(REVOKED_TOKENS);
+
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revokedIds.add(UUID.randomUUID().toString());
+        }
+
+        BloomFilter filter = BloomFilter.create(REVOKED_TOKENS, FALSE_POSITIVE_RATE);
+        revokedIds.forEach(filter::put);
+
+        for (String revokedId : revokedIds) {
+            assertTrue(filter.mightContain(revokedId));
+        }
+
+        int falsePositives = 0;
+
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        double observedRate = (double) falsePositives / PROBES;
+
+        assertTrue(observedRate < FALSE_POSITIVE_RATE * 1.5);
+        assertTrue(filter.expectedFalsePositiveRate() < FALSE_POSITIVE_RATE * 1.5);
+    }
+}
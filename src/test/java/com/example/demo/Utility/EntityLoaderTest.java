@@ -0,0 +1,103 @@
+package com.example.demo.Utility;
+
+import com.example.demo.Volunteer.Volunteer;
+import com.example.demo.Volunteer.VolunteerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EntityLoader
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "rate-limit.enabled=false"
+})
+public class EntityLoaderTest {
+
+    @Autowired
+    private EntityLoader entityLoader;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void bindRequest() {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    public void unbindRequest() {
+
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void find_shouldCacheEntitiesAndBatchQueuedIds() {
+
+        Long firstId = volunteerRepository.save(this.createVolunteer()).getId();
+        Long secondId = volunteerRepository.save(this.createVolunteer()).getId();
+        Long thirdId = volunteerRepository.save(this.createVolunteer()).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+
+            entityLoader.queue(Volunteer.class, List.of(secondId, thirdId, Long.MAX_VALUE));
+            Volunteer first = entityLoader.find(Volunteer.class, firstId).orElseThrow();
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+
+            assertSame(first, entityLoader.find(Volunteer.class, firstId).orElseThrow());
+            assertEquals(secondId, entityLoader.find(Volunteer.class, secondId).orElseThrow().getId());
+            assertEquals(thirdId, entityLoader.find(Volunteer.class, thirdId).orElseThrow().getId());
+            assertTrue(entityLoader.find(Volunteer.class, Long.MAX_VALUE).isEmpty());
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+        });
+
+        // Entities of finished persistence context are detached, so they are loaded again
+        transactionTemplate.executeWithoutResult(status -> {
+            statistics.clear();
+
+            assertEquals(firstId, entityLoader.find(Volunteer.class, firstId).orElseThrow().getId());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        });
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Loaded");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}
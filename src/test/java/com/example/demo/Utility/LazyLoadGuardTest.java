@@ -0,0 +1,181 @@
+package com.example.demo.Utility;
+
+import com.example.demo.Category.Category;
+import com.example.demo.Category.CategoryRepository;
+import com.example.demo.Opinion.Opinion;
+import com.example.demo.Opinion.OpinionRepository;
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import com.example.demo.User.CustomUserDetails;
+import com.example.demo.User.UserData;
+import com.example.demo.User.UserDataRepository;
+import com.example.demo.User.UserRole;
+import com.example.demo.Volunteer.Volunteer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests that controller paths load everything they need inside of service layer
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "jpa.lazy-load-guard.enabled=true",
+        "rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+public class LazyLoadGuardTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserDataRepository userDataRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private OpinionRepository opinionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void lazyLoad_shouldFailOutsideOfTransaction() {
+
+        Long projectId = projectRepository.save(this.createProject(this.createUser("guarded-owner").getReferencedVolunteer())).getId();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+
+        try {
+            Project project = entityManager.find(Project.class, projectId);
+
+            assertThrows(IllegalStateException.class, () -> project.getCategories().size());
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Test
+    public void controllerPaths_shouldNotLoadLazilyOutsideOfServiceLayer() throws Exception {
+
+        UserData owner = this.createUser("paths-owner");
+        UserData participant = this.createUser("paths-participant");
+        UserData applicant = this.createUser("paths-applicant");
+
+        Category category = new Category();
+        category.setCategoryName("Guarded");
+        category.setCategoryDescription("Category of guarded project");
+        category.setCategoryPopularity(0);
+        Long categoryId = categoryRepository.save(category).getId();
+
+        Project project = this.createProject(owner.getReferencedVolunteer());
+        project.addVolunteerToProject(participant.getReferencedVolunteer());
+        project.getCategories().add(category);
+        Long projectId = projectRepository.save(project).getId();
+
+        Long opinionId = opinionRepository.save(Opinion.builder()
+                .opinion("Guarded opinion")
+                .describedProject(project)
+                .author(participant.getReferencedVolunteer())
+                .build()).getId();
+
+        String createdRequest = mockMvc.perform(post("/api/v1/requests").param("projectId", projectId.toString())
+                        .with(user(new CustomUserDetails(applicant))))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode requestNode = objectMapper.readTree(createdRequest);
+        long requestId = requestNode.get("id").asLong();
+
+        Long ownerId = owner.getReferencedVolunteer().getId();
+        Long participantId = participant.getReferencedVolunteer().getId();
+
+        List<String> paths = List.of(
+                "/api/v1/projects",
+                "/api/v1/projects?ids=" + projectId,
+                "/api/v1/projects/" + projectId,
+                "/api/v1/projects/" + projectId + "/volunteers",
+                "/api/v1/projects/" + projectId + "/owner",
+                "/api/v1/projects/" + projectId + "/opinions",
+                "/api/v1/projects/" + projectId + "/categories",
+                "/api/v1/volunteers",
+                "/api/v1/volunteers?ids=" + ownerId + "," + participantId,
+                "/api/v1/volunteers/" + participantId,
+                "/api/v1/volunteers/" + participantId + "/profile",
+                "/api/v1/volunteers/" + participantId + "/projects",
+                "/api/v1/volunteers/" + ownerId + "/projects/owned",
+                "/api/v1/opinions",
+                "/api/v1/opinions/" + opinionId,
+                "/api/v1/opinions/" + opinionId + "/project",
+                "/api/v1/opinions/" + opinionId + "/author",
+                "/api/v1/categories",
+                "/api/v1/categories?ids=" + categoryId,
+                "/api/v1/categories/" + categoryId,
+                "/api/v1/categories/" + categoryId + "/projects",
+                "/api/v1/requests/" + requestId,
+                "/api/v1/requests/" + requestId + "/sender",
+                "/api/v1/requests/" + requestId + "/receiver",
+                "/api/v1/requests/" + requestId + "/project",
+                "/api/v1/requests/inbox");
+
+        for (String path : paths) {
+            mockMvc.perform(get(path).with(user(new CustomUserDetails(owner)))).andExpect(status().isOk());
+        }
+    }
+
+    private Project createProject(Volunteer owner) {
+
+        Project project = new Project();
+        project.setProjectName("Guarded");
+        project.setProjectDescription("Project of guarded paths");
+        project.setProjectLocation("Lodz");
+        project.setProjectDate(LocalDate.of(2030, 1, 1));
+        project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        project.setVolunteerCapacity(10);
+        project.setOwnerVolunteer(owner);
+        project.addVolunteerToProject(owner);
+
+        return project;
+    }
+
+    private UserData createUser(String username) {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Guarded");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return userDataRepository.save(UserData.builder()
+                .username(username)
+                .password("password")
+                .role(UserRole.ROLE_VOLUNTEER)
+                .referencedVolunteer(volunteer)
+                .build());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.Utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OrderStatisticTree
+ *
+ * @author Thorvas
+ */
+public class OrderStatisticTreeTest {
+
+    private static final int OPERATIONS = 50_000;
+    private static final int KEY_RANGE = 5_000;
+
+    @Test
+    public void operations_shouldMatchSortedSet() {
+
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            int key = random.nextInt(KEY_RANGE);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                assertEquals(expected.add(key), tree.add(key));
+            }
+
+            if (i % 1_000 == 0) {
+                assertEquals(expected.headSet(key).size(), tree.rank(key));
+                assertEquals(expected.contains(key), tree.contains(key));
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+
+        List<Integer> sorted = new ArrayList<>(expected);
+
+        for (int index = 0; index < sorted.size(); index += 97) {
+            assertEquals(sorted.get(index), tree.select(index));
+            assertEquals(index, tree.rank(sorted.get(index)));
+        }
+
+        assertEquals(sorted, tree.range(0, sorted.size()));
+        assertEquals(sorted.subList(10, 30), tree.range(10, 20));
+        assertEquals(sorted.subList(sorted.size() - 5, sorted.size()), tree.range(sorted.size() - 5, 20));
+    }
+
+    @Test
+    public void select_shouldRejectIndexOutOfBounds() {
+
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add(1);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(-1));
+    }
+}
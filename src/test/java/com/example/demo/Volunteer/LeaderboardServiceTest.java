@@ -0,0 +1,93 @@
+package com.example.demo.Volunteer;
+
+import com.example.demo.Error.VolunteerNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LeaderboardService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+public class LeaderboardServiceTest {
+
+    private static final int VOLUNTEERS = 300;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void leaderboard_shouldMatchSortedVolunteersAfterChanges() {
+
+        Random random = new Random(3);
+        List<Volunteer> volunteers = new ArrayList<>();
+
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            Volunteer volunteer = new Volunteer();
+            volunteer.setName("Volunteer");
+            volunteer.setSurname("Leaderboard");
+            // Narrow range of reputation makes ties that have to be ordered by id
+            volunteer.setReputation(random.nextInt(20));
+            volunteers.add(volunteer);
+        }
+
+        volunteerRepository.saveAll(volunteers);
+        leaderboardService.rebuild();
+
+        this.assertLeaderboard();
+
+        for (int i = 0; i < 100; i++) {
+            Volunteer volunteer = volunteers.get(random.nextInt(VOLUNTEERS));
+            int reputation = random.nextInt(40);
+
+            jdbcTemplate.update("UPDATE volunteer SET reputation = ? WHERE id = ?", reputation, volunteer.getId());
+            leaderboardService.onReputationChanged(new ReputationChangedEvent(volunteer.getId(), reputation));
+        }
+
+        Long removedId = volunteers.get(0).getId();
+        volunteerRepository.deleteById(removedId);
+        leaderboardService.onReputationChanged(new ReputationChangedEvent(removedId, null));
+
+        this.assertLeaderboard();
+        assertThrows(VolunteerNotFoundException.class, () -> leaderboardService.getRank(removedId));
+    }
+
+    private void assertLeaderboard() {
+
+        List<Long> expectedIds = jdbcTemplate.queryForList(
+                "SELECT id FROM volunteer ORDER BY COALESCE(reputation, 0) DESC, id", Long.class);
+
+        List<LeaderboardEntryDTO> top = leaderboardService.getTopVolunteers(0, 100);
+        assertEquals(expectedIds.subList(0, 100), top.stream().map(LeaderboardEntryDTO::getVolunteerId).toList());
+        assertEquals(1, top.get(0).getRank());
+
+        List<LeaderboardEntryDTO> page = leaderboardService.getTopVolunteers(150, 20);
+        assertEquals(expectedIds.subList(150, 170), page.stream().map(LeaderboardEntryDTO::getVolunteerId).toList());
+        assertEquals(151, page.get(0).getRank());
+
+        for (int index = 0; index < expectedIds.size(); index += 37) {
+            assertEquals(index + 1, leaderboardService.getRank(expectedIds.get(index)).getRank());
+
+            List<LeaderboardEntryDTO> neighbours = leaderboardService.getNeighbours(expectedIds.get(index), 3);
+            int from = Math.max(0, index - 3);
+
+            assertEquals(expectedIds.subList(from, Math.min(expectedIds.size(), index + 4)),
+                    neighbours.stream().map(LeaderboardEntryDTO::getVolunteerId).toList());
+        }
+    }
+}
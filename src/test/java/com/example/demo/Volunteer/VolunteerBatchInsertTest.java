@@ -0,0 +1,69 @@
+package com.example.demo.Volunteer;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts statements issued when many volunteers are inserted in single transaction
+ *
+ * @author Thorvas
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "rate-limit.enabled=false"
+})
+public class VolunteerBatchInsertTest {
+
+    private static final int VOLUNTEERS = 200;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void saveAll_shouldBatchInsertsAndReserveIdsInBlocks() {
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Volunteer> volunteers = transactionTemplate.execute(status -> {
+            statistics.clear();
+
+            List<Volunteer> created = new ArrayList<>();
+
+            for (int i = 0; i < VOLUNTEERS; i++) {
+                Volunteer volunteer = new Volunteer();
+                volunteer.setName("Volunteer");
+                volunteer.setSurname("Batched" + i);
+                volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+                volunteer.setReputation(0);
+                created.add(volunteer);
+            }
+
+            return volunteerRepository.saveAll(created);
+        });
+
+        assertEquals(VOLUNTEERS, statistics.getEntityInsertCount());
+        // One sequence call per 50 ids and one statement per batch of 50 inserts instead of statement per row
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * (VOLUNTEERS / 50 + 1),
+                "Inserting volunteers issued " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(volunteers.get(0).getId() + VOLUNTEERS - 1, volunteers.get(VOLUNTEERS - 1).getId());
+    }
+}
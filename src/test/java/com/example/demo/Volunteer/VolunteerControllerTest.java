@@ -1,6 +1,8 @@
 package com.example.demo.Volunteer;
 
 import com.example.demo.ExceptionHandlers.GlobalExceptionHandler;
+import com.example.demo.Interest.InterestService;
+import com.example.demo.Utility.EntityLoader;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
@@ -8,11 +10,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -39,6 +43,18 @@ public class VolunteerControllerTest {
     @MockBean
     private VolunteerRepository volunteerRepository;
 
+    @MockBean
+    private InterestService interestService;
+
+    @MockBean
+    private LeaderboardService leaderboardService;
+
+    @MockBean
+    private VolunteerProfileService volunteerProfileService;
+
+    @MockBean
+    private EntityLoader entityLoader;
+
     @Test
     public void getAllVolunteers_shouldReturn200Status() throws Exception {
 
@@ -48,7 +64,8 @@ public class VolunteerControllerTest {
         VolunteerDTO volunteerDTO = new VolunteerDTO();
         volunteerDTO.setName("JohnDTO");
 
-        when(volunteerRepository.findAll()).thenReturn(List.of(volunteer));
+        when(volunteerRepository.findPageById(isNull(), isNull(), isNull(), isNull(), isNull(), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(volunteer));
         when(volunteerServiceFacade.mapVolunteerToDTO(volunteer)).thenReturn(volunteerDTO);
 
         mockMvc.perform((get("/api/v1/volunteers")))
@@ -58,8 +75,37 @@ public class VolunteerControllerTest {
                 .andExpect(jsonPath("$._embedded.volunteers").isArray())
                 .andExpect(jsonPath("$._embedded.volunteers").isNotEmpty());
 
-        verify(volunteerRepository, times(1)).findAll();
+        verify(volunteerRepository, times(1)).findPageById(isNull(), isNull(), isNull(), isNull(), isNull(), eq(0L), any(Pageable.class));
         verify(volunteerServiceFacade, times(1)).mapVolunteerToDTO(volunteer);
 
     }
+
+    @Test
+    public void getVolunteersByIds_shouldKeepRequestedOrderAndReportMissingIds() throws Exception {
+
+        Volunteer firstVolunteer = new Volunteer();
+        firstVolunteer.setId(1L);
+        Volunteer secondVolunteer = new Volunteer();
+        secondVolunteer.setId(2L);
+
+        VolunteerDTO firstDTO = new VolunteerDTO();
+        firstDTO.setId(1L);
+        VolunteerDTO secondDTO = new VolunteerDTO();
+        secondDTO.setId(2L);
+
+        when(volunteerRepository.findAllWithInterestsByIdIn(anyCollection())).thenReturn(List.of(firstVolunteer, secondVolunteer));
+        when(volunteerServiceFacade.mapVolunteerToDTO(firstVolunteer)).thenReturn(firstDTO);
+        when(volunteerServiceFacade.mapVolunteerToDTO(secondVolunteer)).thenReturn(secondDTO);
+
+        mockMvc.perform(get("/api/v1/volunteers").param("ids", "2,7,1,2"))
+
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(1))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.missingIds[0]").value(7));
+
+        verify(volunteerRepository, times(1)).findAllWithInterestsByIdIn(anyCollection());
+        verify(volunteerRepository, never()).findPageById(any(), any(), any(), any(), any(), any(), any());
+    }
 }
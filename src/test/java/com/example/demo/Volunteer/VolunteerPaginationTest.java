@@ -0,0 +1,134 @@
+package com.example.demo.Volunteer;
+
+import com.example.demo.Interest.Interest;
+import com.example.demo.Interest.InterestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for keyset pagination and filters of volunteer list
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+public class VolunteerPaginationTest {
+
+    private static final int VOLUNTEERS = 500;
+    private static final int PAGE_SIZE = 17;
+
+    @Autowired
+    private VolunteerService volunteerService;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private InterestService interestService;
+
+    @Test
+    @Transactional
+    public void searchVolunteers_shouldWalkFilteredListWithoutGapsOrDuplicates() {
+
+        List<Volunteer> volunteers = new ArrayList<>();
+
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            Volunteer volunteer = new Volunteer();
+            volunteer.setName("Volunteer");
+            // Repeated surnames, reputations and birth dates make ties that have to be broken by id
+            volunteer.setSurname((i % 3 == 0 ? "Pagination_" : "Paginated%") + (i % 7));
+            volunteer.setReputation(10_000 + i % 11);
+            volunteer.setDateOfBirth(LocalDate.of(1900, 1, 1).plusDays(i % 13));
+            volunteers.add(volunteer);
+        }
+
+        volunteerRepository.saveAll(volunteers);
+
+        this.assertWalk(new VolunteerFilter("Pagination_", null, null, null, null, null, null),
+                volunteer -> volunteer.getSurname().startsWith("Pagination_"), volunteers);
+        this.assertWalk(new VolunteerFilter("Paginated%", 10_003, 10_007, null, null, null, null),
+                volunteer -> volunteer.getSurname().startsWith("Paginated%")
+                        && volunteer.getReputation() >= 10_003 && volunteer.getReputation() <= 10_007, volunteers);
+        this.assertWalk(new VolunteerFilter(null, 10_005, null, null, null, null, null),
+                volunteer -> volunteer.getReputation() >= 10_005, volunteers);
+        this.assertWalk(new VolunteerFilter(null, null, null, LocalDate.of(1900, 1, 3), LocalDate.of(1900, 1, 8), null, null),
+                volunteer -> !volunteer.getDateOfBirth().isBefore(LocalDate.of(1900, 1, 3))
+                        && !volunteer.getDateOfBirth().isAfter(LocalDate.of(1900, 1, 8)), volunteers);
+    }
+
+    @Test
+    @Transactional
+    public void searchVolunteers_shouldMatchAllOrAnyInterest() {
+
+        Set<Interest> hiking = interestService.resolveInterests(List.of("Paging Hiking"));
+        Set<Interest> chess = interestService.resolveInterests(List.of("paging-chess"));
+        List<Volunteer> volunteers = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            Volunteer volunteer = new Volunteer();
+            volunteer.setName("Volunteer");
+            volunteer.setSurname("Interested");
+            volunteer.setReputation(i);
+
+            if (i % 2 == 0) {
+                volunteer.getInterests().addAll(hiking);
+            }
+            if (i % 3 == 0) {
+                volunteer.getInterests().addAll(chess);
+            }
+
+            volunteers.add(volunteer);
+        }
+
+        volunteerRepository.saveAll(volunteers);
+
+        List<String> interests = List.of("  PAGING   hiking ", "paging-chess");
+
+        this.assertWalk(new VolunteerFilter(null, null, null, null, null, interests, InterestMatch.ALL),
+                volunteer -> volunteer.getReputation() % 6 == 0, volunteers);
+        this.assertWalk(new VolunteerFilter(null, null, null, null, null, interests, InterestMatch.ANY),
+                volunteer -> volunteer.getReputation() % 2 == 0 || volunteer.getReputation() % 3 == 0, volunteers);
+        this.assertWalk(new VolunteerFilter(null, 50, null, null, null, interests, InterestMatch.ALL),
+                volunteer -> volunteer.getReputation() >= 50 && volunteer.getReputation() % 6 == 0, volunteers);
+        this.assertWalk(new VolunteerFilter(null, null, null, null, null, List.of("paging-chess", "paging-unknown"), InterestMatch.ALL),
+                volunteer -> false, volunteers);
+        this.assertWalk(new VolunteerFilter(null, null, null, null, null, List.of("paging-chess", "paging-unknown"), InterestMatch.ANY),
+                volunteer -> volunteer.getReputation() % 3 == 0, volunteers);
+    }
+
+    @Test
+    public void searchVolunteers_shouldRejectCursorOfOtherFilters() {
+
+        assertThrows(IllegalArgumentException.class, () -> volunteerService.searchVolunteers(
+                new VolunteerFilter("Name", null, null, null, null, null, null), new VolunteerCursor(VolunteerSortKey.ID, 1L, null).encode(), 10));
+        assertThrows(IllegalArgumentException.class, () -> volunteerService.searchVolunteers(
+                new VolunteerFilter(null, 1, null, null, null, null, null), "not a cursor", 10));
+    }
+
+    private void assertWalk(VolunteerFilter filter, Predicate<Volunteer> matches, List<Volunteer> volunteers) {
+
+        List<Long> expectedIds = volunteers.stream().filter(matches).map(Volunteer::getId).sorted().toList();
+        List<Long> walkedIds = new ArrayList<>();
+        String cursor = null;
+
+        do {
+            VolunteerPage page = volunteerService.searchVolunteers(filter, cursor, PAGE_SIZE);
+
+            assertTrue(page.volunteers().size() <= PAGE_SIZE);
+            page.volunteers().forEach(volunteer -> walkedIds.add(volunteer.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedIds.size(), walkedIds.size());
+        assertEquals(expectedIds, walkedIds.stream().sorted().toList());
+    }
+}
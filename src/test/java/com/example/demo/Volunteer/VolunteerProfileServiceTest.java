@@ -0,0 +1,108 @@
+package com.example.demo.Volunteer;
+
+import com.example.demo.Error.VolunteerNotFoundException;
+import com.example.demo.Opinion.Opinion;
+import com.example.demo.Opinion.OpinionDTO;
+import com.example.demo.Opinion.OpinionRepository;
+import com.example.demo.Project.Project;
+import com.example.demo.Project.ProjectDTO;
+import com.example.demo.Project.ProjectRepository;
+import com.example.demo.Project.ProjectStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for VolunteerProfileService
+ *
+ * @author Thorvas
+ */
+@SpringBootTest
+public class VolunteerProfileServiceTest {
+
+    @Autowired
+    private VolunteerProfileService volunteerProfileService;
+
+    @Autowired
+    private VolunteerRepository volunteerRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private OpinionRepository opinionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void getProfile_shouldReturnCountsAndNewestItems() {
+
+        Volunteer volunteer = volunteerRepository.save(this.createVolunteer());
+        Volunteer otherVolunteer = volunteerRepository.save(this.createVolunteer());
+
+        List<Project> ownedProjects = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            Project project = new Project();
+            project.setProjectName("Owned " + i);
+            project.setProjectStatus(ProjectStatus.STATUS_OPEN);
+            project.setVolunteerCapacity(5);
+            project.setOwnerVolunteer(volunteer);
+            project.addVolunteerToProject(volunteer);
+            ownedProjects.add(projectRepository.save(project));
+        }
+
+        Project otherProject = new Project();
+        otherProject.setProjectName("Joined");
+        otherProject.setProjectStatus(ProjectStatus.STATUS_OPEN);
+        otherProject.setVolunteerCapacity(5);
+        otherProject.setOwnerVolunteer(otherVolunteer);
+        otherProject.addVolunteerToProject(otherVolunteer);
+        otherProject.addVolunteerToProject(volunteer);
+        projectRepository.save(otherProject);
+
+        for (int i = 0; i < 3; i++) {
+            Opinion opinion = new Opinion();
+            opinion.setOpinion("Opinion " + i);
+            opinion.setAuthor(volunteer);
+            opinion.setDescribedProject(otherProject);
+            opinionRepository.save(opinion);
+        }
+
+        VolunteerProfileDTO profile = transactionTemplate.execute(status -> volunteerProfileService.getProfile(volunteer.getId(), 2));
+
+        assertEquals(volunteer.getId(), profile.getVolunteer().getId());
+        assertEquals(5, profile.getParticipatingProjectCount());
+        assertEquals(4, profile.getOwnedProjectCount());
+        assertEquals(3, profile.getOpinionCount());
+
+        assertEquals(List.of(otherProject.getId(), ownedProjects.get(3).getId()),
+                profile.getParticipatingProjects().stream().map(ProjectDTO::getId).toList());
+        assertEquals(List.of(ownedProjects.get(3).getId(), ownedProjects.get(2).getId()),
+                profile.getOwnedProjects().stream().map(ProjectDTO::getId).toList());
+        assertEquals(List.of("Opinion 2", "Opinion 1"),
+                profile.getOpinions().stream().map(OpinionDTO::getContent).toList());
+
+        assertThrows(VolunteerNotFoundException.class,
+                () -> transactionTemplate.execute(status -> volunteerProfileService.getProfile(Long.MAX_VALUE, 2)));
+    }
+
+    private Volunteer createVolunteer() {
+
+        Volunteer volunteer = new Volunteer();
+        volunteer.setName("Volunteer");
+        volunteer.setSurname("Profile");
+        volunteer.setDateOfBirth(LocalDate.of(2000, 12, 12));
+        volunteer.setReputation(0);
+
+        return volunteer;
+    }
+}